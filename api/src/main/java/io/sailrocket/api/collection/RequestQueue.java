@@ -2,17 +2,43 @@ package io.sailrocket.api.collection;
 
 import io.sailrocket.api.session.SequenceInstance;
 
+/**
+ * Bounded set of requests in flight within a session. Responses may complete in any order (e.g. concurrent streams
+ * over HTTP/2 or requests spread over multiple connections) so the request handle obtained in {@link #prepare()}
+ * must be carried to the response handlers and completed by identity.
+ */
 public interface RequestQueue {
+   /**
+    * @return Request handle or <code>null</code> if too many requests are in flight.
+    */
    Request prepare();
 
-   Request peek();
-
-   Request complete();
+   /**
+    * Releases the handle; it can be reused by following {@link #prepare()}.
+    *
+    * @param request Handle obtained through {@link #prepare()}.
+    */
+   void complete(Request request);
 
+   /**
+    * @return True if there are no requests in flight.
+    */
    boolean isFull();
 
    class Request {
+      /**
+       * Index of this handle in the queue, unique within the session.
+       */
+      public final int index;
       public long startTime;
+      /**
+       * Time when the request should have been sent if neither the load generator nor the server stalled.
+       */
+      public long intendedStartTime;
       public SequenceInstance sequence;
+
+      public Request(int index) {
+         this.index = index;
+      }
    }
 }
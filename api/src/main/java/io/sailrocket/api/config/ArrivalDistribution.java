@@ -0,0 +1,74 @@
+package io.sailrocket.api.config;
+
+import java.io.Serializable;
+import java.util.Random;
+
+/**
+ * Distribution of intervals between starts of consecutive user sessions in phases with given arrival rate.
+ * The interval is expressed as a multiple of the mean interval at given moment; therefore any implementation
+ * should produce positive values with mean equal to 1.
+ * <p>
+ * Arrivals of {@link #CONSTANT} and {@link #POISSON} distributions are split into independent schedules on each
+ * executor. Any other distribution (including {@link #uniform(double)}) is drawn as a single sequence on one
+ * executor, and the sessions are then started round-robin on all executors; such phases can be limited
+ * by the throughput of single thread.
+ */
+@FunctionalInterface
+public interface ArrivalDistribution extends Serializable {
+   /**
+    * Sessions are started in regular intervals.
+    */
+   ArrivalDistribution CONSTANT = Shardable.CONSTANT;
+
+   /**
+    * Exponentially distributed intervals, making the arrivals a Poisson process.
+    */
+   ArrivalDistribution POISSON = Shardable.POISSON;
+
+   double nextInterval(Random random);
+
+   /**
+    * @return True if the arrivals can be scheduled as <code>N</code> independent sequences, each with
+    * <code>1/N</code> of the rate, without changing the combined distribution.
+    */
+   default boolean isShardable() {
+      return false;
+   }
+
+   /**
+    * @param jitter Relative deviation from the mean interval, between 0 and 1.
+    * @return Intervals distributed uniformly in <code>[1 - jitter, 1 + jitter]</code>.
+    */
+   static ArrivalDistribution uniform(double jitter) {
+      if (jitter < 0 || jitter > 1) {
+         throw new BenchmarkDefinitionException("Jitter must be within [0, 1], got " + jitter);
+      }
+      return random -> 1 + jitter * (2 * random.nextDouble() - 1);
+   }
+
+   /**
+    * Superposition of <code>N</code> Poisson processes is a Poisson process; regular arrivals of <code>N</code>
+    * shards with offset starts interleave into regular arrivals with <code>N</code>-times the rate.
+    * This does not hold for other distributions. Enum constants also keep their identity in a deserialized
+    * benchmark.
+    */
+   enum Shardable implements ArrivalDistribution {
+      CONSTANT {
+         @Override
+         public double nextInterval(Random random) {
+            return 1;
+         }
+      },
+      POISSON {
+         @Override
+         public double nextInterval(Random random) {
+            return -Math.log(1 - random.nextDouble());
+         }
+      };
+
+      @Override
+      public boolean isShardable() {
+         return true;
+      }
+   }
+}
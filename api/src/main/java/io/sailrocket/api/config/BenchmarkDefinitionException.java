@@ -22,4 +22,8 @@ public class BenchmarkDefinitionException extends RuntimeException {
     public BenchmarkDefinitionException(String msg) {
         super(msg);
     }
+
+    public BenchmarkDefinitionException(String msg, Throwable cause) {
+        super(msg, cause);
+    }
 }
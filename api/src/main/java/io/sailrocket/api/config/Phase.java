@@ -2,6 +2,7 @@ package io.sailrocket.api.config;
 
 import java.io.Serializable;
 import java.util.Collection;
+import java.util.List;
 
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
@@ -116,36 +117,151 @@ public abstract class Phase implements Serializable {
       }
    }
 
-   public static class RampPerSec extends Phase {
-      public final double initialUsersPerSec;
-      public final double targetUsersPerSec;
+   /**
+    * Base for phases that start users with given rate. When the phase is forked, the first fork schedules arrivals
+    * for all forks in {@link #forks} and picks the fork for each new user according to their {@link #forkWeight}.
+    */
+   public abstract static class PerSec extends Phase {
       public final int maxSessionsEstimate;
+      public final ArrivalDistribution arrivals;
+      /**
+       * Share of this fork in the arrivals; the rates of this phase are already multiplied by this weight.
+       */
+      public final double forkWeight;
+      /**
+       * Names of all forks of this phase (in the same iteration), or empty collection if the phase is not forked.
+       */
+      public final List<String> forks;
+
+      protected PerSec(String name, Scenario scenario, long startTime,
+                       Collection<String> startAfter, Collection<String> startAfterStrict,
+                       Collection<String> terminateAfterStrict, long duration, long maxDuration, String sharedResources,
+                       int maxSessionsEstimate, ArrivalDistribution arrivals, double forkWeight, List<String> forks) {
+         super(name, scenario, startTime, startAfter, startAfterStrict, terminateAfterStrict, duration, maxDuration, sharedResources);
+         this.maxSessionsEstimate = maxSessionsEstimate;
+         this.arrivals = arrivals;
+         this.forkWeight = forkWeight;
+         this.forks = forks;
+         if (forkWeight <= 0 || forkWeight > 1) {
+            throw new BenchmarkDefinitionException("Phase '" + name + "' has invalid fork weight " + forkWeight);
+         }
+      }
 
+      /**
+       * @return True if this phase schedules arrivals (possibly for other forks as well).
+       */
+      public boolean isForkLeader() {
+         return forks.isEmpty() || forks.get(0).equals(name);
+      }
+   }
+
+   public static class RampPerSec extends PerSec {
+      public final double initialUsersPerSec;
+      public final double targetUsersPerSec;
 
       public RampPerSec(String name, Scenario scenario, long startTime,
                         Collection<String> startAfter, Collection<String> startAfterStrict,
                         Collection<String> terminateAfterStrict,
                         long duration, long maxDuration,
                         double initialUsersPerSec, double targetUsersPerSec,
-                        String sharedResources, int maxSessionsEstimate) {
-         super(name, scenario, startTime, startAfter, startAfterStrict, terminateAfterStrict, duration, maxDuration, sharedResources);
+                        String sharedResources, int maxSessionsEstimate, ArrivalDistribution arrivals,
+                        double forkWeight, List<String> forks) {
+         super(name, scenario, startTime, startAfter, startAfterStrict, terminateAfterStrict, duration, maxDuration,
+               sharedResources, maxSessionsEstimate, arrivals, forkWeight, forks);
          this.initialUsersPerSec = initialUsersPerSec;
          this.targetUsersPerSec = targetUsersPerSec;
-         this.maxSessionsEstimate = maxSessionsEstimate;
       }
    }
 
-   public static class ConstantPerSec extends Phase {
+   public static class ConstantPerSec extends PerSec {
       public final double usersPerSec;
-      public final int maxSessionsEstimate;
 
       public ConstantPerSec(String name, Scenario scenario, long startTime,
                             Collection<String> startAfter, Collection<String> startAfterStrict,
                             Collection<String> terminateAfterStrict,
-                            long duration, long maxDuration, String sharedResources, double usersPerSec, int maxSessionsEstimate) {
-         super(name, scenario, startTime, startAfter, startAfterStrict, terminateAfterStrict, duration, maxDuration, sharedResources);
+                            long duration, long maxDuration, String sharedResources, double usersPerSec,
+                            int maxSessionsEstimate, ArrivalDistribution arrivals, double forkWeight, List<String> forks) {
+         super(name, scenario, startTime, startAfter, startAfterStrict, terminateAfterStrict, duration, maxDuration,
+               sharedResources, maxSessionsEstimate, arrivals, forkWeight, forks);
          this.usersPerSec = usersPerSec;
-         this.maxSessionsEstimate = maxSessionsEstimate;
+      }
+   }
+
+   /**
+    * Arrival rate follows a profile loaded from file, linearly interpolated between the points. The file is read
+    * by the agents, so it must be available on each of them under the same path.
+    */
+   public static class RateProfile extends PerSec {
+      public final String file;
+      /**
+       * Offsets in the profile are divided by this factor, e.g. 24 replays a day of traffic in an hour.
+       */
+      public final double timeScale;
+      /**
+       * Rates in the profile are multiplied by this factor.
+       */
+      public final double usersPerSecScale;
+
+      public RateProfile(String name, Scenario scenario, long startTime,
+                         Collection<String> startAfter, Collection<String> startAfterStrict,
+                         Collection<String> terminateAfterStrict,
+                         long duration, long maxDuration, String sharedResources,
+                         String file, double timeScale, double usersPerSecScale,
+                         int maxSessionsEstimate, ArrivalDistribution arrivals, double forkWeight, List<String> forks) {
+         super(name, scenario, startTime, startAfter, startAfterStrict, terminateAfterStrict, duration, maxDuration,
+               sharedResources, maxSessionsEstimate, arrivals, forkWeight, forks);
+         this.file = file;
+         this.timeScale = timeScale;
+         this.usersPerSecScale = usersPerSecScale;
+         if (file == null) {
+            throw new BenchmarkDefinitionException("Profile file was not set for phase '" + name + "'");
+         }
+         if (timeScale <= 0 || usersPerSecScale < 0) {
+            throw new BenchmarkDefinitionException("Phase '" + name + "' has invalid scale");
+         }
+      }
+   }
+
+   /**
+    * Starts users with constant rate in steps of {@link #stepDuration} milliseconds. When windowed SLAs for this
+    * phase did not fail during a step the rate is raised (doubled until it fails), otherwise it is lowered, binary
+    * searching for the highest rate that satisfies the SLAs. The phase finishes when the interval of candidate rates
+    * gets narrower than {@link #precision} or when it reaches its {@link #duration()}.
+    */
+   public static class MaxThroughput extends PerSec {
+      public final double initialUsersPerSec;
+      public final double maxUsersPerSec;
+      public final double precision;
+      public final long stepDuration;
+      /**
+       * Time in milliseconds since the beginning of each step when SLA failures are ignored, as these can be still
+       * reported for the previous rate.
+       */
+      public final long settleTime;
+
+      public MaxThroughput(String name, Scenario scenario, long startTime,
+                           Collection<String> startAfter, Collection<String> startAfterStrict,
+                           Collection<String> terminateAfterStrict,
+                           long duration, long maxDuration, String sharedResources,
+                           double initialUsersPerSec, double maxUsersPerSec, double precision,
+                           long stepDuration, long settleTime, int maxSessionsEstimate, ArrivalDistribution arrivals,
+                           double forkWeight, List<String> forks) {
+         super(name, scenario, startTime, startAfter, startAfterStrict, terminateAfterStrict, duration, maxDuration,
+               sharedResources, maxSessionsEstimate, arrivals, forkWeight, forks);
+         this.initialUsersPerSec = initialUsersPerSec;
+         this.maxUsersPerSec = maxUsersPerSec;
+         this.precision = precision;
+         this.stepDuration = stepDuration;
+         this.settleTime = settleTime;
+         if (initialUsersPerSec <= 0 || maxUsersPerSec < initialUsersPerSec) {
+            throw new BenchmarkDefinitionException("Phase '" + name + "' must have 0 < initialUsersPerSec <= maxUsersPerSec");
+         }
+         if (stepDuration <= 0) {
+            throw new BenchmarkDefinitionException("Step duration was not set for phase '" + name + "'");
+         }
+         if (settleTime < 0 || settleTime >= stepDuration) {
+            throw new BenchmarkDefinitionException("Settle time for phase '" + name + "' must be shorter than step duration.");
+         }
       }
    }
 
@@ -22,6 +22,8 @@ import java.io.Serializable;
 import java.util.Collection;
 import java.util.Collections;
 
+import org.HdrHistogram.AbstractHistogram;
+
 import io.sailrocket.api.statistics.StatisticsSnapshot;
 
 public class SLA implements Serializable {
@@ -30,13 +32,19 @@ public class SLA implements Serializable {
    private final double errorRate;
    private final long meanResponseTime;
    private final Collection<PercentileLimit> limits;
+   private final Latency latency;
 
    public SLA(Sequence sequence, long window, double errorRate, long meanResponseTime, Collection<PercentileLimit> limits) {
+      this(sequence, window, errorRate, meanResponseTime, limits, Latency.SERVICE_TIME);
+   }
+
+   public SLA(Sequence sequence, long window, double errorRate, long meanResponseTime, Collection<PercentileLimit> limits, Latency latency) {
       this.sequence = sequence;
       this.window = window;
       this.meanResponseTime = meanResponseTime;
       this.errorRate = errorRate;
       this.limits = limits;
+      this.latency = latency;
    }
 
    public Sequence sequence() {
@@ -59,6 +67,10 @@ public class SLA implements Serializable {
       return Collections.unmodifiableCollection(limits);
    }
 
+   public Latency latency() {
+      return latency;
+   }
+
    public SLA.Failure validate(StatisticsSnapshot statistics) {
       boolean actualErrorRate = (double) statistics.errors() / statistics.requestCount >= errorRate;
       if (actualErrorRate) {
@@ -66,14 +78,14 @@ public class SLA implements Serializable {
                String.format("Error rate exceeded: required %.3f, actual %.3f", errorRate, actualErrorRate));
       }
       if (meanResponseTime < Long.MAX_VALUE) {
-         double mean = statistics.histogram.getMean();
+         double mean = latency.histogram(statistics).getMean();
          if (mean >= meanResponseTime) {
             return new SLA.Failure(this, statistics.clone(),
                   String.format("Mean response time exceeded: required %d, actual %f", meanResponseTime, mean));
          }
       }
       for (SLA.PercentileLimit limit : limits) {
-         long value = statistics.histogram.getValueAtPercentile(limit.percentile());
+         long value = latency.histogram(statistics).getValueAtPercentile(limit.percentile());
          if (value >= limit.responseTime()) {
             return new SLA.Failure(this, statistics.clone(),
                   String.format("Response time at percentile %f exceeded: required %d, actual %d", limit.percentile, limit.responseTime, value));
@@ -82,6 +94,25 @@ public class SLA implements Serializable {
       return null;
    }
 
+   /**
+    * Latency the mean and percentile limits apply to.
+    */
+   public enum Latency {
+      /**
+       * From the moment the request was sent, see {@link StatisticsSnapshot#histogram}.
+       */
+      SERVICE_TIME,
+      /**
+       * From the intended start of the request, corrected for coordinated omission,
+       * see {@link StatisticsSnapshot#responseTime}.
+       */
+      RESPONSE_TIME;
+
+      public AbstractHistogram histogram(StatisticsSnapshot statistics) {
+         return this == SERVICE_TIME ? statistics.histogram : statistics.responseTime;
+      }
+   }
+
    public static class PercentileLimit implements Serializable {
       private final double percentile;
       private final long responseTime;
@@ -18,8 +18,11 @@
  */
 package io.sailrocket.api.config;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -30,6 +33,9 @@ public class Scenario implements Serializable {
     private final String[] objectVars;
     private final String[] intVars;
     private final Map<String, Sequence> sequenceMap;
+    // Slots are not serialized; keys declared by the steps are often the steps themselves.
+    private transient Map<Object, Integer> varSlots;
+    private transient Map<Object, Integer> resourceSlots;
 
     public Scenario(Sequence[] initialSequences, Sequence[] sequences, String[] objectVars, String[] intVars) {
         this.initialSequences = initialSequences;
@@ -37,6 +43,23 @@ public class Scenario implements Serializable {
         this.objectVars = objectVars;
         this.intVars = intVars;
         sequenceMap = Stream.of(sequences).collect(Collectors.toMap(s -> s.name(), Function.identity()));
+        initSlots();
+    }
+
+    private void initSlots() {
+        varSlots = new ConcurrentHashMap<>();
+        resourceSlots = new ConcurrentHashMap<>();
+        for (String var : objectVars) {
+            declareVarSlot(var);
+        }
+        for (String var : intVars) {
+            declareVarSlot(var);
+        }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        initSlots();
     }
 
     public Sequence[] initialSequences() {
@@ -55,6 +78,64 @@ public class Scenario implements Serializable {
        return intVars;
     }
 
+    /**
+     * Assigns dense index to session variable. Variables listed in {@link #objectVars()} and {@link #intVars()} get
+     * their slots when the scenario is built, variables declared by steps get the slot when the first session
+     * reserves its resources; the order of declarations is the same in all sessions.
+     *
+     * @param key Variable identifier.
+     * @return Index of the variable in session.
+     */
+    public int declareVarSlot(Object key) {
+        return declareSlot(varSlots, key);
+    }
+
+    /**
+     * @param key Variable identifier.
+     * @return Index of the variable in session or negative value if the variable was not declared.
+     */
+    public int varSlot(Object key) {
+        Integer slot = varSlots.get(key);
+        return slot == null ? -1 : slot;
+    }
+
+    public int varSlots() {
+        return varSlots.size();
+    }
+
+    /**
+     * Assigns dense index to session resource, in the order the resources are declared in
+     * {@link Sequence#reserve(io.sailrocket.api.session.Session)}.
+     *
+     * @param key Resource key.
+     * @return Index of the resource in session.
+     */
+    public int declareResourceSlot(Object key) {
+        return declareSlot(resourceSlots, key);
+    }
+
+    /**
+     * @param key Resource key.
+     * @return Index of the resource in session or negative value if the resource was not declared.
+     */
+    public int resourceSlot(Object key) {
+        Integer slot = resourceSlots.get(key);
+        return slot == null ? -1 : slot;
+    }
+
+    public int resourceSlots() {
+        return resourceSlots.size();
+    }
+
+    private synchronized int declareSlot(Map<Object, Integer> slots, Object key) {
+        Integer slot = slots.get(key);
+        if (slot == null) {
+            slot = slots.size();
+            slots.put(key, slot);
+        }
+        return slot;
+    }
+
     public int maxRequests() {
         // TODO
         return 16;
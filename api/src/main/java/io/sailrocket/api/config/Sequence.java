@@ -21,6 +21,7 @@ package io.sailrocket.api.config;
 import java.io.Serializable;
 
 import io.sailrocket.api.session.Session;
+import io.sailrocket.api.statistics.HistogramSettings;
 
 /**
  * Sequences are a series of one or more {@link Step}'s that perform one logical unit of operation. Steps within a Sequence are executed in order.
@@ -42,4 +43,9 @@ public interface Sequence extends Serializable {
     String name();
 
     String phase();
+
+    /**
+     * @return Settings for histograms recorded by this sequence.
+     */
+    HistogramSettings histogramSettings();
 }
@@ -1,22 +1,25 @@
 package io.sailrocket.api.config;
 
-import io.sailrocket.api.connection.HttpClientPoolFactory;
+import io.sailrocket.api.connection.HttpEndpoint;
 
 import java.io.Serializable;
 import java.util.Collection;
+import java.util.List;
 import java.util.Map;
 
 public class Simulation implements Serializable {
-   private final HttpClientPoolFactory httpClientPoolFactory;
+   private final List<HttpEndpoint> endpoints;
    private final Collection<Phase> phases;
    private final Map<String, Object> tags;
    private final long statisticsCollectionPeriod;
+   private final long timerTick;
 
-   public Simulation(HttpClientPoolFactory httpClientPoolFactory, Collection<Phase> phases, Map<String, Object> tags, long statisticsCollectionPeriod) {
-      this.httpClientPoolFactory = httpClientPoolFactory;
+   public Simulation(List<HttpEndpoint> endpoints, Collection<Phase> phases, Map<String, Object> tags, long statisticsCollectionPeriod, long timerTick) {
+      this.endpoints = endpoints;
       this.phases = phases;
       this.tags = tags;
       this.statisticsCollectionPeriod = statisticsCollectionPeriod;
+      this.timerTick = timerTick;
    }
 
    public Collection<Phase> phases() {
@@ -27,21 +30,32 @@ public class Simulation implements Serializable {
       return tags;
    }
 
-   public HttpClientPoolFactory httpClientPoolFactory() {
-      return httpClientPoolFactory;
+   /**
+    * @return Endpoints in the order of definition; the first one is the default.
+    */
+   public List<HttpEndpoint> endpoints() {
+      return endpoints;
    }
 
    public long statisticsCollectionPeriod() {
       return statisticsCollectionPeriod;
    }
 
+   /**
+    * @return Resolution of timers used for delays in the sessions, in milliseconds.
+    */
+   public long timerTick() {
+      return timerTick;
+   }
+
    @Override
    public String toString() {
       return "Simulation{" +
-                     "httpClientPoolFactory=" + httpClientPoolFactory +
+                     "endpoints=" + endpoints +
                      ", phases=" + phases +
                      ", tags=" + tags +
                      ", statisticsCollectionPeriod=" + statisticsCollectionPeriod +
+                     ", timerTick=" + timerTick +
                      '}';
    }
 }
@@ -0,0 +1,22 @@
+package io.sailrocket.api.connection;
+
+import java.io.Serializable;
+
+import io.sailrocket.api.session.Session;
+
+/**
+ * Picks one of the replicas of an endpoint for the next request. The same instance is used by all sessions
+ * and executors.
+ */
+public interface Balancer extends Serializable {
+   /**
+    * Invoked from the session's executor each time the request step tries to send a request; when the selected
+    * pool does not have a connection available the step waits for it, and the balancer is consulted again
+    * when it wakes up.
+    *
+    * @param session Session sending the request.
+    * @param replicas Pools for all replicas, in the order of definition; there is at least one.
+    * @return One of the replicas.
+    */
+   HttpClientPool select(Session session, HttpClientPool[] replicas);
+}
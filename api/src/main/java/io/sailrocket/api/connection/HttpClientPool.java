@@ -18,20 +18,72 @@
  */
 package io.sailrocket.api.connection;
 
-import java.util.function.Consumer;
+import org.HdrHistogram.AbstractHistogram;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.util.concurrent.EventExecutor;
 import io.netty.util.concurrent.EventExecutorGroup;
 import io.sailrocket.api.http.HttpMethod;
 import io.sailrocket.api.http.HttpRequest;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Handler;
 
 public interface HttpClientPool {
 
-  void start(Consumer<Void> completionHandler);
+  /**
+   * Starts establishing the connections. The handler succeeds when all connections are established, or fails
+   * when the pool gives up after connects have been failing for too long.
+   */
+  void start(Handler<AsyncResult<Void>> completionHandler);
 
+  /**
+   * Starts a new window for connect failures and replaces closed connections, even if the pool has given up
+   * connecting before.
+   */
+  void replenish();
+
+  /**
+   * Must be invoked from the executor thread.
+   *
+   * @return True if a connection owned by this executor can accept another request.
+   */
+  boolean isConnectionAvailable(EventExecutor executor);
+
+  /**
+   * Parks the waiter until a connection owned by this executor frees a slot; the waiter is then run
+   * (once) on the executor and should retry the request. Must be invoked from the executor thread.
+   */
+  void registerWaiter(EventExecutor executor, Runnable waiter);
+
+  /**
+   * Removes a waiter registered through {@link #registerWaiter(EventExecutor, Runnable)} that has not been run yet.
+   * May be invoked from any thread.
+   */
+  void unregisterWaiter(EventExecutor executor, Runnable waiter);
+
+  /**
+   * Must be invoked from the executor thread, after {@link #isConnectionAvailable(EventExecutor)} returned true.
+   */
   HttpRequest request(EventExecutor executor, HttpMethod method, String path, ByteBuf body);
 
+  /**
+   * Same as {@link #request(EventExecutor, HttpMethod, String, ByteBuf)} for path that does not change; the caller
+   * keeps it encoded in UTF-8 and the pool may use the encoded form instead of encoding the path again.
+   */
+  HttpRequest request(EventExecutor executor, HttpMethod method, String path, byte[] encodedPath, ByteBuf body);
+
+  /**
+   * Must be invoked from the executor thread.
+   *
+   * @return Number of requests in flight on connections owned by this executor.
+   */
+  int inflight(EventExecutor executor);
+
+  /**
+   * Adds times (in nanoseconds) it took to establish the connections since the previous invocation to the target.
+   */
+  void addIntervalConnectTimesTo(AbstractHistogram target);
+
   long bytesRead();
 
   long bytesWritten();
@@ -2,6 +2,7 @@ package io.sailrocket.api.connection;
 
 import java.io.Serializable;
 
+import io.netty.util.concurrent.EventExecutorGroup;
 import io.vertx.core.http.HttpVersion;
 
 public interface HttpClientPoolFactory extends Serializable {
@@ -13,5 +14,49 @@ public interface HttpClientPoolFactory extends Serializable {
   HttpClientPoolFactory port(int port);
   HttpClientPoolFactory host(String host);
   HttpClientPoolFactory concurrency(int maxConcurrency);
+  HttpClientPoolFactory transport(Transport transport);
+
+  /**
+   * @param name Name of the constant in {@link io.netty.channel.ChannelOption} or transport-specific options class,
+   *             e.g. <code>TCP_NODELAY</code> or <code>TCP_QUICKACK</code>.
+   * @param value Value of the option.
+   */
+  HttpClientPoolFactory socketOption(String name, String value);
+
+  /**
+   * @param connectionsPerSecond Limit for opening new connections; zero means unlimited.
+   */
+  HttpClientPoolFactory connectRate(double connectionsPerSecond);
+
+  /**
+   * @param parallelism Number of connections that can be established concurrently; zero sets a default
+   *                    proportional to the number of threads.
+   */
+  HttpClientPoolFactory connectParallelism(int parallelism);
+
+  /**
+   * @param priorKnowledge When the protocol is HTTP/2 without SSL, start the connection with HTTP/2 preface
+   *                       (h2c with prior knowledge) instead of upgrading HTTP/1.1 connection. With SSL
+   *                       HTTP/2 is always negotiated through ALPN.
+   */
+  HttpClientPoolFactory http2PriorKnowledge(boolean priorKnowledge);
+
+  /**
+   * @param windowSize HTTP/2 flow-control window (in bytes) for each stream; zero keeps the default 65535.
+   */
+  HttpClientPoolFactory http2InitialWindowSize(int windowSize);
+
+  /**
+   * @param windowSize HTTP/2 flow-control window (in bytes) for the whole connection; zero keeps the default,
+   *                   which is close to the maximum so that the connection window does not limit the streams.
+   */
+  HttpClientPoolFactory http2ConnectionWindowSize(int windowSize);
   HttpClientPool build() throws Exception;
+
+  /**
+   * Builds the pool on executors of another pool so that sessions can use both from the same thread;
+   * threads and transport settings of this factory are ignored and the executors are not shut down
+   * with this pool.
+   */
+  HttpClientPool build(EventExecutorGroup executors) throws Exception;
 }
@@ -0,0 +1,46 @@
+package io.sailrocket.api.connection;
+
+import java.io.Serializable;
+import java.util.List;
+
+/**
+ * Named target of the requests. Each replica (host and port) gets its own {@link HttpClientPool}, requests are
+ * spread over the replicas by the {@link Balancer}.
+ */
+public final class HttpEndpoint implements Serializable {
+   /**
+    * Name of the endpoint defined without a name; requests that don't name the endpoint go to the first one.
+    */
+   public static final String DEFAULT = "default";
+
+   private final String name;
+   private final List<HttpClientPoolFactory> replicas;
+   private final Balancer balancer;
+
+   public HttpEndpoint(String name, List<HttpClientPoolFactory> replicas, Balancer balancer) {
+      this.name = name;
+      this.replicas = replicas;
+      this.balancer = balancer;
+   }
+
+   public String name() {
+      return name;
+   }
+
+   public List<HttpClientPoolFactory> replicas() {
+      return replicas;
+   }
+
+   public Balancer balancer() {
+      return balancer;
+   }
+
+   @Override
+   public String toString() {
+      return "HttpEndpoint{" +
+            "name='" + name + '\'' +
+            ", replicas=" + replicas +
+            ", balancer=" + balancer +
+            '}';
+   }
+}
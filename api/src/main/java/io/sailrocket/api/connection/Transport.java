@@ -0,0 +1,10 @@
+package io.sailrocket.api.connection;
+
+/**
+ * Netty transport used for the connections. The native {@link #EPOLL} transport is available only on Linux,
+ * elsewhere the connections fall back to {@link #NIO}.
+ */
+public enum Transport {
+   NIO,
+   EPOLL
+}
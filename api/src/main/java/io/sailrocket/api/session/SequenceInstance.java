@@ -15,6 +15,8 @@ public class SequenceInstance {
    private int index;
    private Step[] steps;
    private int currentStep = 0;
+   // events this sequence is waiting for, 0 means it should be evaluated on any run of the session
+   private int blockedOn;
 
    public boolean progress(Session session) {
       boolean progressed = false;
@@ -64,6 +66,7 @@ public class SequenceInstance {
       this.index = index;
       this.steps = steps;
       this.currentStep = 0;
+      this.blockedOn = 0;
       return this;
    }
 
@@ -71,6 +74,18 @@ public class SequenceInstance {
       return  currentStep >= steps.length;
    }
 
+   /**
+    * @return Bit mask of events (as in {@link Session#waitFor(int)}) that could unblock this sequence,
+    * or 0 if the sequence should be evaluated any time.
+    */
+   public int blockedOn() {
+      return blockedOn;
+   }
+
+   public void blockedOn(int events) {
+      this.blockedOn = events;
+   }
+
    public int index() {
       return index;
    }
@@ -1,5 +1,7 @@
 package io.sailrocket.api.session;
 
+import java.util.concurrent.TimeUnit;
+
 import io.netty.buffer.ByteBuf;
 import io.netty.util.concurrent.EventExecutor;
 import io.sailrocket.api.connection.HttpClientPool;
@@ -9,13 +11,37 @@ import io.sailrocket.api.collection.RequestQueue;
 import io.sailrocket.api.config.Phase;
 
 public interface Session {
+   /// Events that wake up blocked sequences, see {@link #waitFor(int)}
+   /**
+    * A request handle was released or a connection became available.
+    */
+   int WAKE_REQUEST_SLOT = 1;
+   /**
+    * A response was completed.
+    */
+   int WAKE_RESPONSE = 2;
+   /**
+    * A timer scheduled through {@link #schedule(long, TimeUnit)} has expired.
+    */
+   int WAKE_TIMER = 4;
+   /**
+    * A variable was set.
+    */
+   int WAKE_VARIABLE = 8;
+
    /**
     * @return Integer >= 0 that's unique across whole simulation
     */
    int uniqueId();
 
    /// Common utility objects
-   HttpClientPool httpClientPool();
+   /**
+    * Must be invoked from the session's executor.
+    *
+    * @param endpoint Index of the endpoint in the order of definition; the first one is the default endpoint.
+    * @return Pool of one of the endpoint's replicas, as selected by its {@link io.sailrocket.api.connection.Balancer}.
+    */
+   HttpClientPool httpClientPool(int endpoint);
 
    EventExecutor executor();
 
@@ -64,6 +90,30 @@ public interface Session {
    // Sequence related methods
    void currentSequence(SequenceInstance current);
 
+   /**
+    * Set while a response is being handled; validators, extractors and processors use it to keep separate state
+    * for responses to concurrent requests.
+    */
+   void currentRequest(RequestQueue.Request request);
+
+   RequestQueue.Request currentRequest();
+
+   /**
+    * Called by a step from {@link io.sailrocket.api.config.Step#prepare(Session)} before it returns <code>false</code>:
+    * the current sequence won't be re-evaluated until one of the events happens. Steps that block without calling
+    * this are re-evaluated whenever the session runs.
+    *
+    * @param events Bit mask of <code>WAKE_*</code> constants.
+    */
+   void waitFor(int events);
+
+   /**
+    * Record that an event has happened; sequences waiting for it will be re-evaluated when the session runs.
+    *
+    * @param events Bit mask of <code>WAKE_*</code> constants.
+    */
+   void signal(int events);
+
    SequenceInstance currentSequence();
 
    /**
@@ -72,6 +122,36 @@ public interface Session {
     */
    void proceed(EventExecutor executor);
 
+   /**
+    * Run this session again (as in {@link #proceed(EventExecutor)}) after given delay. The delay is rounded up
+    * to the timer resolution. When the session is already scheduled to run earlier this call has no effect;
+    * steps that are blocked after such run must schedule themselves again.
+    *
+    * @param delay
+    * @param timeUnit
+    */
+   void schedule(long delay, TimeUnit timeUnit);
+
+   /**
+    * Start the session; the first invocation of {@link #proceed(EventExecutor)} in this session.
+    *
+    * @param executor
+    * @param intendedStartTime Timestamp as in {@link System#nanoTime()} when the session should have started
+    *                          according to the phase schedule.
+    */
+   void start(EventExecutor executor, long intendedStartTime);
+
+   /**
+    * @return Timestamp as in {@link System#nanoTime()} when the session should have started.
+    */
+   long intendedStartTime();
+
+   /**
+    * @return Nanoseconds the session started after its intended start time. All requests in this session
+    * are considered to be delayed by this amount.
+    */
+   long startDelay();
+
    void reset();
 
    void nextSequence(String name);
@@ -103,10 +183,12 @@ public interface Session {
       void unset();
    }
 
-   /**
-    * Just a marker interface.
-    */
    interface Resource {
+      /**
+       * Invoked when the session is reset before being recycled; the resource should drop any state
+       * (including callbacks registered elsewhere) that refers to the previous run of the session.
+       */
+      default void onSessionReset() {}
    }
 
    interface ResourceKey<R extends Resource> {}
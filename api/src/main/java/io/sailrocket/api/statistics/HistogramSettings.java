@@ -0,0 +1,86 @@
+package io.sailrocket.api.statistics;
+
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.DataFormatException;
+
+import org.HdrHistogram.AbstractHistogram;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.IntCountsHistogram;
+
+import io.sailrocket.api.config.BenchmarkDefinitionException;
+
+/**
+ * Range, precision and representation of histograms recorded for a sequence. With auto-resize the range is only
+ * the initial one and the histogram grows when a higher value is recorded; otherwise values over the range
+ * are recorded as the highest trackable value.
+ */
+public final class HistogramSettings implements Serializable {
+   public static final HistogramSettings DEFAULT = new HistogramSettings(TimeUnit.MINUTES.toNanos(1), 2, true, CountsType.LONG);
+
+   public final long highestTrackableValue;
+   public final int significantDigits;
+   public final boolean autoResize;
+   public final CountsType countsType;
+
+   public HistogramSettings(long highestTrackableValue, int significantDigits, boolean autoResize, CountsType countsType) {
+      this.highestTrackableValue = highestTrackableValue;
+      this.significantDigits = significantDigits;
+      this.autoResize = autoResize;
+      this.countsType = countsType;
+      if (highestTrackableValue < 2) {
+         throw new BenchmarkDefinitionException("Highest trackable value must be at least 2: " + highestTrackableValue);
+      }
+      if (significantDigits < 0 || significantDigits > 5) {
+         throw new BenchmarkDefinitionException("Number of significant digits must be between 0 and 5: " + significantDigits);
+      }
+   }
+
+   public AbstractHistogram newHistogram() {
+      AbstractHistogram histogram;
+      switch (countsType) {
+         case INT:
+            histogram = new IntCountsHistogram(highestTrackableValue, significantDigits);
+            break;
+         default:
+            histogram = new Histogram(highestTrackableValue, significantDigits);
+      }
+      histogram.setAutoResize(autoResize);
+      return histogram;
+   }
+
+   /**
+    * Reads histogram written using {@link AbstractHistogram#encodeIntoCompressedByteBuffer(ByteBuffer)}.
+    */
+   public AbstractHistogram decodeHistogram(ByteBuffer buffer) throws DataFormatException {
+      AbstractHistogram histogram;
+      switch (countsType) {
+         case INT:
+            histogram = IntCountsHistogram.decodeFromCompressedByteBuffer(buffer, highestTrackableValue);
+            break;
+         default:
+            histogram = Histogram.decodeFromCompressedByteBuffer(buffer, highestTrackableValue);
+      }
+      histogram.setAutoResize(autoResize);
+      return histogram;
+   }
+
+   @Override
+   public String toString() {
+      return "HistogramSettings{" +
+            "highestTrackableValue=" + highestTrackableValue +
+            ", significantDigits=" + significantDigits +
+            ", autoResize=" + autoResize +
+            ", countsType=" + countsType +
+            '}';
+   }
+
+   /**
+    * Type of the counters in each bucket; {@link #INT} halves the memory but a bucket overflows after 2^31 values.
+    */
+   public enum CountsType {
+      LONG,
+      INT
+   }
+}
@@ -9,25 +9,62 @@ import org.HdrHistogram.WriterReaderPhaser;
  */
 public class Statistics {
    private final WriterReaderPhaser recordingPhaser = new WriterReaderPhaser();
+   private final HistogramSettings settings;
+   // without auto-resize the histogram would throw on higher values
+   private final long maxValue;
 
    private volatile StatisticsSnapshot active;
    private StatisticsSnapshot inactive;
 
    public Statistics() {
-      active = new StatisticsSnapshot();
-      inactive = new StatisticsSnapshot();
+      this(HistogramSettings.DEFAULT);
+   }
+
+   public Statistics(HistogramSettings settings) {
+      this.settings = settings;
+      this.maxValue = settings.autoResize ? Long.MAX_VALUE : settings.highestTrackableValue;
+      active = new StatisticsSnapshot(settings);
+      inactive = new StatisticsSnapshot(settings);
       active.histogram.setStartTimeStamp(System.currentTimeMillis());
+      active.responseTime.setStartTimeStamp(active.histogram.getStartTimeStamp());
+      active.connectionWait.setStartTimeStamp(active.histogram.getStartTimeStamp());
    }
 
    public void recordValue(final long value) {
       long criticalValueAtEnter = recordingPhaser.writerCriticalSectionEnter();
       try {
-         active.histogram.recordValue(value);
+         active.histogram.recordValue(clamp(value));
+      } finally {
+         recordingPhaser.writerCriticalSectionExit(criticalValueAtEnter);
+      }
+   }
+
+   public void recordResponseTime(final long value) {
+      long criticalValueAtEnter = recordingPhaser.writerCriticalSectionEnter();
+      try {
+         active.responseTime.recordValue(clamp(value));
       } finally {
          recordingPhaser.writerCriticalSectionExit(criticalValueAtEnter);
       }
    }
 
+   public void recordConnectionWait(final long value) {
+      long criticalValueAtEnter = recordingPhaser.writerCriticalSectionEnter();
+      try {
+         active.connectionWait.recordValue(clamp(value));
+      } finally {
+         recordingPhaser.writerCriticalSectionExit(criticalValueAtEnter);
+      }
+   }
+
+   /**
+    * Values out of the range of the histogram are recorded as its lowest or highest value; the recording happens
+    * in the middle of response handling and it should not fail.
+    */
+   private long clamp(long value) {
+      return value < 0 ? 0 : Math.min(value, maxValue);
+   }
+
    public void incrementRequests() {
       long criticalValueAtEnter = recordingPhaser.writerCriticalSectionEnter();
       try {
@@ -86,7 +123,7 @@ public class Statistics {
 
          // Make sure we have an inactive version to flip in:
          if (inactive == null) {
-            inactive = new StatisticsSnapshot();
+            inactive = new StatisticsSnapshot(settings);
          }
 
          inactive.reset();
@@ -99,7 +136,11 @@ public class Statistics {
          // Mark end time of previous interval and start time of new one:
          long now = System.currentTimeMillis();
          active.histogram.setStartTimeStamp(now);
+         active.responseTime.setStartTimeStamp(now);
+         active.connectionWait.setStartTimeStamp(now);
          inactive.histogram.setEndTimeStamp(now);
+         inactive.responseTime.setEndTimeStamp(now);
+         inactive.connectionWait.setEndTimeStamp(now);
 
          // Make sure we are not in the middle of recording a value on the previously active histogram:
 
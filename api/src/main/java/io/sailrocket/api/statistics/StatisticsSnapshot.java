@@ -1,16 +1,27 @@
 package io.sailrocket.api.statistics;
 
 import java.io.Serializable;
-import java.util.concurrent.TimeUnit;
 import java.util.stream.DoubleStream;
 
-import org.HdrHistogram.Histogram;
+import org.HdrHistogram.AbstractHistogram;
 
 /**
  * Non-thread safe mutable set of values.
  */
 public class StatisticsSnapshot implements Serializable {
-   public final Histogram histogram = new Histogram(TimeUnit.MINUTES.toNanos(1), 2);
+   public final HistogramSettings settings;
+   /**
+    * Service time: from the moment the request was sent to the end of the response.
+    */
+   public final AbstractHistogram histogram;
+   /**
+    * Response time corrected for coordinated omission: measured from the intended start of the request.
+    */
+   public final AbstractHistogram responseTime;
+   /**
+    * Time requests spent waiting for a free connection; this is not included in {@link #histogram}.
+    */
+   public final AbstractHistogram connectionWait;
    public int connectFailureCount;
    public int requestCount;
    public int responseCount;
@@ -21,12 +32,29 @@ public class StatisticsSnapshot implements Serializable {
    public int status_other;
    public int resetCount;
 
+   public StatisticsSnapshot() {
+      this(HistogramSettings.DEFAULT);
+   }
+
+   public StatisticsSnapshot(HistogramSettings settings) {
+      this(settings, settings.newHistogram(), settings.newHistogram(), settings.newHistogram());
+   }
+
+   public StatisticsSnapshot(HistogramSettings settings, AbstractHistogram histogram, AbstractHistogram responseTime, AbstractHistogram connectionWait) {
+      this.settings = settings;
+      this.histogram = histogram;
+      this.responseTime = responseTime;
+      this.connectionWait = connectionWait;
+   }
+
    public int[] statuses() {
       return new int[] { status_2xx, status_3xx, status_4xx, status_5xx, status_other };
    }
 
    public void reset() {
       histogram.reset();
+      responseTime.reset();
+      connectionWait.reset();
       connectFailureCount = 0;
       requestCount = 0;
       responseCount = 0;
@@ -39,13 +67,15 @@ public class StatisticsSnapshot implements Serializable {
    }
 
    public StatisticsSnapshot clone() {
-      StatisticsSnapshot copy = new StatisticsSnapshot();
+      StatisticsSnapshot copy = new StatisticsSnapshot(settings);
       copyInto(copy);
       return copy;
    }
 
    public void copyInto(StatisticsSnapshot target) {
       histogram.copyInto(target.histogram);
+      responseTime.copyInto(target.responseTime);
+      connectionWait.copyInto(target.connectionWait);
       target.connectFailureCount = connectFailureCount;
       target.requestCount = requestCount;
       target.responseCount = responseCount;
@@ -59,6 +89,8 @@ public class StatisticsSnapshot implements Serializable {
 
    public void addInto(StatisticsSnapshot target) {
       target.histogram.add(histogram);
+      target.responseTime.add(responseTime);
+      target.connectionWait.add(connectionWait);
       target.connectFailureCount += connectFailureCount;
       target.requestCount += requestCount;
       target.responseCount += responseCount;
@@ -72,6 +104,8 @@ public class StatisticsSnapshot implements Serializable {
 
    public void subtractFrom(StatisticsSnapshot target) {
       target.histogram.subtract(histogram);
+      target.responseTime.subtract(responseTime);
+      target.connectionWait.subtract(connectionWait);
       target.connectFailureCount -= connectFailureCount;
       target.requestCount -= requestCount;
       target.responseCount -= responseCount;
@@ -85,9 +119,11 @@ public class StatisticsSnapshot implements Serializable {
 
    public StatisticsSummary summary(double[] percentiles) {
       long[] percentileValues = DoubleStream.of(percentiles).mapToLong(histogram::getValueAtPercentile).toArray();
+      long[] correctedPercentileValues = DoubleStream.of(percentiles).mapToLong(responseTime::getValueAtPercentile).toArray();
       return new StatisticsSummary(histogram.getStartTimeStamp(), histogram.getEndTimeStamp(),
             histogram.getMinValue(), (long) histogram.getMean(), histogram.getMaxValue(),
-            percentileValues, connectFailureCount, requestCount, responseCount,
+            percentileValues, (long) responseTime.getMean(), responseTime.getMaxValue(),
+            correctedPercentileValues, connectFailureCount, requestCount, responseCount,
             status_2xx, status_3xx, status_4xx, status_5xx, status_other, resetCount);
    }
 
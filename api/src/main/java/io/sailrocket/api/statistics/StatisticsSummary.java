@@ -9,6 +9,10 @@ public class StatisticsSummary {
    public final long meanResponseTime;
    public final long maxResponseTime;
    public final long[] percentileResponseTime; // the percentiles depend on configuration
+   // response time corrected for coordinated omission
+   public final long meanCorrectedResponseTime;
+   public final long maxCorrectedResponseTime;
+   public final long[] percentileCorrectedResponseTime;
    public final int connectFailureCount;
    public final int requestCount;
    public final int responseCount;
@@ -20,7 +24,8 @@ public class StatisticsSummary {
    public final int resetCount;
 
    public StatisticsSummary(long startTime, long endTime, long minResponseTime, long meanResponseTime, long maxResponseTime,
-                            long[] percentileResponseTime, int connectFailureCount, int requestCount, int responseCount,
+                            long[] percentileResponseTime, long meanCorrectedResponseTime, long maxCorrectedResponseTime,
+                            long[] percentileCorrectedResponseTime, int connectFailureCount, int requestCount, int responseCount,
                             int status_2xx, int status_3xx, int status_4xx, int status_5xx, int status_other, int resetCount) {
       this.startTime = startTime;
       this.endTime = endTime;
@@ -28,6 +33,9 @@ public class StatisticsSummary {
       this.meanResponseTime = meanResponseTime;
       this.maxResponseTime = maxResponseTime;
       this.percentileResponseTime = percentileResponseTime;
+      this.meanCorrectedResponseTime = meanCorrectedResponseTime;
+      this.maxCorrectedResponseTime = maxCorrectedResponseTime;
+      this.percentileCorrectedResponseTime = percentileCorrectedResponseTime;
       this.connectFailureCount = connectFailureCount;
       this.requestCount = requestCount;
       this.responseCount = responseCount;
@@ -46,7 +54,13 @@ public class StatisticsSummary {
          writer.print(p * 100);
          writer.print(',');
       }
-      writer.print("Max,ConnFailure,Reset,2xx,3xx,4xx,5xx,Other");
+      writer.print("Max,ConnFailure,Reset,2xx,3xx,4xx,5xx,Other,CorrectedMean,");
+      for (double p : percentiles) {
+         writer.print("Correctedp");
+         writer.print(p * 100);
+         writer.print(',');
+      }
+      writer.print("CorrectedMax");
    }
 
    public void printTo(PrintWriter writer) {
@@ -77,5 +91,13 @@ public class StatisticsSummary {
       writer.print(status_5xx);
       writer.print(',');
       writer.print(status_other);
+      writer.print(',');
+      writer.print(meanCorrectedResponseTime);
+      writer.print(',');
+      for (long prt : percentileCorrectedResponseTime) {
+         writer.print(prt);
+         writer.print(',');
+      }
+      writer.print(maxCorrectedResponseTime);
    }
 }
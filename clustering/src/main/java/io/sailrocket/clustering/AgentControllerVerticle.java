@@ -3,8 +3,10 @@ package io.sailrocket.clustering;
 import io.sailrocket.api.config.Benchmark;
 import io.sailrocket.api.config.Phase;
 import io.sailrocket.api.config.Sequence;
+import io.sailrocket.core.api.Partition;
 import io.sailrocket.core.api.PhaseInstance;
 import io.sailrocket.core.impl.statistics.StatisticsStore;
+import io.sailrocket.clustering.util.InitHeaders;
 import io.sailrocket.clustering.util.PersistenceUtil;
 import io.sailrocket.clustering.util.PhaseChangeMessage;
 import io.sailrocket.clustering.util.PhaseControlMessage;
@@ -14,8 +16,10 @@ import io.vertx.core.AsyncResult;
 import io.vertx.core.Future;
 import io.vertx.core.Handler;
 import io.vertx.core.eventbus.EventBus;
+import io.vertx.core.json.JsonObject;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
+import org.HdrHistogram.AbstractHistogram;
 
 import java.io.IOException;
 import java.nio.file.Files;
@@ -23,15 +27,20 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 public class AgentControllerVerticle extends AbstractVerticle {
     private static final Logger log = LoggerFactory.getLogger(AgentControllerVerticle.class);
     private static final Path ROOT_DIR = getConfiguredPath(Properties.ROOT_DIR, Paths.get(System.getProperty("java.io.tmpdir"), "sailrocket"));
     private static final Path RUN_DIR = getConfiguredPath(Properties.RUN_DIR, ROOT_DIR.resolve("run"));
     private static final Path BENCHMARK_DIR = getConfiguredPath(Properties.BENCHMARK_DIR, ROOT_DIR.resolve("benchmark"));
+    private static final int CLOCK_SYNC_SAMPLES = 10;
+    // simulation is started on all agents at a time this far in the future, to let the command reach all of them
+    private static final long MIN_START_DELAY = 20;
 
     private EventBus eb;
     private ControllerRestServer server;
@@ -62,8 +71,12 @@ public class AgentControllerVerticle extends AbstractVerticle {
         eb = vertx.eventBus();
 
         eb.consumer(Feeds.DISCOVERY, message -> {
-            String address = (String) message.body();
-            if (agents.containsKey(address) || agents.putIfAbsent(address, new AgentInfo(address)) != null) {
+            JsonObject registration = (JsonObject) message.body();
+            String address = registration.getString("address");
+            double weight = registration.getDouble("weight", 1.0);
+            if (weight <= 0) {
+                message.fail(1, "Agent weight must be positive");
+            } else if (agents.containsKey(address) || agents.putIfAbsent(address, new AgentInfo(address, weight)) != null) {
                 message.fail(1, "Agent already present");
             } else {
                 message.reply("Registered");
@@ -79,25 +92,47 @@ public class AgentControllerVerticle extends AbstractVerticle {
             }
             String phase = phaseChange.phase();
             agent.phases.put(phase, phaseChange.status());
+            if (!Double.isNaN(phaseChange.maxUsersPerSec())) {
+                log.info("{}: agent {} found maximum sustainable rate {} users/s", phase, agent.address, phaseChange.maxUsersPerSec());
+                run.statisticsStore.recordMaxUsersPerSec(phase, agent.address, phaseChange.maxUsersPerSec());
+            }
             tryProgressStatus(phase);
         });
 
         eb.consumer(Feeds.STATS, message -> {
             ReportMessage reportMessage = (ReportMessage) message.body();
-            log.trace("Received stats from {}: {}/{} ({} requests)",
-                  reportMessage.address, reportMessage.phase, reportMessage.sequence, reportMessage.statistics.requestCount);
-            run.statisticsStore.record(reportMessage.address, reportMessage.phase, reportMessage.sequence, reportMessage.statistics);
+            AgentInfo agent = agents.get(reportMessage.address);
+            long clockOffset = agent == null ? 0 : agent.clockOffset;
+            for (ReportMessage.Entry entry : reportMessage.entries) {
+                toControllerTime(entry.statistics.histogram, clockOffset);
+                toControllerTime(entry.statistics.responseTime, clockOffset);
+                toControllerTime(entry.statistics.connectionWait, clockOffset);
+                log.trace("Received stats from {}: {}/{} ({} requests)",
+                      reportMessage.address, entry.phase, entry.sequence, entry.statistics.requestCount);
+                run.statisticsStore.record(reportMessage.address, entry.phase, entry.sequence, entry.statistics);
+            }
+            reportMessage.connectTimes.forEach((endpoint, histogram) ->
+                  run.statisticsStore.recordConnectTimes(reportMessage.address, endpoint, histogram));
         });
 
         BENCHMARK_DIR.toFile().mkdirs();
         loadBenchmarks(event -> future.complete());
     }
 
+    private static void toControllerTime(AbstractHistogram histogram, long clockOffset) {
+        histogram.setStartTimeStamp(histogram.getStartTimeStamp() - clockOffset);
+        histogram.setEndTimeStamp(histogram.getEndTimeStamp() - clockOffset);
+    }
+
     @Override
     public void stop(Future<Void> stopFuture) throws Exception {
         server.stop(stopFuture);
     }
 
+    /**
+     * Agents schedule the phases on their own; the controller only tracks the status reached by all of them
+     * and publishes it, as phases on one agent can depend on phases running on all agents.
+     */
     private void tryProgressStatus(String phase) {
         PhaseInstance.Status minStatus = null;
         for (AgentInfo a : agents.values()) {
@@ -110,6 +145,7 @@ public class AgentControllerVerticle extends AbstractVerticle {
             }
         }
         ControllerPhase controllerPhase = run.phases.get(phase);
+        ControllerPhase.Status previousStatus = controllerPhase.status();
         switch (minStatus) {
             case RUNNING:
                 controllerPhase.status(ControllerPhase.Status.RUNNING);
@@ -117,6 +153,9 @@ public class AgentControllerVerticle extends AbstractVerticle {
             case FINISHED:
                 controllerPhase.status(ControllerPhase.Status.FINISHED);
                 break;
+            case TERMINATING:
+                controllerPhase.status(ControllerPhase.Status.TERMINATING);
+                break;
             case TERMINATED:
                 if (!run.statisticsStore.validateSlas(phase)) {
                     killCurrentRun();
@@ -124,76 +163,94 @@ public class AgentControllerVerticle extends AbstractVerticle {
                 controllerPhase.status(ControllerPhase.Status.TERMINATED);
                 break;
         }
+        if (controllerPhase.status() == previousStatus) {
+            return;
+        }
+        if (controllerPhase.absoluteStartTime() == Long.MIN_VALUE) {
+            controllerPhase.absoluteStartTime(System.currentTimeMillis());
+        }
+        eb.publish(Feeds.STATUS, new PhaseChangeMessage(deploymentID(), phase, minStatus));
+        if (run.terminateTime == Long.MIN_VALUE && run.phases.values().stream().allMatch(p -> p.status() == ControllerPhase.Status.TERMINATED)) {
+            stopSimulation();
+        }
     }
 
     String startBenchmark(Benchmark benchmark) {
         this.run = new Run(String.format("%04X", runIds.getAndIncrement()), benchmark);
 
-        for (AgentInfo agent : agents.values()) {
+        // each agent runs only its part of the load, proportional to its weight
+        AgentInfo[] agentArray = agents.values().stream()
+              .sorted(Comparator.comparing(agent -> agent.address)).toArray(AgentInfo[]::new);
+        Partition[] partitions = Partition.split(Stream.of(agentArray).mapToDouble(agent -> agent.weight).toArray());
+        for (int i = 0; i < agentArray.length; ++i) {
+            AgentInfo agent = agentArray[i];
             if (agent.status != AgentInfo.Status.REGISTERED) {
                 log.error("Already initializing {}, status is {}!", agent.address, agent.status);
             } else {
                 agent.status = AgentInfo.Status.INITIALIZING;
-                eb.send(agent.address, benchmark.simulation(), reply -> {
-                    if (reply.succeeded()) {
-                        agent.status = AgentInfo.Status.INITIALIZED;
-                        if (agents.values().stream().allMatch(a -> a.status == AgentInfo.Status.INITIALIZED)) {
-                            startSimulation();
-                        }
-                    } else {
-                        agent.status = AgentInfo.Status.FAILED;
-                        log.error("Agent {} failed to initialize", reply.cause(), agent.address);
-                    }
-                });
+                Partition partition = partitions[i];
+                syncClock(agent, CLOCK_SYNC_SAMPLES, () -> initAgent(agent, partition));
             }
         }
         return run.id;
     }
 
+    /**
+     * NTP-style estimate of agent's clock offset: assuming symmetric latency the agent read its clock in the middle
+     * of the round trip. The exchange with the shortest round trip gives the most accurate estimate.
+     */
+    private void syncClock(AgentInfo agent, int samples, Runnable onSynced) {
+        long sent = System.currentTimeMillis();
+        eb.send(Feeds.clock(agent.address), sent, reply -> {
+            long received = System.currentTimeMillis();
+            if (reply.succeeded()) {
+                long agentTime = (Long) reply.result().body();
+                long roundTrip = received - sent;
+                if (roundTrip < agent.roundTrip) {
+                    agent.roundTrip = roundTrip;
+                    agent.clockOffset = agentTime - (sent + received) / 2;
+                }
+            } else {
+                log.warn("Clock synchronization with {} failed", reply.cause(), agent.address);
+            }
+            if (samples > 1) {
+                syncClock(agent, samples - 1, onSynced);
+            } else {
+                log.info("Agent {} clock offset is {} ms (round trip {} ms)", agent.address, agent.clockOffset, agent.roundTrip);
+                onSynced.run();
+            }
+        });
+    }
+
+    private void initAgent(AgentInfo agent, Partition partition) {
+        eb.send(agent.address, run.benchmark.simulation(), InitHeaders.options(partition, agent.clockOffset), reply -> {
+            if (reply.succeeded()) {
+                agent.status = AgentInfo.Status.INITIALIZED;
+                if (agents.values().stream().allMatch(a -> a.status == AgentInfo.Status.INITIALIZED)) {
+                    startSimulation();
+                }
+            } else {
+                agent.status = AgentInfo.Status.FAILED;
+                log.error("Agent {} failed to initialize", reply.cause(), agent.address);
+            }
+        });
+    }
+
     private void startSimulation() {
         assert run.startTime == Long.MIN_VALUE;
-        run.startTime = System.currentTimeMillis();
+        long maxRoundTrip = agents.values().stream().mapToLong(a -> a.roundTrip).filter(rtt -> rtt != Long.MAX_VALUE).max().orElse(0);
+        // all agents start the simulation at the same moment, regardless of when they receive the command
+        run.startTime = System.currentTimeMillis() + Math.max(MIN_START_DELAY, 2 * maxRoundTrip);
         for (Phase phase : run.benchmark.simulation().phases()) {
             run.phases.put(phase.name(), new ControllerPhase(phase));
         }
-        run.statisticsStore = new StatisticsStore(run.benchmark, failure -> {
+        run.statisticsStore = new StatisticsStore(run.benchmark, agents.size(), failure -> {
             Sequence sequence = failure.sla().sequence();
             System.out.println("Failed verify SLA(s) for " + sequence.phase() + "/" + sequence.name());
+            // phases adapting the load need to know about the failure
+            eb.publish(Feeds.CONTROL, new PhaseControlMessage(PhaseControlMessage.Command.SLA_FAILURE, null, sequence.phase()));
         });
-        runSimulation();
-    }
-
-    private void runSimulation() {
-        long now = System.currentTimeMillis();
-        for (ControllerPhase phase : run.phases.values()) {
-            if (phase.status() == ControllerPhase.Status.RUNNING && phase.absoluteStartTime() + phase.definition().duration() <= now) {
-                eb.publish(Feeds.CONTROL, new PhaseControlMessage(PhaseControlMessage.Command.FINISH, null, phase.definition().name));
-                phase.status(ControllerPhase.Status.FINISHING);
-            }
-            if (phase.status() == ControllerPhase.Status.FINISHED && phase.definition().maxDuration() >= 0 && phase.absoluteStartTime() + phase.definition().maxDuration() <= now) {
-                eb.publish(Feeds.CONTROL, new PhaseControlMessage(PhaseControlMessage.Command.TERMINATE, null, phase.definition().name));
-                phase.status(ControllerPhase.Status.TERMINATING);
-            } else if (phase.definition().terminateAfterStrict().stream().map(run.phases::get).allMatch(p -> p.status() == ControllerPhase.Status.TERMINATED)) {
-                eb.publish(Feeds.CONTROL, new PhaseControlMessage(PhaseControlMessage.Command.TRY_TERMINATE, null, phase.definition().name));
-            }
-        }
-        ControllerPhase[] availablePhases = run.getAvailablePhases();
-        for (ControllerPhase phase : availablePhases) {
-            eb.publish(Feeds.CONTROL, new PhaseControlMessage(PhaseControlMessage.Command.RUN, null, phase.definition().name));
-            phase.absoluteStartTime(now);
-            phase.status(ControllerPhase.Status.STARTING);
-        }
-
-        if (run.phases.values().stream().allMatch(phase -> phase.status() == ControllerPhase.Status.TERMINATED)) {
-            stopSimulation();
-            return;
-        }
-
-        long delay = run.nextTimestamp() - System.currentTimeMillis();
-
-        delay = Math.min(delay, 1000);
-        log.debug("Wait {} ms", delay);
-        vertx.setTimer(delay, timerId -> runSimulation());
+        eb.publish(Feeds.CONTROL, new PhaseControlMessage(PhaseControlMessage.Command.START, null, null, run.startTime));
     }
 
     private void stopSimulation() {
@@ -235,9 +292,7 @@ public class AgentControllerVerticle extends AbstractVerticle {
     }
 
     private void killCurrentRun() {
-        for (String phase : run.phases.keySet()) {
-            eb.publish(Feeds.CONTROL, new PhaseControlMessage(PhaseControlMessage.Command.TERMINATE, null, phase));
-        }
+        eb.publish(Feeds.CONTROL, new PhaseControlMessage(PhaseControlMessage.Command.ABORT, null, null));
     }
 
     public void addBenchmark(Benchmark benchmark, Handler<AsyncResult<Void>> handler) {
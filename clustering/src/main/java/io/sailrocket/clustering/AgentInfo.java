@@ -7,11 +7,17 @@ import io.sailrocket.core.api.PhaseInstance;
 
 public class AgentInfo {
    final String address;
+   // relative capacity of the agent, used to split the load
+   final double weight;
    Status status = Status.REGISTERED;
+   // agent's wall-clock time minus controller's, estimated from the exchange with the shortest round trip
+   long clockOffset;
+   long roundTrip = Long.MAX_VALUE;
    Map<String, PhaseInstance.Status> phases = new HashMap<>();
 
-   public AgentInfo(String address) {
+   public AgentInfo(String address, double weight) {
       this.address = address;
+      this.weight = weight;
    }
 
    public enum Status {
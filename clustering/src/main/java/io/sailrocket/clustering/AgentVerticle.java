@@ -1,17 +1,24 @@
 package io.sailrocket.clustering;
 
+import io.sailrocket.api.config.BenchmarkDefinitionException;
 import io.sailrocket.api.config.Simulation;
+import io.sailrocket.core.api.Partition;
 import io.sailrocket.core.api.PhaseInstance;
 import io.sailrocket.core.impl.SimulationRunnerImpl;
+import io.sailrocket.clustering.util.InitHeaders;
 import io.sailrocket.clustering.util.PhaseChangeMessage;
 import io.sailrocket.clustering.util.PhaseControlMessage;
 import io.vertx.core.AbstractVerticle;
 import io.vertx.core.eventbus.EventBus;
 import io.vertx.core.eventbus.ReplyException;
 import io.vertx.core.eventbus.ReplyFailure;
+import io.vertx.core.json.JsonObject;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 
+import java.util.HashMap;
+import java.util.Map;
+
 
 public class AgentVerticle extends AbstractVerticle {
     private static Logger log = LoggerFactory.getLogger(AgentVerticle.class);
@@ -20,6 +27,14 @@ public class AgentVerticle extends AbstractVerticle {
     private EventBus eb;
     private SimulationRunnerImpl runner;
     private long statsTimerId = -1;
+    // agent's wall-clock time minus controller's
+    private long clockOffset;
+    // in agent's wall-clock time
+    private long startTime = Long.MIN_VALUE;
+    private boolean aborted;
+    private long scheduleTimerId = -1;
+    // status reached by all agents in the cluster
+    private final Map<String, PhaseInstance.Status> clusterStatus = new HashMap<>();
 
     @Override
     public void start() {
@@ -28,33 +43,54 @@ public class AgentVerticle extends AbstractVerticle {
 
         eb.consumer(address, message -> {
             Simulation simulation = (Simulation) message.body();
-            if (!initSimulation(simulation)) {
-                message.fail(1, "Agent already initialized");
-            } else {
-                message.reply("OK");
+            Partition partition = InitHeaders.partition(message.headers());
+            clockOffset = InitHeaders.clockOffset(message.headers());
+            try {
+                if (!initSimulation(simulation, partition)) {
+                    message.fail(1, "Agent already initialized");
+                } else {
+                    message.reply("OK");
+                }
+            } catch (BenchmarkDefinitionException | IllegalStateException e) {
+                log.error("{} Cannot initialize simulation", e, address);
+                if (runner != null) {
+                    runner.shutdown();
+                    runner = null;
+                }
+                message.fail(1, e.getMessage());
             }
         });
 
+        // replies with own time for controller's estimate of the clock offset
+        eb.consumer(Feeds.clock(address), message -> message.reply(System.currentTimeMillis()));
+
         eb.consumer(Feeds.CONTROL, message -> {
             PhaseControlMessage controlMessage = (PhaseControlMessage) message.body();
             switch (controlMessage.command()) {
-                case RUN:
-                    runner.startPhase(controlMessage.phase());
-                    break;
-                case FINISH:
-                    runner.finishPhase(controlMessage.phase());
+                case START:
+                    startTime = controlMessage.timestamp() + clockOffset;
+                    schedulePhases();
                     break;
-                case TRY_TERMINATE:
-                    runner.tryTerminatePhase(controlMessage.phase());
+                case ABORT:
+                    abort();
                     break;
-                case TERMINATE:
-                    runner.terminatePhase(controlMessage.phase());
+                case SLA_FAILURE:
+                    runner.notifySlaFailure(controlMessage.phase());
                     break;
             }
         });
 
+        eb.consumer(Feeds.STATUS, message -> {
+            PhaseChangeMessage phaseChange = (PhaseChangeMessage) message.body();
+            clusterStatus.put(phaseChange.phase(), phaseChange.status());
+            schedulePhases();
+        });
+
+        JsonObject registration = new JsonObject()
+              .put("address", address)
+              .put("weight", weight());
         vertx.setPeriodic(1000, timerId -> {
-            eb.send(Feeds.DISCOVERY, address, reply -> {
+            eb.send(Feeds.DISCOVERY, registration, reply -> {
                 log.trace("{} Pinging controller", address);
                 if (reply.succeeded()) {
                     log.info("{} Got reply from controller.", address);
@@ -73,11 +109,23 @@ public class AgentVerticle extends AbstractVerticle {
         });
     }
 
-    private boolean initSimulation(Simulation simulation) {
+    /**
+     * Relative capacity of this agent used to split the load; unless set explicitly this is the number of CPUs.
+     */
+    private static double weight() {
+        String weight = System.getProperty(Properties.AGENT_WEIGHT);
+        if (weight != null) {
+            return Double.parseDouble(weight);
+        }
+        return Runtime.getRuntime().availableProcessors();
+    }
+
+    private boolean initSimulation(Simulation simulation, Partition partition) {
         if (runner != null) {
             return false;
         }
-        runner = new SimulationRunnerImpl(simulation);
+        log.info("{} runs {}", address, partition);
+        runner = new SimulationRunnerImpl(simulation, partition);
         ReportSender reportSender = new ReportSender(simulation, eb, address);
 
         runner.init((phase, status) -> {
@@ -86,15 +134,52 @@ public class AgentVerticle extends AbstractVerticle {
                 if (statsTimerId >= 0) {
                     vertx.cancelTimer(statsTimerId);
                 }
-                runner.visitSessions(reportSender);
+                runner.visitStatistics(reportSender);
+                runner.visitClientPools(reportSender::addConnectTimes);
                 reportSender.send();
             }
-            eb.send(Feeds.RESPONSE, new PhaseChangeMessage(address, phase, status));
+            eb.send(Feeds.RESPONSE, new PhaseChangeMessage(address, phase, status, runner.maxUsersPerSec(phase)));
+            // phase status is changed from the session threads
+            context.runOnContext(nil -> schedulePhases());
         });
         statsTimerId = vertx.setPeriodic(simulation.statisticsCollectionPeriod(), timerId -> {
-            runner.visitSessions(reportSender);
+            runner.visitStatistics(reportSender);
+            runner.visitClientPools(reportSender::addConnectTimes);
             reportSender.send();
         });
         return true;
     }
+
+    /**
+     * Runs the same scheduling as a local simulation but phase dependencies are satisfied only when all agents
+     * reach the status; times for starting, finishing and terminating phases are evaluated locally, without
+     * asking the controller.
+     */
+    private void schedulePhases() {
+        if (runner == null || startTime == Long.MIN_VALUE || aborted) {
+            return;
+        }
+        if (scheduleTimerId >= 0) {
+            vertx.cancelTimer(scheduleTimerId);
+            scheduleTimerId = -1;
+        }
+        long next = runner.progressPhases(startTime, phase -> clusterStatus.getOrDefault(phase, PhaseInstance.Status.NOT_STARTED));
+        if (next != Long.MAX_VALUE) {
+            scheduleTimerId = vertx.setTimer(Math.max(1, next - System.currentTimeMillis()), timerId -> {
+                scheduleTimerId = -1;
+                schedulePhases();
+            });
+        }
+    }
+
+    private void abort() {
+        aborted = true;
+        if (scheduleTimerId >= 0) {
+            vertx.cancelTimer(scheduleTimerId);
+            scheduleTimerId = -1;
+        }
+        if (runner != null) {
+            runner.terminatePhases();
+        }
+    }
 }
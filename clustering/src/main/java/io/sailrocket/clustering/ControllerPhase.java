@@ -35,9 +35,7 @@ public class ControllerPhase {
 
    enum Status {
       NOT_STARTED,
-      STARTING,
       RUNNING,
-      FINISHING,
       FINISHED,
       TERMINATING,
       TERMINATED;
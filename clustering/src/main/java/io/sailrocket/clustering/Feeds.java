@@ -5,4 +5,15 @@ public final class Feeds {
    public static final String CONTROL = "control-feed";
    public static final String RESPONSE = "response-feed";
    public static final String STATS = "stats-feed";
+   /**
+    * Controller publishes status of the phase when all agents have reached it.
+    */
+   public static final String STATUS = "status-feed";
+
+   /**
+    * @return Address where the agent replies to clock synchronization requests.
+    */
+   public static String clock(String agentAddress) {
+      return agentAddress + ".clock";
+   }
 }
@@ -1,6 +1,7 @@
 package io.sailrocket.clustering;
 
 interface Properties {
+   String AGENT_WEIGHT = "io.sailrocket.agent.weight";
    String BENCHMARK_DIR = "io.sailrocket.benchmarkdir";
    String CONTROLLER_HOST = "io.sailrocket.controller.host";
    String CONTROLLER_PORT = "io.sailrocket.controller.port";
@@ -1,5 +1,13 @@
 package io.sailrocket.clustering;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+import org.HdrHistogram.AbstractHistogram;
+
 import io.sailrocket.api.config.Phase;
 import io.sailrocket.api.config.Sequence;
 import io.sailrocket.api.config.Simulation;
@@ -11,7 +19,10 @@ import io.vertx.core.eventbus.EventBus;
 public class ReportSender extends StatisticsCollector {
    private final String address;
    private final EventBus eb;
-   private final StatisticsConsumer sendReport = this::sendReport;
+   private final StatisticsConsumer addEntry = this::addEntry;
+   private final BiConsumer<String, AbstractHistogram> putConnectTimes = this::putConnectTimes;
+   private List<ReportMessage.Entry> entries;
+   private Map<String, AbstractHistogram> connectTimes;
 
    public ReportSender(Simulation simulation, EventBus eb, String address) {
       super(simulation, true);
@@ -19,14 +30,30 @@ public class ReportSender extends StatisticsCollector {
       this.address = address;
    }
 
+   /**
+    * Sends statistics for all phases and sequences in a single message.
+    */
    public void send() {
-      visitStatistics(sendReport);
-   }
-
-   private boolean sendReport(Phase phase, Sequence sequence, StatisticsSnapshot statistics) {
+      entries = new ArrayList<>();
+      connectTimes = new LinkedHashMap<>();
+      visitStatistics(addEntry);
+      visitConnectTimes(putConnectTimes);
       // Here we assume that statistics will be serialized before next statistics collection kicks in and the statistics
       // are reset. There are probably no guarantees that this happens synchronously, though.
-      eb.send(Feeds.STATS, new ReportMessage(address, phase.name(), sequence.name(), statistics));
+      eb.send(Feeds.STATS, new ReportMessage(address, entries, connectTimes));
+      entries = null;
+      connectTimes = null;
+   }
+
+   private boolean addEntry(Phase phase, Sequence sequence, StatisticsSnapshot statistics) {
+      entries.add(new ReportMessage.Entry(phase.name(), sequence.name(), statistics));
       return false;
    }
+
+   private void putConnectTimes(String endpoint, AbstractHistogram histogram) {
+      // most of the time there are no new connections
+      if (histogram.getTotalCount() > 0) {
+         connectTimes.put(endpoint, histogram);
+      }
+   }
 }
@@ -20,25 +20,4 @@ class Run {
       this.id = id;
       this.benchmark = benchmark;
    }
-
-   long nextTimestamp() {
-      long nextPhaseStart = phases.values().stream()
-            .filter(phase -> phase.status() == ControllerPhase.Status.NOT_STARTED && phase.definition().startTime() >= 0)
-            .mapToLong(phase -> startTime + phase.definition().startTime()).min().orElse(Long.MAX_VALUE);
-      long nextPhaseFinish = phases.values().stream()
-            .filter(phase -> phase.status() == ControllerPhase.Status.RUNNING)
-            .mapToLong(phase -> phase.absoluteStartTime() + phase.definition().duration()).min().orElse(Long.MAX_VALUE);
-      long nextPhaseTerminate = phases.values().stream()
-            .filter(phase -> (phase.status() == ControllerPhase.Status.RUNNING || phase.status() == ControllerPhase.Status.FINISHED) && phase.definition().maxDuration() >= 0)
-            .mapToLong(phase -> phase.absoluteStartTime() + phase.definition().maxDuration()).min().orElse(Long.MAX_VALUE);
-      return Math.min(Math.min(nextPhaseStart, nextPhaseFinish), nextPhaseTerminate);
-   }
-
-   ControllerPhase[] getAvailablePhases() {
-      return phases.values().stream().filter(phase -> phase.status() == ControllerPhase.Status.NOT_STARTED &&
-            startTime + phase.definition().startTime() <= System.currentTimeMillis() &&
-            phase.definition().startAfter().stream().allMatch(dep -> phases.get(dep).status().isFinished()) &&
-            phase.definition().startAfterStrict().stream().allMatch(dep -> phases.get(dep).status() == ControllerPhase.Status.TERMINATED))
-            .toArray(ControllerPhase[]::new);
-   }
 }
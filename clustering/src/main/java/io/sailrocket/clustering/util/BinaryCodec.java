@@ -0,0 +1,123 @@
+package io.sailrocket.clustering.util;
+
+import java.nio.charset.StandardCharsets;
+
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.MessageCodec;
+
+/**
+ * Base for hand-written codecs of messages that are sent frequently; unlike {@link ObjectCodec} these don't
+ * go through Java serialization. Integers are written as varints (7 bits per byte, highest bit set when more
+ * bytes follow) so that small counters take a single byte.
+ */
+public abstract class BinaryCodec<T> implements MessageCodec<T, T> {
+
+   @Override
+   public T transform(T object) {
+      // sent locally, no need to copy
+      return object;
+   }
+
+   @Override
+   public String name() {
+      return getClass().getName();
+   }
+
+   @Override
+   public byte systemCodecID() {
+      return -1;
+   }
+
+   protected static void writeVarInt(Buffer buffer, int value) {
+      while ((value & ~0x7F) != 0) {
+         buffer.appendByte((byte) ((value & 0x7F) | 0x80));
+         value >>>= 7;
+      }
+      buffer.appendByte((byte) value);
+   }
+
+   protected static void writeVarLong(Buffer buffer, long value) {
+      while ((value & ~0x7FL) != 0) {
+         buffer.appendByte((byte) ((value & 0x7F) | 0x80));
+         value >>>= 7;
+      }
+      buffer.appendByte((byte) value);
+   }
+
+   protected static void writeString(Buffer buffer, String value) {
+      if (value == null) {
+         writeVarInt(buffer, 0);
+      } else {
+         byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+         writeVarInt(buffer, bytes.length + 1);
+         buffer.appendBytes(bytes);
+      }
+   }
+
+   protected static void writeBytes(Buffer buffer, byte[] bytes, int length) {
+      writeVarInt(buffer, length);
+      buffer.appendBytes(bytes, 0, length);
+   }
+
+   /**
+    * Reads the values sequentially, starting at the position where the message begins.
+    */
+   protected static final class Reader {
+      private final Buffer buffer;
+      private int position;
+
+      public Reader(Buffer buffer, int position) {
+         this.buffer = buffer;
+         this.position = position;
+      }
+
+      public byte readByte() {
+         return buffer.getByte(position++);
+      }
+
+      public int readVarInt() {
+         int value = 0;
+         for (int shift = 0; ; shift += 7) {
+            byte b = buffer.getByte(position++);
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+               return value;
+            }
+         }
+      }
+
+      public long readVarLong() {
+         long value = 0;
+         for (int shift = 0; ; shift += 7) {
+            byte b = buffer.getByte(position++);
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+               return value;
+            }
+         }
+      }
+
+      public double readDouble() {
+         double value = buffer.getDouble(position);
+         position += 8;
+         return value;
+      }
+
+      public String readString() {
+         int length = readVarInt() - 1;
+         if (length < 0) {
+            return null;
+         }
+         String value = buffer.getString(position, position + length, StandardCharsets.UTF_8.name());
+         position += length;
+         return value;
+      }
+
+      public byte[] readBytes() {
+         int length = readVarInt();
+         byte[] bytes = buffer.getBytes(position, position + length);
+         position += length;
+         return bytes;
+      }
+   }
+}
@@ -0,0 +1,44 @@
+package io.sailrocket.clustering.util;
+
+import io.sailrocket.core.api.Partition;
+import io.vertx.core.MultiMap;
+import io.vertx.core.eventbus.DeliveryOptions;
+
+/**
+ * Agent-specific parameters travel in headers of the message carrying the simulation.
+ */
+public final class InitHeaders {
+   private static final String INDEX = "partition-index";
+   private static final String COUNT = "partition-count";
+   private static final String OFFSET = "partition-offset";
+   private static final String SHARE = "partition-share";
+   private static final String CLOCK_OFFSET = "clock-offset";
+
+   private InitHeaders() {}
+
+   /**
+    * @param partition Part of the load run by the agent.
+    * @param clockOffset Milliseconds that need to be added to controller's time to get agent's time.
+    */
+   public static DeliveryOptions options(Partition partition, long clockOffset) {
+      return new DeliveryOptions()
+            .addHeader(INDEX, String.valueOf(partition.index))
+            .addHeader(COUNT, String.valueOf(partition.count))
+            .addHeader(OFFSET, String.valueOf(partition.offset))
+            .addHeader(SHARE, String.valueOf(partition.share))
+            .addHeader(CLOCK_OFFSET, String.valueOf(clockOffset));
+   }
+
+   public static Partition partition(MultiMap headers) {
+      if (!headers.contains(INDEX)) {
+         return Partition.ALL;
+      }
+      return new Partition(Integer.parseInt(headers.get(INDEX)), Integer.parseInt(headers.get(COUNT)),
+            Double.parseDouble(headers.get(OFFSET)), Double.parseDouble(headers.get(SHARE)));
+   }
+
+   public static long clockOffset(MultiMap headers) {
+      String offset = headers.get(CLOCK_OFFSET);
+      return offset == null ? 0 : Long.parseLong(offset);
+   }
+}
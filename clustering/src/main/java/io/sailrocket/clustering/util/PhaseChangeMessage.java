@@ -22,18 +22,23 @@ package io.sailrocket.clustering.util;
 
 import io.sailrocket.core.api.PhaseInstance;
 import io.vertx.core.buffer.Buffer;
-import io.vertx.core.eventbus.MessageCodec;
-import io.vertx.core.json.JsonObject;
 
 public class PhaseChangeMessage {
   private final String senderId;
   private final String phase;
   private final PhaseInstance.Status status;
+  // result of maxThroughput phase
+  private final double maxUsersPerSec;
 
   public PhaseChangeMessage(String senderId, String phase, PhaseInstance.Status status) {
+    this(senderId, phase, status, Double.NaN);
+  }
+
+  public PhaseChangeMessage(String senderId, String phase, PhaseInstance.Status status, double maxUsersPerSec) {
     this.senderId = senderId;
     this.phase = phase;
     this.status = status;
+    this.maxUsersPerSec = maxUsersPerSec;
   }
 
   @Override
@@ -43,6 +48,9 @@ public class PhaseChangeMessage {
     sb.append("senderId='").append(senderId).append('\'');
     sb.append(", phase=").append(phase);
     sb.append(", status=").append(status);
+    if (!Double.isNaN(maxUsersPerSec)) {
+      sb.append(", maxUsersPerSec=").append(maxUsersPerSec);
+    }
     sb.append('}');
     return sb.toString();
   }
@@ -59,71 +67,32 @@ public class PhaseChangeMessage {
     return status;
   }
 
-  public static class Codec implements MessageCodec<PhaseChangeMessage, PhaseChangeMessage> {
+  /**
+   * @return Highest sustainable rate found by <code>maxThroughput</code> phase, or <code>NaN</code>.
+   */
+  public double maxUsersPerSec() {
+    return maxUsersPerSec;
+  }
+
+  public static class Codec extends BinaryCodec<PhaseChangeMessage> {
+    private static final PhaseInstance.Status[] STATUSES = PhaseInstance.Status.values();
 
     @Override
     public void encodeToWire(Buffer buffer, PhaseChangeMessage phaseChangeMessage) {
-      // Easiest ways is using JSON object
-        //todo: make this more optimal
-      JsonObject jsonToEncode = new JsonObject();
-      jsonToEncode.put("senderId", phaseChangeMessage.senderId());
-      jsonToEncode.put("phase", phaseChangeMessage.phase());
-      jsonToEncode.put("status", phaseChangeMessage.status());
-
-      // Encode object to string
-      String jsonToStr = jsonToEncode.encode();
-
-      // Length of JSON: is NOT characters count
-      int length = jsonToStr.getBytes().length;
-
-      // Write data into given buffer
-      buffer.appendInt(length);
-      buffer.appendString(jsonToStr);
+      writeString(buffer, phaseChangeMessage.senderId);
+      writeString(buffer, phaseChangeMessage.phase);
+      buffer.appendByte((byte) phaseChangeMessage.status.ordinal());
+      buffer.appendDouble(phaseChangeMessage.maxUsersPerSec);
     }
 
     @Override
     public PhaseChangeMessage decodeFromWire(int position, Buffer buffer) {
-      // My custom message starting from this *position* of buffer
-      int _pos = position;
-
-      // Length of JSON
-      int length = buffer.getInt(_pos);
-
-      // Get JSON string by it`s length
-      // Jump 4 because getInt() == 4 bytes
-      String jsonStr = buffer.getString(_pos+=4, _pos+=length);
-      JsonObject contentJson = new JsonObject(jsonStr);
-
-      // Get fields
-      String senderId = contentJson.getString("senderId");
-      String phase = contentJson.getString("phase");
-      PhaseInstance.Status status = PhaseInstance.Status.valueOf(contentJson.getString("status"));
-
-      // We can finally create custom message object
-      return new PhaseChangeMessage(senderId, phase, status);
+      Reader reader = new Reader(buffer, position);
+      String senderId = reader.readString();
+      String phase = reader.readString();
+      PhaseInstance.Status status = STATUSES[reader.readByte()];
+      double maxUsersPerSec = reader.readDouble();
+      return new PhaseChangeMessage(senderId, phase, status, maxUsersPerSec);
     }
-
-    @Override
-    public PhaseChangeMessage transform(PhaseChangeMessage phaseChangeMessage) {
-      // If a message is sent *locally* across the event bus.
-      // This example sends message just as is
-      return phaseChangeMessage;
-    }
-
-     @Override
-    public String name() {
-      // Each codec must have a unique name.
-      // This is used to identify a codec when sending a message and for unregistering codecs.
-      return this.getClass().getSimpleName();
-    }
-
-    @Override
-    public byte systemCodecID() {
-      // Always -1
-      return -1;
-    }
-
-
   }
 }
-
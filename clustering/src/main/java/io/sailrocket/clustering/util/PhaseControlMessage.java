@@ -1,16 +1,21 @@
 package io.sailrocket.clustering.util;
 
-import java.io.Serializable;
-
 import io.sailrocket.api.config.Simulation;
+import io.vertx.core.buffer.Buffer;
 
-public class PhaseControlMessage implements Serializable {
+public class PhaseControlMessage {
    private final Command command;
    private final String phase;
+   private final long timestamp;
 
    public PhaseControlMessage(Command command, Simulation simulation, String phase) {
+      this(command, simulation, phase, -1);
+   }
+
+   public PhaseControlMessage(Command command, Simulation simulation, String phase, long timestamp) {
       this.command = command;
       this.phase = phase;
+      this.timestamp = timestamp;
    }
 
    public Command command() {
@@ -21,12 +26,43 @@ public class PhaseControlMessage implements Serializable {
       return phase;
    }
 
+   /**
+    * @return Controller's wall-clock time when the command should be executed, or negative value to execute
+    * it immediately.
+    */
+   public long timestamp() {
+      return timestamp;
+   }
+
    public enum Command {
-      RUN,
-      FINISH,
-      TRY_TERMINATE,
-      TERMINATE
+      /**
+       * Agents start scheduling the phases on their own at the timestamp; phase is not set.
+       */
+      START,
+      /**
+       * Terminates all phases and prevents starting any new ones; phase is not set.
+       */
+      ABORT,
+      SLA_FAILURE
    }
 
-   public static class Codec extends ObjectCodec<PhaseControlMessage> {}
+   public static class Codec extends BinaryCodec<PhaseControlMessage> {
+      private static final Command[] COMMANDS = Command.values();
+
+      @Override
+      public void encodeToWire(Buffer buffer, PhaseControlMessage message) {
+         buffer.appendByte((byte) message.command.ordinal());
+         writeString(buffer, message.phase);
+         // shifted to keep the 'immediately' value short
+         writeVarLong(buffer, message.timestamp + 1);
+      }
+
+      @Override
+      public PhaseControlMessage decodeFromWire(int position, Buffer buffer) {
+         Reader reader = new Reader(buffer, position);
+         Command command = COMMANDS[reader.readByte()];
+         String phase = reader.readString();
+         return new PhaseControlMessage(command, null, phase, reader.readVarLong() - 1);
+      }
+   }
 }
@@ -1,21 +1,145 @@
 package io.sailrocket.clustering.util;
 
-import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
 
+import org.HdrHistogram.AbstractHistogram;
+
+import io.sailrocket.api.statistics.HistogramSettings;
 import io.sailrocket.api.statistics.StatisticsSnapshot;
+import io.vertx.core.buffer.Buffer;
 
-public class ReportMessage implements Serializable {
+/**
+ * Statistics from single agent collected in one period, for all phases and sequences that were running.
+ */
+public class ReportMessage {
    public final String address;
-   public final String phase;
-   public final String sequence;
-   public final StatisticsSnapshot statistics;
+   public final List<Entry> entries;
+   // endpoint -> times of connections established in this period
+   public final Map<String, AbstractHistogram> connectTimes;
+
+   public ReportMessage(String address, List<Entry> entries) {
+      this(address, entries, Collections.emptyMap());
+   }
 
-   public ReportMessage(String address, String phase, String sequence, StatisticsSnapshot statistics) {
+   public ReportMessage(String address, List<Entry> entries, Map<String, AbstractHistogram> connectTimes) {
       this.address = address;
-      this.phase = phase;
-      this.sequence = sequence;
-      this.statistics = statistics;
+      this.entries = entries;
+      this.connectTimes = connectTimes;
+   }
+
+   public static class Entry {
+      public final String phase;
+      public final String sequence;
+      public final StatisticsSnapshot statistics;
+
+      public Entry(String phase, String sequence, StatisticsSnapshot statistics) {
+         this.phase = phase;
+         this.sequence = sequence;
+         this.statistics = statistics;
+      }
    }
 
-   public static class Codec extends ObjectCodec<ReportMessage> {}
+   public static class Codec extends BinaryCodec<ReportMessage> {
+      @Override
+      public void encodeToWire(Buffer buffer, ReportMessage message) {
+         writeString(buffer, message.address);
+         writeVarInt(buffer, message.entries.size());
+         // the histograms are encoded through a heap buffer, shared by all entries
+         ByteBuffer histogramBuffer = ByteBuffer.allocate(0);
+         for (Entry entry : message.entries) {
+            writeString(buffer, entry.phase);
+            writeString(buffer, entry.sequence);
+            StatisticsSnapshot statistics = entry.statistics;
+            HistogramSettings settings = statistics.settings;
+            writeVarLong(buffer, settings.highestTrackableValue);
+            writeVarInt(buffer, settings.significantDigits);
+            buffer.appendByte((byte) (settings.autoResize ? 1 : 0));
+            buffer.appendByte((byte) settings.countsType.ordinal());
+            histogramBuffer = writeHistogram(buffer, statistics.histogram, histogramBuffer);
+            histogramBuffer = writeHistogram(buffer, statistics.responseTime, histogramBuffer);
+            histogramBuffer = writeHistogram(buffer, statistics.connectionWait, histogramBuffer);
+            writeVarInt(buffer, statistics.connectFailureCount);
+            writeVarInt(buffer, statistics.requestCount);
+            writeVarInt(buffer, statistics.responseCount);
+            writeVarInt(buffer, statistics.status_2xx);
+            writeVarInt(buffer, statistics.status_3xx);
+            writeVarInt(buffer, statistics.status_4xx);
+            writeVarInt(buffer, statistics.status_5xx);
+            writeVarInt(buffer, statistics.status_other);
+            writeVarInt(buffer, statistics.resetCount);
+         }
+         writeVarInt(buffer, message.connectTimes.size());
+         for (Map.Entry<String, AbstractHistogram> entry : message.connectTimes.entrySet()) {
+            writeString(buffer, entry.getKey());
+            histogramBuffer = writeHistogram(buffer, entry.getValue(), histogramBuffer);
+         }
+      }
+
+      private static ByteBuffer writeHistogram(Buffer buffer, AbstractHistogram histogram, ByteBuffer histogramBuffer) {
+         // compressed encoding does not include the timestamps
+         writeVarLong(buffer, histogram.getStartTimeStamp());
+         writeVarLong(buffer, histogram.getEndTimeStamp());
+         int capacity = histogram.getNeededByteBufferCapacity();
+         if (histogramBuffer.capacity() < capacity) {
+            histogramBuffer = ByteBuffer.allocate(capacity);
+         }
+         histogramBuffer.clear();
+         int length = histogram.encodeIntoCompressedByteBuffer(histogramBuffer);
+         writeBytes(buffer, histogramBuffer.array(), length);
+         return histogramBuffer;
+      }
+
+      @Override
+      public ReportMessage decodeFromWire(int position, Buffer buffer) {
+         Reader reader = new Reader(buffer, position);
+         String address = reader.readString();
+         int size = reader.readVarInt();
+         List<Entry> entries = new ArrayList<>(size);
+         for (int i = 0; i < size; ++i) {
+            String phase = reader.readString();
+            String sequence = reader.readString();
+            HistogramSettings settings = new HistogramSettings(reader.readVarLong(), reader.readVarInt(),
+                  reader.readByte() != 0, HistogramSettings.CountsType.values()[reader.readByte()]);
+            StatisticsSnapshot statistics = new StatisticsSnapshot(settings,
+                  readHistogram(reader, settings), readHistogram(reader, settings), readHistogram(reader, settings));
+            statistics.connectFailureCount = reader.readVarInt();
+            statistics.requestCount = reader.readVarInt();
+            statistics.responseCount = reader.readVarInt();
+            statistics.status_2xx = reader.readVarInt();
+            statistics.status_3xx = reader.readVarInt();
+            statistics.status_4xx = reader.readVarInt();
+            statistics.status_5xx = reader.readVarInt();
+            statistics.status_other = reader.readVarInt();
+            statistics.resetCount = reader.readVarInt();
+            entries.add(new Entry(phase, sequence, statistics));
+         }
+         int connectTimesSize = reader.readVarInt();
+         Map<String, AbstractHistogram> connectTimes = new LinkedHashMap<>();
+         for (int i = 0; i < connectTimesSize; ++i) {
+            String endpoint = reader.readString();
+            connectTimes.put(endpoint, readHistogram(reader, HistogramSettings.DEFAULT));
+         }
+         return new ReportMessage(address, entries, connectTimes);
+      }
+
+      private static AbstractHistogram readHistogram(Reader reader, HistogramSettings settings) {
+         long startTimeStamp = reader.readVarLong();
+         long endTimeStamp = reader.readVarLong();
+         AbstractHistogram histogram;
+         try {
+            histogram = settings.decodeHistogram(ByteBuffer.wrap(reader.readBytes()));
+         } catch (DataFormatException e) {
+            throw new IllegalStateException("Cannot decode histogram", e);
+         }
+         histogram.setStartTimeStamp(startTimeStamp);
+         histogram.setEndTimeStamp(endTimeStamp);
+         return histogram;
+      }
+   }
 }
@@ -0,0 +1,177 @@
+package io.sailrocket.clustering.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.HdrHistogram.AbstractHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.Test;
+
+import io.sailrocket.api.statistics.HistogramSettings;
+import io.sailrocket.api.statistics.StatisticsSnapshot;
+import io.sailrocket.core.api.PhaseInstance;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.eventbus.MessageCodec;
+
+public class BinaryCodecTest {
+   @Test
+   public void testPhaseChangeMessage() {
+      PhaseChangeMessage message = roundTrip(new PhaseChangeMessage.Codec(),
+            new PhaseChangeMessage("agent-1", "rampUp/foo", PhaseInstance.Status.TERMINATED));
+      assertEquals("agent-1", message.senderId());
+      assertEquals("rampUp/foo", message.phase());
+      assertEquals(PhaseInstance.Status.TERMINATED, message.status());
+      assertTrue(Double.isNaN(message.maxUsersPerSec()));
+   }
+
+   @Test
+   public void testPhaseChangeMessageWithMaxThroughput() {
+      PhaseChangeMessage message = roundTrip(new PhaseChangeMessage.Codec(),
+            new PhaseChangeMessage("agent-1", "search", PhaseInstance.Status.FINISHED, 1234.5));
+      assertEquals("search", message.phase());
+      assertEquals(PhaseInstance.Status.FINISHED, message.status());
+      assertEquals(1234.5, message.maxUsersPerSec(), 0);
+   }
+
+   @Test
+   public void testPhaseChangeMessageNullAndEmpty() {
+      PhaseChangeMessage message = roundTrip(new PhaseChangeMessage.Codec(),
+            new PhaseChangeMessage(null, "", PhaseInstance.Status.NOT_STARTED));
+      assertNull(message.senderId());
+      assertEquals("", message.phase());
+      assertEquals(PhaseInstance.Status.NOT_STARTED, message.status());
+   }
+
+   @Test
+   public void testPhaseControlMessage() {
+      long timestamp = System.currentTimeMillis();
+      PhaseControlMessage message = roundTrip(new PhaseControlMessage.Codec(),
+            new PhaseControlMessage(PhaseControlMessage.Command.START, null, "ž phase", timestamp));
+      assertEquals(PhaseControlMessage.Command.START, message.command());
+      assertEquals("ž phase", message.phase());
+      assertEquals(timestamp, message.timestamp());
+   }
+
+   @Test
+   public void testPhaseControlMessageNullAndEmpty() {
+      PhaseControlMessage message = roundTrip(new PhaseControlMessage.Codec(),
+            new PhaseControlMessage(PhaseControlMessage.Command.ABORT, null, null));
+      assertEquals(PhaseControlMessage.Command.ABORT, message.command());
+      assertNull(message.phase());
+      assertEquals(-1, message.timestamp());
+
+      message = roundTrip(new PhaseControlMessage.Codec(),
+            new PhaseControlMessage(PhaseControlMessage.Command.SLA_FAILURE, null, "", 0));
+      assertEquals(PhaseControlMessage.Command.SLA_FAILURE, message.command());
+      assertEquals("", message.phase());
+      assertEquals(0, message.timestamp());
+   }
+
+   @Test
+   public void testReportMessage() {
+      HistogramSettings intSettings = new HistogramSettings(1_000_000, 3, false, HistogramSettings.CountsType.INT);
+      StatisticsSnapshot first = new StatisticsSnapshot(intSettings);
+      first.histogram.recordValue(1234);
+      first.histogram.recordValue(999_999);
+      first.histogram.setStartTimeStamp(1000);
+      first.histogram.setEndTimeStamp(2000);
+      first.responseTime.recordValue(5678);
+      first.connectionWait.recordValue(42);
+      first.connectFailureCount = 1;
+      first.requestCount = 300;
+      first.responseCount = 299;
+      first.status_2xx = 200;
+      first.status_3xx = 30;
+      first.status_4xx = 40;
+      first.status_5xx = 50;
+      first.status_other = 5;
+      first.resetCount = 1_000_000;
+      // nothing recorded
+      StatisticsSnapshot second = new StatisticsSnapshot();
+
+      ReportMessage message = roundTrip(new ReportMessage.Codec(), new ReportMessage("agent-1", Arrays.asList(
+            new ReportMessage.Entry("phase", "sequence", first),
+            new ReportMessage.Entry("phase", "", second))));
+      assertEquals("agent-1", message.address);
+      assertEquals(2, message.entries.size());
+
+      ReportMessage.Entry entry = message.entries.get(0);
+      assertEquals("phase", entry.phase);
+      assertEquals("sequence", entry.sequence);
+      assertStatistics(first, entry.statistics);
+
+      entry = message.entries.get(1);
+      assertEquals("phase", entry.phase);
+      assertEquals("", entry.sequence);
+      assertStatistics(second, entry.statistics);
+   }
+
+   @Test
+   public void testReportMessageNullAndEmpty() {
+      ReportMessage message = roundTrip(new ReportMessage.Codec(), new ReportMessage(null, Collections.emptyList()));
+      assertNull(message.address);
+      assertTrue(message.entries.isEmpty());
+      assertTrue(message.connectTimes.isEmpty());
+   }
+
+   @Test
+   public void testReportMessageWithConnectTimes() {
+      AbstractHistogram first = new Histogram(2);
+      first.recordValue(150_000);
+      // over the initial range of the default settings
+      first.recordValue(TimeUnit.MINUTES.toNanos(5));
+      AbstractHistogram second = new Histogram(2);
+      second.recordValue(1);
+
+      Map<String, AbstractHistogram> connectTimes = new LinkedHashMap<>();
+      connectTimes.put("first", first);
+      connectTimes.put("second", second);
+      ReportMessage message = roundTrip(new ReportMessage.Codec(), new ReportMessage("agent-1", Collections.emptyList(), connectTimes));
+      assertTrue(message.entries.isEmpty());
+      assertEquals(Arrays.asList("first", "second"), new ArrayList<>(message.connectTimes.keySet()));
+      assertHistogram(first, message.connectTimes.get("first"));
+      assertHistogram(second, message.connectTimes.get("second"));
+   }
+
+   private static <T> T roundTrip(MessageCodec<T, T> codec, T message) {
+      Buffer buffer = Buffer.buffer();
+      // the message does not need to start at the beginning of the buffer
+      buffer.appendString("prefix");
+      codec.encodeToWire(buffer, message);
+      return codec.decodeFromWire(6, buffer);
+   }
+
+   private static void assertStatistics(StatisticsSnapshot expected, StatisticsSnapshot actual) {
+      assertEquals(expected.settings.highestTrackableValue, actual.settings.highestTrackableValue);
+      assertEquals(expected.settings.significantDigits, actual.settings.significantDigits);
+      assertEquals(expected.settings.autoResize, actual.settings.autoResize);
+      assertEquals(expected.settings.countsType, actual.settings.countsType);
+      assertHistogram(expected.histogram, actual.histogram);
+      assertHistogram(expected.responseTime, actual.responseTime);
+      assertHistogram(expected.connectionWait, actual.connectionWait);
+      assertEquals(expected.connectFailureCount, actual.connectFailureCount);
+      assertEquals(expected.requestCount, actual.requestCount);
+      assertEquals(expected.responseCount, actual.responseCount);
+      assertEquals(expected.status_2xx, actual.status_2xx);
+      assertEquals(expected.status_3xx, actual.status_3xx);
+      assertEquals(expected.status_4xx, actual.status_4xx);
+      assertEquals(expected.status_5xx, actual.status_5xx);
+      assertEquals(expected.status_other, actual.status_other);
+      assertEquals(expected.resetCount, actual.resetCount);
+   }
+
+   private static void assertHistogram(AbstractHistogram expected, AbstractHistogram actual) {
+      assertEquals(expected.getClass(), actual.getClass());
+      assertEquals(expected, actual);
+      assertEquals(expected.getStartTimeStamp(), actual.getStartTimeStamp());
+      assertEquals(expected.getEndTimeStamp(), actual.getEndTimeStamp());
+   }
+}
@@ -0,0 +1,86 @@
+package io.sailrocket.core.api;
+
+import java.io.Serializable;
+
+import io.sailrocket.api.config.BenchmarkDefinitionException;
+
+/**
+ * Part of the load that is generated by one of the agents. Agents are lined up on an interval [0, 1),
+ * each covering its share starting at the offset; numbers of users are split by rounding the boundaries so that
+ * the parts always add up to the total, and arrival rates are just multiplied by the share.
+ */
+public final class Partition implements Serializable {
+   public static final Partition ALL = new Partition(0, 1, 0, 1);
+
+   public final int index;
+   public final int count;
+   public final double offset;
+   public final double share;
+
+   public Partition(int index, int count, double offset, double share) {
+      this.index = index;
+      this.count = count;
+      this.offset = offset;
+      this.share = share;
+      if (index < 0 || index >= count) {
+         throw new BenchmarkDefinitionException("Invalid partition index " + index + " of " + count);
+      }
+      if (share <= 0 || offset < 0 || offset + share > 1 + 1e-9) {
+         throw new BenchmarkDefinitionException("Invalid partition offset " + offset + " and share " + share);
+      }
+   }
+
+   /**
+    * @param weights Relative capacity of each agent.
+    * @return Partitions in the same order as weights.
+    */
+   public static Partition[] split(double[] weights) {
+      double sum = 0;
+      for (double weight : weights) {
+         if (weight <= 0) {
+            throw new IllegalArgumentException("Agent weights must be positive: " + weight);
+         }
+         sum += weight;
+      }
+      Partition[] partitions = new Partition[weights.length];
+      double offset = 0;
+      for (int i = 0; i < weights.length; ++i) {
+         double share = i == weights.length - 1 ? 1 - offset : weights[i] / sum;
+         partitions[i] = new Partition(i, weights.length, offset, share);
+         offset += share;
+      }
+      return partitions;
+   }
+
+   /**
+    * @return Number of users from the total this agent should run; can be zero.
+    */
+   public int users(int users) {
+      return (int) Math.round(users * (offset + share)) - (int) Math.round(users * offset);
+   }
+
+   /**
+    * @return Upper estimate for this agent's part of the total.
+    */
+   public int estimate(int estimate) {
+      return (int) Math.ceil(estimate * share);
+   }
+
+   /**
+    * Sessions are numbered from zero on each agent; interleaving the sequences keeps the identifiers unique
+    * in the whole cluster.
+    */
+   public int uniqueId(int localId) {
+      return localId * count + index;
+   }
+
+   @Override
+   public String toString() {
+      return "Partition{" +
+            "index=" + index +
+            ", count=" + count +
+            ", offset=" + offset +
+            ", share=" + share +
+            '}';
+   }
+}
@@ -1,11 +1,14 @@
 package io.sailrocket.core.api;
 
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 
+import io.netty.util.concurrent.EventExecutor;
 import io.netty.util.concurrent.EventExecutorGroup;
 import io.sailrocket.api.collection.ConcurrentPool;
 import io.sailrocket.api.config.Phase;
 import io.sailrocket.api.session.Session;
+import io.sailrocket.api.statistics.Statistics;
 
 public interface PhaseInstance {
    Phase definition();
@@ -27,14 +30,39 @@ public interface PhaseInstance {
    // TODO better name
    void setComponents(ConcurrentPool<Session> sessions, BiConsumer<String, Status> phaseChangeHandler);
 
+   /**
+    * Limits the users and arrival rate of this phase to the part run by this agent; must be set before
+    * {@link #reserveSessions()}. By default the instance runs the whole phase.
+    */
+   void setPartition(Partition partition);
+
    void reserveSessions();
 
    void notifyFinished(Session session);
 
    void notifyTerminated(Session session);
 
+   /**
+    * Invoked when a windowed SLA for this phase has not been satisfied.
+    */
+   void notifySlaFailure();
+
    void setTerminated();
 
+   /**
+    * Statistics are recorded per executor rather than per session: all sessions of this phase running on the same
+    * executor (and therefore the same thread) share the recorders.
+    *
+    * @param executor Executor of the session or <code>null</code> if the session is not bound to any.
+    * @return Recorders indexed by {@link io.sailrocket.api.config.Sequence#id()}.
+    */
+   Statistics[] statistics(EventExecutor executor);
+
+   /**
+    * @param consumer Invoked for recorders of each executor.
+    */
+   void visitStatistics(Consumer<Statistics[]> consumer);
+
    void fail(Throwable error);
 
    Throwable getError();
@@ -3,7 +3,10 @@ package io.sailrocket.core.api;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
 
+import io.sailrocket.api.config.Phase;
+import io.sailrocket.api.connection.HttpClientPool;
 import io.sailrocket.api.session.Session;
+import io.sailrocket.api.statistics.Statistics;
 
 public interface SimulationRunner {
 
@@ -11,6 +14,16 @@ public interface SimulationRunner {
 
    void visitSessions(Consumer<Session> consumer);
 
+   /**
+    * @param consumer Invoked with recorders (indexed by sequence id) of each phase and executor.
+    */
+   void visitStatistics(BiConsumer<Phase, Statistics[]> consumer);
+
+   /**
+    * @param consumer Invoked with name of the endpoint and pool of each of its replicas.
+    */
+   void visitClientPools(BiConsumer<String, HttpClientPool> consumer);
+
    void startPhase(String phase);
 
    void finishPhase(String phase);
@@ -19,5 +32,13 @@ public interface SimulationRunner {
 
    void terminatePhase(String phase);
 
+   void notifySlaFailure(String phase);
+
+   /**
+    * @return The highest sustainable rate (users per second) found by a <code>maxThroughput</code> phase,
+    * or <code>NaN</code> if the phase does not search for it or the search is not complete.
+    */
+   double maxUsersPerSec(String phase);
+
    void shutdown();
 }
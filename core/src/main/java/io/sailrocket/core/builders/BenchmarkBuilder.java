@@ -20,11 +20,16 @@
 package io.sailrocket.core.builders;
 
 import io.sailrocket.api.config.Benchmark;
+import io.sailrocket.api.config.BenchmarkDefinitionException;
 import io.sailrocket.api.config.Host;
+import io.sailrocket.api.config.Phase;
 import io.sailrocket.api.config.SLA;
+import io.sailrocket.api.config.Simulation;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.stream.Stream;
 
 /**
  * @author <a href="mailto:stalep@gmail.com">Ståle Pedersen</a>
@@ -60,7 +65,16 @@ public class BenchmarkBuilder {
     }
 
     public Benchmark build() {
-        return new Benchmark(name, originalSource, simulation.build(), agents.toArray(new Host[0]), slas.stream().map(SLABuilder::build).toArray(SLA[]::new));
+        Simulation simulation = this.simulation.build();
+        SLA[] slas = this.slas.stream().map(SLABuilder::build).toArray(SLA[]::new);
+        for (Phase phase : simulation.phases()) {
+            // without failures the search would end at maxUsersPerSec and report that as sustainable
+            if (phase instanceof Phase.MaxThroughput && Stream.of(slas).noneMatch(sla -> sla.window() > 0
+                  && Arrays.asList(phase.scenario().sequences()).contains(sla.sequence()))) {
+                throw new BenchmarkDefinitionException("Phase " + phase.name() + " searches for maximum throughput but none of its sequences has an SLA with window.");
+            }
+        }
+        return new Benchmark(name, originalSource, simulation, agents.toArray(new Host[0]), slas);
     }
 
     void addSLA(SLABuilder sla) {
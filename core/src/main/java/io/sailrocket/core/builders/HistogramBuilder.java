@@ -0,0 +1,63 @@
+package io.sailrocket.core.builders;
+
+import io.sailrocket.api.config.BenchmarkDefinitionException;
+import io.sailrocket.api.statistics.HistogramSettings;
+import io.sailrocket.core.util.Util;
+
+/**
+ * Settings that were not set explicitly are inherited: sequences inherit from the simulation and simulation
+ * inherits from {@link HistogramSettings#DEFAULT}.
+ */
+public class HistogramBuilder {
+   private Long highestTrackableValue;
+   private Integer significantDigits;
+   private Boolean autoResize;
+   private HistogramSettings.CountsType countsType;
+
+   /**
+    * @param highestTrackableValue Highest recorded response time in nanoseconds.
+    * @return Self.
+    */
+   public HistogramBuilder highestTrackableValue(long highestTrackableValue) {
+      this.highestTrackableValue = highestTrackableValue;
+      return this;
+   }
+
+   public HistogramBuilder highestTrackableValue(String highestTrackableValue) {
+      return highestTrackableValue(Util.parseToNanos(highestTrackableValue));
+   }
+
+   public HistogramBuilder significantDigits(int significantDigits) {
+      this.significantDigits = significantDigits;
+      return this;
+   }
+
+   public HistogramBuilder autoResize(boolean autoResize) {
+      this.autoResize = autoResize;
+      return this;
+   }
+
+   public HistogramBuilder countsType(HistogramSettings.CountsType countsType) {
+      this.countsType = countsType;
+      return this;
+   }
+
+   public HistogramBuilder countsType(String countsType) {
+      try {
+         return countsType(HistogramSettings.CountsType.valueOf(countsType.toUpperCase()));
+      } catch (IllegalArgumentException e) {
+         throw new BenchmarkDefinitionException("Unknown counts type " + countsType + ", expected one of: long, int");
+      }
+   }
+
+   HistogramSettings build(HistogramSettings defaults) {
+      if (highestTrackableValue == null && significantDigits == null && autoResize == null && countsType == null) {
+         return defaults;
+      }
+      return new HistogramSettings(
+            highestTrackableValue == null ? defaults.highestTrackableValue : highestTrackableValue,
+            significantDigits == null ? defaults.significantDigits : significantDigits,
+            autoResize == null ? defaults.autoResize : autoResize,
+            countsType == null ? defaults.countsType : countsType);
+   }
+}
@@ -20,10 +20,18 @@
 
 package io.sailrocket.core.builders;
 
+import io.sailrocket.api.config.BenchmarkDefinitionException;
+import io.sailrocket.api.connection.Balancer;
+import io.sailrocket.api.connection.HttpEndpoint;
 import io.sailrocket.core.builders.connection.HttpBase;
 import io.sailrocket.core.builders.connection.HttpHeader;
+import io.sailrocket.core.builders.connection.Url;
+import io.sailrocket.core.builders.connection.Version;
+import io.sailrocket.core.client.Balancers;
 
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.function.Consumer;
 
@@ -32,9 +40,18 @@ import java.util.function.Consumer;
  */
 public class HttpBuilder {
 
+    private String name;
     private Map<String,String> header;
-    private String baseUrl;
+    private List<String> baseUrls = new ArrayList<>();
     private int httpStatus;
+    private int connections;
+    private Balancer balancer = Balancers.roundRobin();
+    private Version version = Version.HTTP_1_1;
+    // null when the scheme is not constrained by the protocol
+    private Boolean secure;
+    private int concurrency;
+    private int initialWindowSize;
+    private int connectionWindowSize;
 
     public HttpBuilder() {
         header = new HashMap<>();
@@ -49,8 +66,89 @@ public class HttpBuilder {
         return this;
     }
 
+    /**
+     * @param name Name that requests use to target this endpoint.
+     */
+    public HttpBuilder name(String name) {
+        return apply(clone -> clone.name = name);
+    }
+
+    String name() {
+        return name;
+    }
+
     public HttpBuilder baseUrl(String url) {
-        return apply(clone -> clone.baseUrl = url);
+        return apply(clone -> {
+            clone.baseUrls.clear();
+            clone.baseUrls.add(url);
+        });
+    }
+
+    /**
+     * Adds another replica of this endpoint; each replica gets its own connection pool.
+     */
+    public HttpBuilder addBaseUrl(String url) {
+        return apply(clone -> clone.baseUrls.add(url));
+    }
+
+    /**
+     * @param connections Size of the pool for each replica; by default the simulation-wide number of connections.
+     */
+    public HttpBuilder connections(int connections) {
+        return apply(clone -> clone.connections = connections);
+    }
+
+    public HttpBuilder balancer(Balancer balancer) {
+        return apply(clone -> clone.balancer = balancer);
+    }
+
+    public HttpBuilder protocol(Version version) {
+        if (version == Version.HTTP_1_0) {
+            throw new BenchmarkDefinitionException("HTTP/1.0 is not supported");
+        }
+        return apply(clone -> {
+            clone.version = version;
+            clone.secure = null;
+        });
+    }
+
+    /**
+     * @param protocol Identifier as used in ALPN: <code>http/1.1</code>, <code>h2</code> for HTTP/2 negotiated over TLS
+     *                 or <code>h2c</code> for cleartext HTTP/2 with prior knowledge.
+     */
+    public HttpBuilder protocol(String protocol) {
+        switch (protocol.toLowerCase()) {
+            case "http/1.1":
+                return protocol(Version.HTTP_1_1);
+            case "h2":
+                return protocol(Version.HTTP_2_0).apply(clone -> clone.secure = true);
+            case "h2c":
+                return protocol(Version.HTTP_2_0).apply(clone -> clone.secure = false);
+            default:
+                throw new BenchmarkDefinitionException("Unknown protocol " + protocol + ", use one of http/1.1, h2, h2c");
+        }
+    }
+
+    /**
+     * @param concurrency Maximum number of requests in flight on each connection (HTTP/2 streams or pipelined
+     *                    HTTP/1.1 requests); by default the simulation-wide concurrency.
+     */
+    public HttpBuilder concurrency(int concurrency) {
+        return apply(clone -> clone.concurrency = concurrency);
+    }
+
+    /**
+     * @param initialWindowSize HTTP/2 flow-control window for each stream, in bytes.
+     */
+    public HttpBuilder initialWindowSize(int initialWindowSize) {
+        return apply(clone -> clone.initialWindowSize = initialWindowSize);
+    }
+
+    /**
+     * @param connectionWindowSize HTTP/2 flow-control window for the whole connection, in bytes.
+     */
+    public HttpBuilder connectionWindowSize(int connectionWindowSize) {
+        return apply(clone -> clone.connectionWindowSize = connectionWindowSize);
     }
 
     public HttpBuilder status(int status) {
@@ -62,7 +160,22 @@ public class HttpBuilder {
     }
 
     public HttpBase build() {
-        return new HttpBase(new HttpHeader(header), baseUrl, httpStatus);
+        String endpoint = name == null ? HttpEndpoint.DEFAULT : name;
+        if (baseUrls.isEmpty()) {
+            throw new BenchmarkDefinitionException("Endpoint " + endpoint + " has no base URL");
+        }
+        if (initialWindowSize < 0 || connectionWindowSize < 0) {
+            throw new BenchmarkDefinitionException("Window sizes of endpoint " + endpoint + " must not be negative");
+        }
+        HttpBase http = new HttpBase(name, new HttpHeader(header), baseUrls, version, httpStatus, connections, concurrency, balancer, initialWindowSize, connectionWindowSize);
+        if (secure != null) {
+            for (Url url : http.baseUrls()) {
+                if (url.protocol().secure() != secure) {
+                    throw new BenchmarkDefinitionException("Endpoint " + endpoint + " uses " + (secure ? "h2" : "h2c") + " which requires " + (secure ? "https" : "http") + " URL: " + url);
+                }
+            }
+        }
+        return http;
     }
 
 }
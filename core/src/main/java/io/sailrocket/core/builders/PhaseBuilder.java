@@ -1,5 +1,6 @@
 package io.sailrocket.core.builders;
 
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
@@ -8,8 +9,10 @@ import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
 
+import io.sailrocket.api.config.ArrivalDistribution;
 import io.sailrocket.api.config.BenchmarkDefinitionException;
 import io.sailrocket.api.config.Phase;
+import io.sailrocket.core.util.RateProfileReader;
 import io.sailrocket.core.util.Util;
 
 /**
@@ -186,6 +189,14 @@ public abstract class PhaseBuilder<PB extends PhaseBuilder> {
       }
    }
 
+   // Names of all forks in given iteration; empty if the phase is not forked
+   List<String> forkNames(int iteration) {
+      if (forks.size() == 1) {
+         return Collections.emptyList();
+      }
+      return forks.stream().map(f -> iterationName(iteration, f.name)).collect(Collectors.toList());
+   }
+
    private String formatIteration(String name, int iteration) {
       return String.format("%s/%03d", name, iteration);
    }
@@ -298,6 +309,7 @@ public abstract class PhaseBuilder<PB extends PhaseBuilder> {
       private double targetUsersPerSec;
       private double targetUsersPerSecIncrement;
       private int maxSessionsEstimate;
+      private ArrivalDistribution arrivals = ArrivalDistribution.CONSTANT;
 
       RampPerSec(SimulationBuilder parent, String name, double initialUsersPerSec, double targetUsersPerSec) {
          super(parent, name);
@@ -310,6 +322,11 @@ public abstract class PhaseBuilder<PB extends PhaseBuilder> {
          return this;
       }
 
+      public RampPerSec arrivals(ArrivalDistribution arrivals) {
+         this.arrivals = arrivals;
+         return this;
+      }
+
       @Override
       public Phase.RampPerSec buildPhase(int i, PhaseForkBuilder f) {
          int maxSessionsEstimate;
@@ -324,7 +341,8 @@ public abstract class PhaseBuilder<PB extends PhaseBuilder> {
                iterationStartTime(i), iterationReferences(startAfter, i, false),
                iterationReferences(startAfterStrict, i, true), iterationReferences(terminateAfterStrict, i, false),
                duration, maxDuration, (initialUsersPerSec + initialUsersPerSecIncrement * i) * f.weight,
-               (targetUsersPerSec + targetUsersPerSecIncrement * i) * f.weight, sharedResources(f), maxSessionsEstimate);
+               (targetUsersPerSec + targetUsersPerSecIncrement * i) * f.weight, sharedResources(f), maxSessionsEstimate, arrivals,
+               f.weight, forkNames(i));
       }
 
       public RampPerSec initialUsersPerSec(double initialUsersPerSec) {
@@ -356,6 +374,7 @@ public abstract class PhaseBuilder<PB extends PhaseBuilder> {
       private double usersPerSec;
       private double usersPerSecIncrement;
       private int maxSessionsEstimate;
+      private ArrivalDistribution arrivals = ArrivalDistribution.CONSTANT;
 
       ConstantPerSec(SimulationBuilder parent, String name, double usersPerSec) {
          super(parent, name);
@@ -367,6 +386,11 @@ public abstract class PhaseBuilder<PB extends PhaseBuilder> {
          return this;
       }
 
+      public ConstantPerSec arrivals(ArrivalDistribution arrivals) {
+         this.arrivals = arrivals;
+         return this;
+      }
+
       @Override
       public Phase.ConstantPerSec buildPhase(int i, PhaseForkBuilder f) {
          int maxSessionsEstimate;
@@ -378,7 +402,8 @@ public abstract class PhaseBuilder<PB extends PhaseBuilder> {
          return new Phase.ConstantPerSec(iterationName(i, f.name), f.scenario.build(), iterationStartTime(i),
                iterationReferences(startAfter, i, false), iterationReferences(startAfterStrict, i, true),
                iterationReferences(terminateAfterStrict, i, false), duration, maxDuration,
-               sharedResources(f), (usersPerSec + usersPerSecIncrement * i) * f.weight, maxSessionsEstimate);
+               sharedResources(f), (usersPerSec + usersPerSecIncrement * i) * f.weight, maxSessionsEstimate, arrivals,
+               f.weight, forkNames(i));
       }
 
       public ConstantPerSec usersPerSec(double usersPerSec) {
@@ -393,6 +418,168 @@ public abstract class PhaseBuilder<PB extends PhaseBuilder> {
       }
    }
 
+   public static class RateProfile extends PhaseBuilder<RateProfile> {
+      private String file;
+      private double timeScale = 1;
+      private double usersPerSecScale = 1;
+      private int maxSessionsEstimate;
+      private ArrivalDistribution arrivals = ArrivalDistribution.CONSTANT;
+      // found by scanning the file
+      private double profileDuration = -1;
+      private double profileMaxUsersPerSec;
+
+      RateProfile(SimulationBuilder parent, String name, String file) {
+         super(parent, name);
+         this.file = file;
+      }
+
+      public RateProfile file(String file) {
+         this.file = file;
+         this.profileDuration = -1;
+         return this;
+      }
+
+      public RateProfile timeScale(double timeScale) {
+         this.timeScale = timeScale;
+         return this;
+      }
+
+      public RateProfile usersPerSecScale(double usersPerSecScale) {
+         this.usersPerSecScale = usersPerSecScale;
+         return this;
+      }
+
+      public RateProfile maxSessionsEstimate(int maxSessionsEstimate) {
+         this.maxSessionsEstimate = maxSessionsEstimate;
+         return this;
+      }
+
+      public RateProfile arrivals(ArrivalDistribution arrivals) {
+         this.arrivals = arrivals;
+         return this;
+      }
+
+      @Override
+      public Phase.RateProfile buildPhase(int i, PhaseForkBuilder f) {
+         if (file == null) {
+            throw new BenchmarkDefinitionException("Profile file was not set for phase '" + name + "'");
+         }
+         if (profileDuration < 0 && (duration < 0 || maxSessionsEstimate <= 0)) {
+            scanProfile();
+         }
+         long duration = this.duration >= 0 ? this.duration : (long) Math.ceil(profileDuration / timeScale);
+         int maxSessionsEstimate;
+         if (this.maxSessionsEstimate <= 0) {
+            maxSessionsEstimate = (int) Math.ceil(f.weight * usersPerSecScale * profileMaxUsersPerSec);
+         } else {
+            maxSessionsEstimate = sliceValue(this.maxSessionsEstimate, f.weight);
+         }
+         return new Phase.RateProfile(iterationName(i, f.name), f.scenario.build(), iterationStartTime(i),
+               iterationReferences(startAfter, i, false), iterationReferences(startAfterStrict, i, true),
+               iterationReferences(terminateAfterStrict, i, false), duration, maxDuration, sharedResources(f),
+               file, timeScale, usersPerSecScale * f.weight, maxSessionsEstimate, arrivals,
+               f.weight, forkNames(i));
+      }
+
+      private void scanProfile() {
+         double firstOffset = Double.NaN;
+         double maxUsersPerSec = 0;
+         try (RateProfileReader reader = RateProfileReader.open(file)) {
+            while (reader.next()) {
+               if (Double.isNaN(firstOffset)) {
+                  firstOffset = reader.offset();
+               }
+               maxUsersPerSec = Math.max(maxUsersPerSec, reader.usersPerSec());
+            }
+            if (Double.isNaN(firstOffset)) {
+               throw new BenchmarkDefinitionException("Profile " + file + " for phase '" + name + "' is empty");
+            }
+            profileDuration = reader.offset() - firstOffset;
+            profileMaxUsersPerSec = maxUsersPerSec;
+         } catch (IOException e) {
+            throw new BenchmarkDefinitionException("Cannot read profile " + file + " for phase '" + name + "'", e);
+         }
+      }
+   }
+
+   public static class MaxThroughput extends PhaseBuilder<MaxThroughput> {
+      private double initialUsersPerSec;
+      private double maxUsersPerSec;
+      private double precision;
+      private long stepDuration = -1;
+      private long settleTime = -1;
+      private int maxSessionsEstimate;
+      private ArrivalDistribution arrivals = ArrivalDistribution.CONSTANT;
+
+      MaxThroughput(SimulationBuilder parent, String name, double initialUsersPerSec, double maxUsersPerSec) {
+         super(parent, name);
+         this.initialUsersPerSec = initialUsersPerSec;
+         this.maxUsersPerSec = maxUsersPerSec;
+      }
+
+      public MaxThroughput initialUsersPerSec(double initialUsersPerSec) {
+         this.initialUsersPerSec = initialUsersPerSec;
+         return this;
+      }
+
+      public MaxThroughput maxUsersPerSec(double maxUsersPerSec) {
+         this.maxUsersPerSec = maxUsersPerSec;
+         return this;
+      }
+
+      public MaxThroughput precision(double precision) {
+         this.precision = precision;
+         return this;
+      }
+
+      public MaxThroughput stepDuration(long stepDuration) {
+         this.stepDuration = stepDuration;
+         return this;
+      }
+
+      public MaxThroughput stepDuration(String stepDuration) {
+         return stepDuration(Util.parseToMillis(stepDuration));
+      }
+
+      public MaxThroughput settleTime(long settleTime) {
+         this.settleTime = settleTime;
+         return this;
+      }
+
+      public MaxThroughput settleTime(String settleTime) {
+         return settleTime(Util.parseToMillis(settleTime));
+      }
+
+      public MaxThroughput maxSessionsEstimate(int maxSessionsEstimate) {
+         this.maxSessionsEstimate = maxSessionsEstimate;
+         return this;
+      }
+
+      public MaxThroughput arrivals(ArrivalDistribution arrivals) {
+         this.arrivals = arrivals;
+         return this;
+      }
+
+      @Override
+      public Phase.MaxThroughput buildPhase(int i, PhaseForkBuilder f) {
+         int maxSessionsEstimate;
+         if (this.maxSessionsEstimate <= 0) {
+            maxSessionsEstimate = (int) Math.ceil(f.weight * maxUsersPerSec);
+         } else {
+            maxSessionsEstimate = sliceValue(this.maxSessionsEstimate, f.weight);
+         }
+         // by default search until the interval is within 1% of the initial rate
+         double precision = this.precision > 0 ? this.precision : initialUsersPerSec / 100;
+         long settleTime = this.settleTime >= 0 ? this.settleTime : stepDuration / 2;
+         return new Phase.MaxThroughput(iterationName(i, f.name), f.scenario.build(), iterationStartTime(i),
+               iterationReferences(startAfter, i, false), iterationReferences(startAfterStrict, i, true),
+               iterationReferences(terminateAfterStrict, i, false), duration, maxDuration, sharedResources(f),
+               initialUsersPerSec * f.weight, maxUsersPerSec * f.weight, precision * f.weight,
+               stepDuration, settleTime, maxSessionsEstimate, arrivals,
+               f.weight, forkNames(i));
+      }
+   }
+
    public static class Discriminator {
       private final SimulationBuilder parent;
       private final String name;
@@ -417,5 +604,13 @@ public abstract class PhaseBuilder<PB extends PhaseBuilder> {
       public ConstantPerSec constantPerSec(int usersPerSec) {
          return new ConstantPerSec(parent, name, usersPerSec);
       }
+
+      public RateProfile rateProfile(String file) {
+         return new RateProfile(parent, name, file);
+      }
+
+      public MaxThroughput maxThroughput(double initialUsersPerSec, double maxUsersPerSec) {
+         return new MaxThroughput(parent, name, initialUsersPerSec, maxUsersPerSec);
+      }
    }
 }
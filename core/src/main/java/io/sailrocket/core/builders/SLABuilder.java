@@ -3,6 +3,7 @@ package io.sailrocket.core.builders;
 import java.util.ArrayList;
 import java.util.Collection;
 
+import io.sailrocket.api.config.BenchmarkDefinitionException;
 import io.sailrocket.api.config.SLA;
 import io.sailrocket.core.util.Util;
 
@@ -12,6 +13,7 @@ public class SLABuilder {
    private double errorRate = 1.01; // 101% of errors allowed
    private long meanResponseTime = Long.MAX_VALUE;
    private final Collection<SLA.PercentileLimit> limits = new ArrayList<>();
+   private SLA.Latency latency = SLA.Latency.SERVICE_TIME;
    private SLA sla;
 
    public SLABuilder(SequenceBuilder parent) {
@@ -23,7 +25,7 @@ public class SLABuilder {
       if (sla != null) {
          return sla;
       }
-      return sla = new SLA(parent.build(), window, errorRate, meanResponseTime, limits);
+      return sla = new SLA(parent.build(), window, errorRate, meanResponseTime, limits, latency);
    }
 
    public SequenceBuilder endSLA() {
@@ -58,6 +60,22 @@ public class SLABuilder {
       return meanResponseTime(Util.parseToNanos(meanResponseTime));
    }
 
+   /**
+    * @param latency Latency checked by the mean and percentile limits; service time by default.
+    */
+   public SLABuilder latency(SLA.Latency latency) {
+      this.latency = latency;
+      return this;
+   }
+
+   public SLABuilder latency(String latency) {
+      try {
+         return latency(SLA.Latency.valueOf(latency.toUpperCase()));
+      } catch (IllegalArgumentException e) {
+         throw new BenchmarkDefinitionException("Unknown latency " + latency + ", expected one of: service_time, response_time");
+      }
+   }
+
    public SLABuilder addPercentileLimit(double percentile, long responseTime) {
       this.limits.add(new SLA.PercentileLimit(percentile, responseTime));
       return this;
@@ -24,6 +24,7 @@ import java.util.Objects;
 
 import io.sailrocket.api.config.Sequence;
 import io.sailrocket.api.config.Step;
+import io.sailrocket.api.statistics.HistogramSettings;
 import io.sailrocket.core.session.SequenceImpl;
 
 /**
@@ -33,6 +34,7 @@ public class SequenceBuilder extends BaseSequenceBuilder {
     private final ScenarioBuilder scenario;
     private final String name;
     private int id;
+    private HistogramBuilder histogram;
     private Sequence sequence;
 
     SequenceBuilder(ScenarioBuilder scenario, String name) {
@@ -45,8 +47,11 @@ public class SequenceBuilder extends BaseSequenceBuilder {
         if (sequence != null) {
             return sequence;
         }
-        String phase = endSequence().endScenario().name;
-        return sequence = new SequenceImpl(phase, this.name, id, steps.stream().flatMap(builder -> builder.build().stream()).toArray(Step[]::new));
+        PhaseBuilder<?> phaseBuilder = endSequence().endScenario();
+        HistogramSettings simulationSettings = phaseBuilder.endPhase().histogramSettings();
+        HistogramSettings histogramSettings = histogram == null ? simulationSettings : histogram.build(simulationSettings);
+        return sequence = new SequenceImpl(phaseBuilder.name, this.name, id,
+              steps.stream().flatMap(builder -> builder.build().stream()).toArray(Step[]::new), histogramSettings);
     }
 
     void id(int id) {
@@ -62,6 +67,16 @@ public class SequenceBuilder extends BaseSequenceBuilder {
         return new SLABuilder(this);
     }
 
+    /**
+     * Overrides histogram settings of the simulation for this sequence.
+     */
+    public HistogramBuilder histogram() {
+        if (histogram == null) {
+            histogram = new HistogramBuilder();
+        }
+        return histogram;
+    }
+
     @Override
     public SequenceBuilder end() {
         return this;
@@ -23,12 +23,22 @@ package io.sailrocket.core.builders;
 import io.sailrocket.api.config.BenchmarkDefinitionException;
 import io.sailrocket.api.config.Phase;
 import io.sailrocket.api.connection.HttpClientPoolFactory;
+import io.sailrocket.api.connection.HttpEndpoint;
+import io.sailrocket.api.connection.Transport;
 import io.sailrocket.core.client.HttpClientProvider;
 import io.sailrocket.api.config.Simulation;
+import io.sailrocket.api.statistics.HistogramSettings;
 import io.sailrocket.core.builders.connection.HttpBase;
+import io.sailrocket.core.builders.connection.Url;
+import io.sailrocket.core.builders.connection.Version;
+import io.vertx.core.http.HttpVersion;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.function.Consumer;
@@ -40,12 +50,19 @@ import java.util.stream.Collectors;
 public class SimulationBuilder {
 
     private final BenchmarkBuilder benchmarkBuilder;
-    private HttpBuilder http = new HttpBuilder();
+    // the first endpoint is the default one
+    private List<HttpBuilder> http = new ArrayList<>();
     private int connections = 1;
     private int concurrency = 1;
     private int threads = 1;
     private Map<String, PhaseBuilder<?>> phaseBuilders = new HashMap<>();
     private long statisticsCollectionPeriod = 1000;
+    private long timerTick = 1;
+    private HistogramBuilder histogram = new HistogramBuilder();
+    private Transport transport = Transport.NIO;
+    private Map<String, String> socketOptions = new HashMap<>();
+    private double connectRate;
+    private int connectParallelism;
 
     SimulationBuilder(BenchmarkBuilder benchmarkBuilder) {
         this.benchmarkBuilder = benchmarkBuilder;
@@ -60,12 +77,63 @@ public class SimulationBuilder {
         return this;
     }
 
+    /**
+     * @return Builder for the default endpoint.
+     */
     public HttpBuilder http() {
-        return http;
+        if (http.isEmpty()) {
+            http.add(new HttpBuilder());
+        }
+        return http.get(0);
     }
 
     public SimulationBuilder http(HttpBuilder httpBuilder) {
-        return apply(clone -> clone.http = httpBuilder);
+        return apply(clone -> {
+            if (clone.http.isEmpty()) {
+                clone.http.add(httpBuilder);
+            } else {
+                clone.http.set(0, httpBuilder);
+            }
+        });
+    }
+
+    /**
+     * @return Builder for the named endpoint; it is created if it does not exist yet.
+     */
+    public HttpBuilder http(String name) {
+        for (HttpBuilder builder : http) {
+            if (name.equals(builder.name())) {
+                return builder;
+            }
+        }
+        return addHttp().name(name);
+    }
+
+    /**
+     * @return Builder for another endpoint, to be named.
+     */
+    public HttpBuilder addHttp() {
+        HttpBuilder builder = new HttpBuilder();
+        http.add(builder);
+        return builder;
+    }
+
+    /**
+     * @param name Name of the endpoint; <code>null</code> selects the default (first) endpoint.
+     * @return Index of the endpoint in the order of definition.
+     */
+    public int endpointIndex(String name) {
+        if (name == null) {
+            return 0;
+        }
+        for (int i = 0; i < http.size(); ++i) {
+            String endpointName = http.get(i).name();
+            if (name.equals(endpointName) || i == 0 && endpointName == null && name.equals(HttpEndpoint.DEFAULT)) {
+                return i;
+            }
+        }
+        throw new BenchmarkDefinitionException("Endpoint " + name + " is not defined; available endpoints are "
+              + http.stream().map(builder -> builder.name() == null ? HttpEndpoint.DEFAULT : builder.name()).collect(Collectors.toList()));
     }
 
     public SimulationBuilder connections(int connections) {
@@ -80,6 +148,56 @@ public class SimulationBuilder {
         return apply(clone -> clone.threads = threads);
     }
 
+    public SimulationBuilder transport(Transport transport) {
+        return apply(clone -> clone.transport = transport);
+    }
+
+    public SimulationBuilder transport(String transport) {
+        try {
+            return transport(Transport.valueOf(transport.toUpperCase()));
+        } catch (IllegalArgumentException e) {
+            throw new BenchmarkDefinitionException("Unknown transport " + transport + ", use one of " + Arrays.toString(Transport.values()));
+        }
+    }
+
+    /**
+     * Sets socket option on all connections; see {@link HttpClientPoolFactory#socketOption(String, String)}.
+     */
+    public SimulationBuilder socketOption(String name, String value) {
+        return apply(clone -> clone.socketOptions.put(name, value));
+    }
+
+    /**
+     * @param connectRate Maximum number of new connections per second; zero means unlimited.
+     */
+    public SimulationBuilder connectRate(double connectRate) {
+        if (connectRate < 0) {
+            throw new BenchmarkDefinitionException("Connect rate must not be negative: " + connectRate);
+        }
+        return apply(clone -> clone.connectRate = connectRate);
+    }
+
+    /**
+     * @param connectParallelism Maximum number of connections established concurrently; zero means default.
+     */
+    public SimulationBuilder connectParallelism(int connectParallelism) {
+        if (connectParallelism < 0) {
+            throw new BenchmarkDefinitionException("Connect parallelism must not be negative: " + connectParallelism);
+        }
+        return apply(clone -> clone.connectParallelism = connectParallelism);
+    }
+
+    /**
+     * Histogram settings for all sequences that don't override these.
+     */
+    public HistogramBuilder histogram() {
+        return histogram;
+    }
+
+    HistogramSettings histogramSettings() {
+        return histogram.build(HistogramSettings.DEFAULT);
+    }
+
     public PhaseBuilder.Discriminator addPhase(String name) {
         return new PhaseBuilder.Discriminator(this, name);
     }
@@ -93,7 +211,7 @@ public class SimulationBuilder {
             checkDependencies(phase, phase.startAfterStrict, phaseNames);
             checkDependencies(phase, phase.terminateAfterStrict, phaseNames);
         }
-        return new Simulation(buildClientPoolFactory(), phases, buildTags(), statisticsCollectionPeriod);
+        return new Simulation(buildEndpoints(), phases, buildTags(), statisticsCollectionPeriod, timerTick);
     }
 
     private void checkDependencies(Phase phase, Collection<String> references, Set<String> phaseNames) {
@@ -107,27 +225,63 @@ public class SimulationBuilder {
         }
     }
 
-    private HttpClientPoolFactory buildClientPoolFactory() {
-        HttpBase http = this.http.build();
-        return HttpClientProvider.netty.builder()
+    private List<HttpEndpoint> buildEndpoints() {
+        if (http.isEmpty()) {
+            throw new BenchmarkDefinitionException("No HTTP endpoint is defined");
+        }
+        List<HttpEndpoint> endpoints = new ArrayList<>();
+        Set<String> names = new HashSet<>();
+        for (HttpBuilder builder : http) {
+            HttpBase http = builder.build();
+            String name = http.name();
+            if (name == null) {
+                if (!endpoints.isEmpty()) {
+                    throw new BenchmarkDefinitionException("All endpoints but the first one must be named; endpoint " + http.baseUrl() + " is not");
+                }
+                name = HttpEndpoint.DEFAULT;
+            }
+            if (!names.add(name)) {
+                throw new BenchmarkDefinitionException("Endpoint " + name + " is defined twice");
+            }
+            List<HttpClientPoolFactory> replicas = http.baseUrls().stream()
+                  .map(url -> buildClientPoolFactory(http, url)).collect(Collectors.toList());
+            endpoints.add(new HttpEndpoint(name, replicas, http.balancer()));
+        }
+        return endpoints;
+    }
+
+    private HttpClientPoolFactory buildClientPoolFactory(HttpBase http, Url url) {
+        HttpClientPoolFactory factory = HttpClientProvider.netty.builder()
                        .threads(threads)
-                       .ssl(http.baseUrl().protocol().secure())
-                       .port(http.baseUrl().protocol().port())
-                       .host(http.baseUrl().host())
-                       .size(connections)
-                       .concurrency(concurrency);
-                       //TODO: need a way to specify protocol
-                       //.protocol(http.baseUrl().protocol().version());
+                       .transport(transport)
+                       .connectRate(connectRate)
+                       .connectParallelism(connectParallelism)
+                       .ssl(url.protocol().secure())
+                       .port(url.protocol().port())
+                       .host(url.host())
+                       .size(http.connections() > 0 ? http.connections() : connections)
+                       .concurrency(http.concurrency() > 0 ? http.concurrency() : concurrency)
+                       .protocol(url.protocol().version() == Version.HTTP_2_0 ? HttpVersion.HTTP_2 : HttpVersion.HTTP_1_1)
+                       // without TLS there's no ALPN to negotiate HTTP/2
+                       .http2PriorKnowledge(!url.protocol().secure())
+                       .http2InitialWindowSize(http.initialWindowSize())
+                       .http2ConnectionWindowSize(http.connectionWindowSize());
+        socketOptions.forEach(factory::socketOption);
+        return factory;
     }
 
     private Map<String, Object> buildTags() {
         Map<String, Object> tags = new HashMap<>();
-        HttpBase http = this.http.build();
+        HttpBase http = http().build();
         tags.put("url", http.baseUrl().toString());
+        if (this.http.size() > 1 || http.baseUrls().size() > 1) {
+            tags.put("endpoints", this.http.size());
+        }
         tags.put("protocol", http.baseUrl().protocol().version().toString());
         tags.put("maxQueue", concurrency);
         tags.put("connections", connections);
         tags.put("threads", threads);
+        tags.put("transport", transport);
 
         return tags;
     }
@@ -143,4 +297,12 @@ public class SimulationBuilder {
         this.statisticsCollectionPeriod = statisticsCollectionPeriod;
         return this;
     }
+
+    public SimulationBuilder timerTick(long timerTick) {
+        if (timerTick <= 0) {
+            throw new BenchmarkDefinitionException("Timer tick must be positive: " + timerTick);
+        }
+        this.timerTick = timerTick;
+        return this;
+    }
 }
@@ -20,30 +20,94 @@
 
 package io.sailrocket.core.builders.connection;
 
+import java.util.List;
+import java.util.stream.Collectors;
+
+import io.sailrocket.api.connection.Balancer;
+
 /**
  * @author <a href="mailto:stalep@gmail.com">Ståle Pedersen</a>
  */
 public class HttpBase {
 
+    private String name;
     private HttpHeader header;
-    private Url baseUrl;
+    private List<Url> baseUrls;
     private int httpStatus;
+    private int connections;
+    private int concurrency;
+    private Balancer balancer;
+    private int initialWindowSize;
+    private int connectionWindowSize;
 
-    public HttpBase(HttpHeader header, String baseUrl, int httpStatus) {
+    public HttpBase(String name, HttpHeader header, List<String> baseUrls, Version version, int httpStatus, int connections,
+                    int concurrency, Balancer balancer, int initialWindowSize, int connectionWindowSize) {
+        this.name = name;
         this.header = header;
-        this.baseUrl = new Url(baseUrl);
+        this.baseUrls = baseUrls.stream().map(url -> new Url(url, version)).collect(Collectors.toList());
         this.httpStatus = httpStatus;
+        this.connections = connections;
+        this.concurrency = concurrency;
+        this.balancer = balancer;
+        this.initialWindowSize = initialWindowSize;
+        this.connectionWindowSize = connectionWindowSize;
+    }
+
+    /**
+     * @return Name of the endpoint or <code>null</code> if it was not set.
+     */
+    public String name() {
+        return name;
     }
 
     public HttpHeader header() {
         return header;
     }
 
+    /**
+     * @return URL of the first replica.
+     */
     public Url baseUrl() {
-        return baseUrl;
+        return baseUrls.get(0);
+    }
+
+    public List<Url> baseUrls() {
+        return baseUrls;
     }
 
     public int httpStatus() {
         return httpStatus;
     }
+
+    /**
+     * @return Number of connections per replica; zero means the simulation default.
+     */
+    public int connections() {
+        return connections;
+    }
+
+    /**
+     * @return Maximum number of requests in flight per connection; zero means the simulation default.
+     */
+    public int concurrency() {
+        return concurrency;
+    }
+
+    public Balancer balancer() {
+        return balancer;
+    }
+
+    /**
+     * @return HTTP/2 stream window size; zero means the default.
+     */
+    public int initialWindowSize() {
+        return initialWindowSize;
+    }
+
+    /**
+     * @return HTTP/2 connection window size; zero means the default.
+     */
+    public int connectionWindowSize() {
+        return connectionWindowSize;
+    }
 }
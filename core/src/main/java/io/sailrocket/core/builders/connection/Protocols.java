@@ -12,10 +12,14 @@ public class Protocols {
     }
 
     public static Protocol protocol(String protocol, int port) {
+        return protocol(protocol, port, Version.HTTP_1_1);
+    }
+
+    public static Protocol protocol(String protocol, int port, Version version) {
         if(protocol.equalsIgnoreCase("http"))
-            return new HttpProtocol(port);
+            return new HttpProtocol(port, version);
         else if(protocol.equalsIgnoreCase("https"))
-            return new HttpsProtocol(port);
+            return new HttpsProtocol(port, version);
         else
             throw new IllegalArgumentException("Protocol "+protocol+" not supported");
     }
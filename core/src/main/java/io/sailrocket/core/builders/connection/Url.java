@@ -18,11 +18,15 @@ public class Url {
     }
 
     public Url(String path) {
+        this(path, Version.HTTP_1_1);
+    }
+
+    public Url(String path, Version version) {
         try {
             URI uri = new URI(path);
             this.host = uri.getHost();
             this.path = uri.getPath();
-            this.protocol = Protocols.protocol(uri.getScheme(), uri.getPort());
+            this.protocol = Protocols.protocol(uri.getScheme(), uri.getPort(), version);
         }
         catch(URISyntaxException e) {
             throw new IllegalArgumentException("Method value is not a correct url"+e.getMessage());
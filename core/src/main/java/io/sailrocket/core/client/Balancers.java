@@ -0,0 +1,133 @@
+package io.sailrocket.core.client;
+
+import java.util.Arrays;
+
+import io.sailrocket.api.config.BenchmarkDefinitionException;
+import io.sailrocket.api.connection.Balancer;
+import io.sailrocket.api.connection.HttpClientPool;
+import io.sailrocket.api.session.Session;
+import io.sailrocket.core.session.VarAccess;
+
+/**
+ * Built-in strategies for spreading requests over replicas of an endpoint.
+ */
+public final class Balancers {
+   private static final String[] NAMES = { "roundRobin", "leastInflight" };
+
+   private Balancers() {}
+
+   /**
+    * Rotates over the replicas, skipping those without an available connection.
+    */
+   public static Balancer roundRobin() {
+      return new RoundRobin();
+   }
+
+   /**
+    * Selects the replica with the fewest requests in flight from the session's executor; the counts are
+    * per-executor and therefore don't need any synchronization.
+    */
+   public static Balancer leastInflight() {
+      return new LeastInflight();
+   }
+
+   /**
+    * Maps the value of session variable to a replica using jump consistent hash; sessions with the same value
+    * always hit the same replica (e.g. to keep server-side caches warm), even if it has no connection available.
+    */
+   public static Balancer hash(String var) {
+      return new ConsistentHash(var);
+   }
+
+   public static Balancer byName(String name) {
+      switch (name) {
+         case "roundRobin":
+            return roundRobin();
+         case "leastInflight":
+            return leastInflight();
+         default:
+            throw new BenchmarkDefinitionException("Unknown balancer " + name + ", use one of " + Arrays.toString(NAMES) + " or hash on a variable");
+      }
+   }
+
+   private static class RoundRobin implements Balancer {
+      // shared by all executors without synchronization: a lost update only repeats a replica
+      private transient int next;
+
+      @Override
+      public HttpClientPool select(Session session, HttpClientPool[] replicas) {
+         int start = next < replicas.length ? next : 0;
+         int index = start;
+         do {
+            if (replicas[index].isConnectionAvailable(session.executor())) {
+               next = index + 1;
+               return replicas[index];
+            }
+            index = index + 1 < replicas.length ? index + 1 : 0;
+         } while (index != start);
+         next = start + 1;
+         return replicas[start];
+      }
+
+      @Override
+      public String toString() {
+         return "roundRobin";
+      }
+   }
+
+   private static class LeastInflight implements Balancer {
+      @Override
+      public HttpClientPool select(Session session, HttpClientPool[] replicas) {
+         HttpClientPool best = null;
+         int bestInflight = Integer.MAX_VALUE;
+         for (HttpClientPool replica : replicas) {
+            int inflight = replica.inflight(session.executor());
+            if (inflight < bestInflight && replica.isConnectionAvailable(session.executor())) {
+               best = replica;
+               bestInflight = inflight;
+            }
+         }
+         // when no replica is available wait for the first one
+         return best == null ? replicas[0] : best;
+      }
+
+      @Override
+      public String toString() {
+         return "leastInflight";
+      }
+   }
+
+   private static class ConsistentHash implements Balancer {
+      private final VarAccess var;
+
+      ConsistentHash(String var) {
+         this.var = new VarAccess(var);
+      }
+
+      @Override
+      public HttpClientPool select(Session session, HttpClientPool[] replicas) {
+         return replicas[jumpHash(var.hashValue(session), replicas.length)];
+      }
+
+      /**
+       * Lamping and Veach: when a replica is added only 1/n of the keys move.
+       */
+      static int jumpHash(int hash, int buckets) {
+         // spread the bits, small integers would end up in the same bucket otherwise
+         long key = hash * 0x9E3779B97F4A7C15L;
+         long b = -1;
+         long j = 0;
+         while (j < buckets) {
+            b = j;
+            key = key * 2862933555777941757L + 1;
+            j = (long) ((b + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+         }
+         return (int) b;
+      }
+
+      @Override
+      public String toString() {
+         return "hash(" + var + ")";
+      }
+   }
+}
@@ -0,0 +1,35 @@
+package io.sailrocket.core.client;
+
+import io.sailrocket.api.connection.Balancer;
+import io.sailrocket.api.connection.HttpClientPool;
+import io.sailrocket.api.session.Session;
+
+/**
+ * Running pools for all replicas of an {@link io.sailrocket.api.connection.HttpEndpoint}.
+ */
+public final class EndpointPools {
+   private final String name;
+   private final HttpClientPool[] replicas;
+   private final Balancer balancer;
+
+   public EndpointPools(String name, HttpClientPool[] replicas, Balancer balancer) {
+      if (replicas.length == 0) {
+         throw new IllegalArgumentException("Endpoint " + name + " has no replicas");
+      }
+      this.name = name;
+      this.replicas = replicas;
+      this.balancer = balancer;
+   }
+
+   public String name() {
+      return name;
+   }
+
+   public HttpClientPool[] replicas() {
+      return replicas;
+   }
+
+   public HttpClientPool select(Session session) {
+      return replicas.length == 1 ? replicas[0] : balancer.select(session, replicas);
+   }
+}
@@ -7,12 +7,14 @@ import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.socket.nio.NioSocketChannel;
-import io.netty.handler.codec.http.HttpClientCodec;
+import io.netty.handler.codec.http.HttpMessage;
+import io.netty.handler.codec.http.HttpResponseDecoder;
 import io.netty.handler.ssl.SslContext;
 import io.netty.handler.ssl.SslHandler;
 
 import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
 import java.util.function.BiConsumer;
 
 /**
@@ -21,20 +23,18 @@ import java.util.function.BiConsumer;
 class Http1XClientPool extends HttpClientPoolImpl {
 
   private final StatisticsHandler statisticsHandler = new StatisticsHandler();
+  // common for all requests, following the path in the request line
+  final byte[] requestLineSuffix;
 
-  Http1XClientPool(EventLoopGroup eventLoopGroup, SslContext sslContext, int size, int port, String host, int maxConcurrentStream) {
-    super(eventLoopGroup, sslContext, size, port, host, maxConcurrentStream);
+  Http1XClientPool(EventLoopGroup eventLoopGroup, Map<ChannelOption<?>, Object> socketOptions, SslContext sslContext, int size, int port, String host, int maxConcurrentStream) {
+    super(eventLoopGroup, socketOptions, sslContext, size, port, host, maxConcurrentStream);
+    this.requestLineSuffix = (" HTTP/1.1\r\nHost: " + host + ":" + port + "\r\n").getBytes(StandardCharsets.US_ASCII);
   }
 
   @Override
   void connect(int port, String host, BiConsumer<HttpConnection, Throwable> handler) {
 
-    Bootstrap bootstrap = new Bootstrap();
-    bootstrap.channel(NioSocketChannel.class);
-    bootstrap.group(eventLoopGroup);
-    bootstrap.option(ChannelOption.SO_KEEPALIVE, true);
-    bootstrap.option(ChannelOption.SO_REUSEADDR, true);
-
+    Bootstrap bootstrap = bootstrap();
     bootstrap.handler(new ChannelInitializer<Channel>() {
       @Override
       protected void initChannel(Channel ch) throws Exception {
@@ -44,8 +44,15 @@ class Http1XClientPool extends HttpClientPoolImpl {
           ch.pipeline().addLast(sslHandler);
         }
         pipeline.addLast(statisticsHandler);
-        pipeline.addLast("codec", new HttpClientCodec(4096, 8192, 8192, false, false));
-        pipeline.addLast("handler", new Http1xConnection(Http1XClientPool.this));
+        Http1xConnection connection = new Http1xConnection(Http1XClientPool.this);
+        // requests are encoded in Http1xRequest, only the responses need decoding
+        pipeline.addLast("codec", new HttpResponseDecoder(4096, 8192, 8192, false) {
+          @Override
+          protected boolean isContentAlwaysEmpty(HttpMessage msg) {
+            return connection.isHeadResponse() || super.isContentAlwaysEmpty(msg);
+          }
+        });
+        pipeline.addLast("handler", connection);
       }
     });
 
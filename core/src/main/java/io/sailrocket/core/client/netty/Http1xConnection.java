@@ -6,10 +6,8 @@ import io.sailrocket.api.http.HttpRequest;
 import io.netty.buffer.ByteBuf;
 import io.netty.channel.ChannelDuplexHandler;
 import io.netty.channel.ChannelHandlerContext;
-import io.netty.handler.codec.http.DefaultFullHttpRequest;
 import io.netty.handler.codec.http.HttpResponse;
 import io.netty.handler.codec.http.LastHttpContent;
-import io.sailrocket.api.http.HttpResponseHandlers;
 
 import java.util.Deque;
 import java.util.Map;
@@ -23,29 +21,17 @@ class Http1xConnection extends ChannelDuplexHandler implements HttpConnection {
 
   final Http1XClientPool client;
   // Todo not use concurrent
-  private final Deque<HttpStream> inflights = new ConcurrentLinkedDeque<>();
+  private final Deque<Http1xRequest> inflights = new ConcurrentLinkedDeque<>();
   ChannelHandlerContext ctx;
   private AtomicInteger size = new AtomicInteger();
 
-  HttpStream createStream(DefaultFullHttpRequest msg, HttpResponseHandlers handlers) {
-      return new HttpStream(msg, handlers);
-  }
-
-  class HttpStream implements Runnable {
-
-    private final DefaultFullHttpRequest msg;
-    private final HttpResponseHandlers handlers;
-
-    HttpStream(DefaultFullHttpRequest msg, HttpResponseHandlers handlers) {
-      this.msg = msg;
-      this.handlers = handlers;
-    }
-
-    @Override
-    public void run() {
-      ctx.writeAndFlush(msg);
-      inflights.add(this);
+  void write(Http1xRequest request) {
+    ctx.write(request.buf);
+    if (request.body != null) {
+      ctx.write(request.body);
     }
+    ctx.flush();
+    inflights.add(request);
   }
 
   Http1xConnection(Http1XClientPool client) {
@@ -62,36 +48,45 @@ class Http1xConnection extends ChannelDuplexHandler implements HttpConnection {
   public void channelRead(ChannelHandlerContext ctx, Object msg) throws Exception {
     if (msg instanceof HttpResponse) {
       HttpResponse response = (HttpResponse) msg;
-      HttpStream request = inflights.peek();
-      if (request.handlers.statusHandler() != null) {
-        request.handlers.statusHandler().accept(response.status().code());
+      Http1xRequest request = inflights.peek();
+      if (request.statusHandler() != null) {
+        request.statusHandler().accept(response.status().code());
       }
-      if (request.handlers.headerHandler() != null) {
+      if (request.headerHandler() != null) {
         for (Map.Entry<String, String> header : response.headers()) {
-          request.handlers.headerHandler().accept(header.getKey(), header.getValue());
+          request.headerHandler().accept(header.getKey(), header.getValue());
         }
       }
     }
     if (msg instanceof HttpContent) {
-      HttpStream request = inflights.peek();
-      if (request.handlers.dataHandler() != null) {
-        request.handlers.dataHandler().accept(((HttpContent) msg).content());
+      Http1xRequest request = inflights.peek();
+      if (request.dataHandler() != null) {
+        request.dataHandler().accept(((HttpContent) msg).content());
       }
     }
     if (msg instanceof LastHttpContent) {
       size.decrementAndGet();
-      HttpStream request = inflights.poll();
+      Http1xRequest request = inflights.poll();
 
-      if (request.handlers.endHandler() != null) {
-        request.handlers.endHandler().run();
+      if (request.endHandler() != null) {
+        request.endHandler().run();
       }
+      client.releasedSlot(this);
     }
     super.channelRead(ctx, msg);
   }
 
+  /**
+   * Response to HEAD has no body even if it sends the content length.
+   */
+  boolean isHeadResponse() {
+    Http1xRequest request = inflights.peek();
+    return request != null && request.method == HttpMethod.HEAD;
+  }
+
   @Override
-  public HttpRequest request(HttpMethod method, String path, ByteBuf body) {
-    Http1xRequest request = new Http1xRequest(this, method, path, body);
+  public HttpRequest request(HttpMethod method, String path, byte[] encodedPath, ByteBuf body) {
+    Http1xRequest request = new Http1xRequest(this, method, path, encodedPath, body);
     size.incrementAndGet();
     return request;
   }
@@ -1,33 +1,92 @@
 package io.sailrocket.core.client.netty;
 
 
+import java.nio.charset.StandardCharsets;
+
 import io.netty.buffer.ByteBuf;
-import io.netty.buffer.Unpooled;
-import io.netty.handler.codec.http.DefaultFullHttpRequest;
-import io.netty.handler.codec.http.HttpVersion;
+import io.netty.buffer.ByteBufUtil;
+import io.netty.handler.codec.http.HttpHeaderNames;
 import io.sailrocket.api.http.HttpMethod;
 import io.sailrocket.api.http.HttpRequest;
 import io.sailrocket.core.client.AbstractHttpRequest;
 
-class Http1xRequest extends AbstractHttpRequest {
+/**
+ * Request is encoded directly into a pooled buffer rather than built as {@link io.netty.handler.codec.http.FullHttpRequest}
+ * and encoded by the codec. The request line prefix and everything from the protocol version up to the end
+ * of <code>Host</code> header are pre-encoded; only the path (unless it is pre-encoded, too) and headers are written
+ * for each request. The request itself is queued in the connection as the stream waiting for a response.
+ */
+class Http1xRequest extends AbstractHttpRequest implements Runnable {
+    private static final byte[][] REQUEST_LINE_PREFIXES = new byte[HttpMethod.values().length][];
+    private static final byte[] CONTENT_LENGTH = "content-length: ".getBytes(StandardCharsets.US_ASCII);
+    private static final short COLON_SP = (':' << 8) | ' ';
+    private static final short CRLF = ('\r' << 8) | '\n';
+
+    static {
+        for (HttpMethod method : HttpMethod.values()) {
+            REQUEST_LINE_PREFIXES[method.ordinal()] = (method.netty.name() + " ").getBytes(StandardCharsets.US_ASCII);
+        }
+    }
 
     private final Http1xConnection connection;
-    private final DefaultFullHttpRequest msg;
+    final HttpMethod method;
+    final ByteBuf buf;
+    final ByteBuf body;
+    private boolean hasContentLength;
 
-    Http1xRequest(Http1xConnection connection, HttpMethod method, String path, ByteBuf buf) {
+    Http1xRequest(Http1xConnection connection, HttpMethod method, String path, byte[] encodedPath, ByteBuf body) {
         this.connection = connection;
-        this.msg = new DefaultFullHttpRequest(HttpVersion.HTTP_1_1, method.netty, path, buf == null ? Unpooled.EMPTY_BUFFER : buf, false);
+        this.method = method;
+        this.body = body;
+        this.buf = connection.ctx.alloc().buffer();
+        buf.writeBytes(REQUEST_LINE_PREFIXES[method.ordinal()]);
+        if (encodedPath != null) {
+            buf.writeBytes(encodedPath);
+        } else {
+            ByteBufUtil.writeUtf8(buf, path);
+        }
+        buf.writeBytes(connection.client.requestLineSuffix);
     }
 
     @Override
     public HttpRequest putHeader(String name, String value) {
-      msg.headers().add(name, value);
+      if (!hasContentLength && HttpHeaderNames.CONTENT_LENGTH.contentEqualsIgnoreCase(name)) {
+        hasContentLength = true;
+      }
+      ByteBufUtil.writeAscii(buf, name);
+      buf.writeShort(COLON_SP);
+      ByteBufUtil.writeAscii(buf, value);
+      buf.writeShort(CRLF);
       return this;
     }
 
     @Override
     public void end() {
-      msg.headers().add("Host", connection.client.host + ":" + connection.client.port);
-      connection.ctx.executor().execute(connection.createStream(msg, this));
+      if (body != null && !hasContentLength) {
+        buf.writeBytes(CONTENT_LENGTH);
+        writeDecimal(buf, body.readableBytes());
+        buf.writeShort(CRLF);
+      }
+      buf.writeShort(CRLF);
+      if (connection.ctx.executor().inEventLoop()) {
+        run();
+      } else {
+        connection.ctx.executor().execute(this);
+      }
+    }
+
+    @Override
+    public void run() {
+      connection.write(this);
+    }
+
+    private static void writeDecimal(ByteBuf buf, int value) {
+      int divisor = 1;
+      while (divisor <= value / 10) {
+        divisor *= 10;
+      }
+      for (; divisor > 0; divisor /= 10) {
+        buf.writeByte('0' + value / divisor % 10);
+      }
     }
 }
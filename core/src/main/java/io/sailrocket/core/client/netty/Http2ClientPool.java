@@ -10,7 +10,6 @@ import io.netty.channel.ChannelInitializer;
 import io.netty.channel.ChannelOption;
 import io.netty.channel.ChannelPipeline;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.socket.nio.NioSocketChannel;
 import io.netty.handler.codec.http.DefaultFullHttpRequest;
 import io.netty.handler.codec.http.HttpClientCodec;
 import io.netty.handler.codec.http.HttpClientUpgradeHandler;
@@ -31,6 +30,7 @@ import io.netty.handler.ssl.ApplicationProtocolNegotiationHandler;
 import io.netty.handler.ssl.SslContext;
 
 import java.net.InetSocketAddress;
+import java.util.Map;
 import java.util.function.BiConsumer;
 
 /**
@@ -54,13 +54,36 @@ class Http2ClientPool extends HttpClientPoolImpl {
     return headers("POST", "https", path);
   }
 
+  // default connection window as in the HTTP/2 specification
+  private static final int DEFAULT_WINDOW_SIZE = 65535;
+
   final Http2Settings settings = new Http2Settings();
+  final String scheme;
   private final String authority;
+  boolean priorKnowledge;
+  // use a very large connection window by default
+  int connectionWindowSize = 1073676288;
   private final StatisticsHandler statisticsHandler = new StatisticsHandler();
 
-  Http2ClientPool(EventLoopGroup eventLoopGroup, SslContext sslContext, int size, int port, String host, int maxConcurrentStream) {
-    super(eventLoopGroup, sslContext, size, port, host, maxConcurrentStream);
+  Http2ClientPool(EventLoopGroup eventLoopGroup, Map<ChannelOption<?>, Object> socketOptions, SslContext sslContext, int size, int port, String host, int maxConcurrentStream) {
+    super(eventLoopGroup, socketOptions, sslContext, size, port, host, maxConcurrentStream);
     this.authority = host + ":" + port;
+    this.scheme = sslContext == null ? "http" : "https";
+  }
+
+  /**
+   * @param priorKnowledge Start cleartext connections with HTTP/2 preface rather than HTTP/1.1 upgrade.
+   * @param initialWindowSize Flow-control window of each stream announced to the server; zero keeps the default.
+   * @param connectionWindowSize Flow-control window of the whole connection; zero keeps the default.
+   */
+  void http2Settings(boolean priorKnowledge, int initialWindowSize, int connectionWindowSize) {
+    this.priorKnowledge = priorKnowledge;
+    if (initialWindowSize > 0) {
+      settings.initialWindowSize(initialWindowSize);
+    }
+    if (connectionWindowSize > 0) {
+      this.connectionWindowSize = connectionWindowSize;
+    }
   }
 
   class TestClientHandler extends Http2ConnectionHandler {
@@ -95,8 +118,9 @@ class Http2ClientPool extends HttpClientPoolImpl {
       if (!handled) {
         handled = true;
         Http2Connection conn = new Http2Connection(ctx, connection(), encoder(), decoder(), Http2ClientPool.this);
-        // Use a very large stream window size
-        conn.incrementConnectionWindowSize(1073676288 - 65535);
+        if (connectionWindowSize > DEFAULT_WINDOW_SIZE) {
+          conn.incrementConnectionWindowSize(connectionWindowSize - DEFAULT_WINDOW_SIZE);
+        }
         requestHandler.accept(conn, null);
       }
     }
@@ -146,6 +170,9 @@ class Http2ClientPool extends HttpClientPoolImpl {
               throw new IllegalStateException("unknown protocol: " + protocol);
             }
           });
+        } else if (priorKnowledge) {
+          pipeline.addLast(statisticsHandler);
+          pipeline.addLast(clientHandlerBuilder.build(new DefaultHttp2Connection(false)));
         } else {
           pipeline.addLast(statisticsHandler);
           io.netty.handler.codec.http2.Http2Connection connection = new DefaultHttp2Connection(false);
@@ -173,12 +200,8 @@ class Http2ClientPool extends HttpClientPoolImpl {
 
 
   public void connect(int port, String host, BiConsumer<HttpConnection, Throwable> handler) {
-    Bootstrap bootstrap = new Bootstrap();
-    bootstrap.channel(NioSocketChannel.class);
-    bootstrap.group(eventLoopGroup);
+    Bootstrap bootstrap = bootstrap();
 //    bootstrap.option(ChannelOption.ALLOCATOR, new PooledByteBufAllocator());
-    bootstrap.option(ChannelOption.SO_KEEPALIVE, true);
-    bootstrap.option(ChannelOption.SO_REUSEADDR, true);
     bootstrap.handler(channelInitializer(handler));
     ChannelFuture fut = bootstrap.connect(new InetSocketAddress(host, port));
     fut.addListener(v -> {
@@ -101,6 +101,7 @@ class Http2Connection extends Http2EventAdapter implements HttpConnection {
           stream.ended = true;
           stream.handlers.endHandler().run();
         }
+        client.releasedSlot(Http2Connection.this);
       }
     };
 
@@ -158,7 +159,8 @@ class Http2Connection extends Http2EventAdapter implements HttpConnection {
     });
   }
 
-  public HttpRequest request(HttpMethod method, String path, ByteBuf body) {
+  public HttpRequest request(HttpMethod method, String path, byte[] encodedPath, ByteBuf body) {
+    // path goes into a header, HPACK encoder works with strings
     numStreams.incrementAndGet();
     return new Http2Request(client, this, method, path, body);
   }
@@ -17,7 +17,7 @@ class Http2Request extends AbstractHttpRequest {
 
   Http2Request(Http2ClientPool client, Http2Connection conn, HttpMethod method, String path, ByteBuf buf) {
     this.conn = conn;
-    this.headers = client.headers(method.name(), "https", path);
+    this.headers = client.headers(method.name(), client.scheme, path);
     this.body = buf;
   }
 
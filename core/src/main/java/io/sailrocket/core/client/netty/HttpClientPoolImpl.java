@@ -1,6 +1,8 @@
 package io.sailrocket.core.client.netty;
 
+import io.netty.bootstrap.Bootstrap;
 import io.netty.buffer.ByteBuf;
+import io.netty.channel.ChannelOption;
 import io.netty.handler.ssl.ApplicationProtocolConfig;
 import io.netty.handler.ssl.ApplicationProtocolNames;
 import io.netty.handler.ssl.OpenSsl;
@@ -18,10 +20,20 @@ import io.netty.channel.EventLoop;
 import io.netty.channel.EventLoopGroup;
 import io.netty.handler.codec.http2.Http2SecurityUtil;
 import io.netty.handler.ssl.util.InsecureTrustManagerFactory;
+import io.vertx.core.AsyncResult;
+import io.vertx.core.Future;
+import io.vertx.core.Handler;
 import io.vertx.core.http.HttpVersion;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+import org.HdrHistogram.AbstractHistogram;
+import org.HdrHistogram.Histogram;
 
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
@@ -31,8 +43,14 @@ import java.util.function.Consumer;
  * @author <a href="mailto:julien@julienviet.com">Julien Viet</a>
  */
 abstract class HttpClientPoolImpl implements HttpClientPool {
+    private static final Logger log = LoggerFactory.getLogger(HttpClientPoolImpl.class);
+    // connects keep failing for that long (e.g. the server is not up yet) before the pool gives up; the window
+    // starts again when a connection is closed or the pool is replenished
+    private static final long MAX_CONNECT_FAILURE_NANOS = TimeUnit.SECONDS.toNanos(30);
+    private static final long MAX_CONNECT_BACKOFF_MILLIS = 100;
+    private static final int DEFAULT_CONNECT_PARALLELISM_PER_EXECUTOR = 16;
 
-    static HttpClientPool create(EventLoopGroup eventLoopGroup, HttpVersion protocol, boolean ssl, int size, int port, String host, int maxConcurrentStream) throws Exception {
+    static HttpClientPoolImpl create(EventLoopGroup eventLoopGroup, Map<ChannelOption<?>, Object> socketOptions, HttpVersion protocol, boolean ssl, int size, int port, String host, int maxConcurrentStream) throws Exception {
         SslContext sslContext = null;
         if (ssl) {
             SslProvider provider = OpenSsl.isAlpnSupported() ? SslProvider.OPENSSL : SslProvider.JDK;
@@ -56,9 +74,9 @@ abstract class HttpClientPoolImpl implements HttpClientPool {
                     .build();
         }
         if (protocol == HttpVersion.HTTP_2) {
-            return new Http2ClientPool(eventLoopGroup, sslContext, size, port, host, maxConcurrentStream);
+            return new Http2ClientPool(eventLoopGroup, socketOptions, sslContext, size, port, host, maxConcurrentStream);
         } else {
-            return new Http1XClientPool(eventLoopGroup, sslContext, size, port, host, maxConcurrentStream);
+            return new Http1XClientPool(eventLoopGroup, socketOptions, sslContext, size, port, host, maxConcurrentStream);
         }
     }
 
@@ -67,82 +85,253 @@ abstract class HttpClientPoolImpl implements HttpClientPool {
     final int port;
     final String host;
     final EventLoopGroup eventLoopGroup;
+    private final Map<ChannelOption<?>, Object> socketOptions;
     private final EventLoop scheduler;
     final SslContext sslContext;
-    //TODO: replace with fast connection pool
     private final ArrayList<HttpConnection> all = new ArrayList<>();
-    private long index;
+    // The map is populated in constructor and read-only afterwards; each entry is accessed only from its executor
+    private final Map<EventExecutor, ExecutorConnections> byExecutor = new IdentityHashMap<>();
     private int count; // The estimated count : created + creating
-    private Consumer<Void> startedHandler;
+    private int connecting;
+    private int connectFailures;
+    private long failingSince;
+    private double connectRate;
+    private int connectParallelism;
+    private double connectTokens;
+    private long lastRefillNanos;
+    private boolean connectScheduled;
+    private long startNanos;
+    private int reportedDecile;
+    private final Histogram connectTimes = new Histogram(2);
+    // connect times not collected into statistics yet
+    private final Histogram intervalConnectTimes = new Histogram(2);
+    private Handler<AsyncResult<Void>> startedHandler;
     private boolean shutdown;
+    // event loops are owned by another pool
+    private boolean sharedEventLoopGroup;
 
-    HttpClientPoolImpl(EventLoopGroup eventLoopGroup, SslContext sslContext, int size, int port, String host, int maxConcurrentStream) {
+    HttpClientPoolImpl(EventLoopGroup eventLoopGroup, Map<ChannelOption<?>, Object> socketOptions, SslContext sslContext, int size, int port, String host, int maxConcurrentStream) {
         this.maxConcurrentStream = maxConcurrentStream;
         this.eventLoopGroup = eventLoopGroup;
+        this.socketOptions = socketOptions;
         this.sslContext = sslContext;
         this.size = size;
         this.port = port;
         this.host = host;
         this.scheduler = eventLoopGroup.next();
+        for (EventExecutor executor : eventLoopGroup) {
+            byExecutor.put(executor, new ExecutorConnections(executor));
+        }
+        connectSettings(0, 0);
+    }
+
+    /**
+     * @return Bootstrap with the channel type matching the event loop group and socket options set.
+     */
+    @SuppressWarnings("unchecked")
+    Bootstrap bootstrap() {
+        Bootstrap bootstrap = new Bootstrap();
+        bootstrap.channel(Transports.socketChannel(eventLoopGroup));
+        bootstrap.group(eventLoopGroup);
+        bootstrap.option(ChannelOption.SO_KEEPALIVE, true);
+        bootstrap.option(ChannelOption.SO_REUSEADDR, true);
+        for (Map.Entry<ChannelOption<?>, Object> option : socketOptions.entrySet()) {
+            bootstrap.option((ChannelOption<Object>) option.getKey(), option.getValue());
+        }
+        return bootstrap;
+    }
+
+    /**
+     * @param rate Maximum rate of new connections per second; zero or negative means unlimited.
+     * @param parallelism Maximum number of connections being established at the same time; zero or negative
+     *                    means default.
+     */
+    void connectSettings(double rate, int parallelism) {
+        this.connectRate = rate;
+        this.connectParallelism = parallelism > 0 ? parallelism : DEFAULT_CONNECT_PARALLELISM_PER_EXECUTOR * byExecutor.size();
     }
 
-    public void start(Consumer<Void> completionHandler) {
+    void sharedEventLoopGroup(boolean shared) {
+        this.sharedEventLoopGroup = shared;
+    }
+
+    @Override
+    public void start(Handler<AsyncResult<Void>> completionHandler) {
         synchronized (this) {
             if (startedHandler != null) {
                 throw new IllegalStateException();
             }
             startedHandler = completionHandler;
+            startNanos = lastRefillNanos = System.nanoTime();
+            connectTokens = 1;
+        }
+        checkCreateConnections();
+    }
+
+    @Override
+    public void replenish() {
+        synchronized (this) {
+            resetConnectFailures();
         }
-        checkCreateConnections(0);
+        checkCreateConnections();
     }
 
-    private synchronized void checkCreateConnections(int retry) {
+    // must be called when holding the lock
+    private void resetConnectFailures() {
+        connectFailures = 0;
+        failingSince = 0;
+    }
 
-        //TODO:: configurable
-        if (retry > 100) {
-            throw new IllegalStateException();
+    /**
+     * Starts as many connections as the parallelism and rate allow; connects are distributed over all event loops
+     * by the bootstrap. When the rate is exhausted single check is scheduled for the moment it refills.
+     */
+    private synchronized void checkCreateConnections() {
+        if (shutdown || failingSince != 0 && System.nanoTime() - failingSince > MAX_CONNECT_FAILURE_NANOS) {
+            return;
         }
-        if (count < size) {
-            count++;
-            connect(port, host, (conn, err) -> {
-                if (err == null) {
-                    Consumer<Void> handler = null;
-                    synchronized (HttpClientPoolImpl.this) {
-                        all.add(conn);
-                        if (count < size) {
-                            checkCreateConnections(0);
-                        } else {
-                            if (count() == size) {
-                                handler = startedHandler;
-                                startedHandler = null;
+        if (connectRate > 0) {
+            long now = System.nanoTime();
+            connectTokens = Math.min(connectParallelism, connectTokens + (now - lastRefillNanos) * connectRate / TimeUnit.SECONDS.toNanos(1));
+            lastRefillNanos = now;
+        }
+        while (count < size && connecting < connectParallelism) {
+            if (connectRate > 0) {
+                if (connectTokens < 1) {
+                    if (!connectScheduled) {
+                        connectScheduled = true;
+                        long delay = (long) Math.ceil((1 - connectTokens) * TimeUnit.SECONDS.toNanos(1) / connectRate);
+                        scheduler.schedule(() -> {
+                            synchronized (HttpClientPoolImpl.this) {
+                                connectScheduled = false;
                             }
-                        }
+                            checkCreateConnections();
+                        }, delay, TimeUnit.NANOSECONDS);
                     }
+                    return;
+                }
+                connectTokens -= 1;
+            }
+            count++;
+            connecting++;
+            long connectStart = System.nanoTime();
+            connect(port, host, (conn, err) -> connected(conn, err, connectStart));
+        }
+    }
 
-                    conn.context().channel().closeFuture().addListener(v -> {
-                        synchronized (HttpClientPoolImpl.this) {
-                            count--;
-                            all.remove(conn);
-                        }
-                        if (!shutdown) {
-                            checkCreateConnections(0);
-                        }
-                    });
-
-                    if (handler != null) {
-                        handler.accept(null);
-                    }
+    private void connected(HttpConnection conn, Throwable err, long connectStart) {
+        if (err != null) {
+            Handler<AsyncResult<Void>> handler = null;
+            synchronized (this) {
+                count--;
+                connecting--;
+                long now = System.nanoTime();
+                if (connectFailures++ == 0) {
+                    failingSince = now;
+                }
+                if (now - failingSince > MAX_CONNECT_FAILURE_NANOS) {
+                    log.error("Giving up connecting to {}:{} after {} consecutive failures", err, host, port, connectFailures);
+                    handler = startedHandler;
+                    startedHandler = null;
                 } else {
-                    synchronized (HttpClientPoolImpl.this) {
-                        count--;
+                    log.debug("Failed to connect to {}:{}", err, host, port);
+                    // back off instead of retrying in a tight loop; single retry is enough for all failed connects
+                    if (!connectScheduled) {
+                        connectScheduled = true;
+                        scheduler.schedule(() -> {
+                            synchronized (HttpClientPoolImpl.this) {
+                                connectScheduled = false;
+                            }
+                            checkCreateConnections();
+                        }, Math.min(2L * connectFailures, MAX_CONNECT_BACKOFF_MILLIS), TimeUnit.MILLISECONDS);
                     }
-                    checkCreateConnections(retry + 1);
                 }
-            });
-            scheduler.schedule(() -> {
-                checkCreateConnections(retry);
-            }, 2, TimeUnit.MILLISECONDS);
+            }
+            if (handler != null) {
+                handler.handle(Future.failedFuture(err));
+            }
+            return;
+        }
+        long connectTime = System.nanoTime() - connectStart;
+        Handler<AsyncResult<Void>> handler = null;
+        runOnExecutor(conn, connections -> connections.add(conn));
+        synchronized (this) {
+            connecting--;
+            resetConnectFailures();
+            connectTimes.recordValue(connectTime);
+            intervalConnectTimes.recordValue(connectTime);
+            all.add(conn);
+            reportProgress();
+            if (count() == size) {
+                handler = startedHandler;
+                startedHandler = null;
+            }
+        }
+
+        conn.context().channel().closeFuture().addListener(v -> {
+            synchronized (HttpClientPoolImpl.this) {
+                count--;
+                all.remove(conn);
+                // the server was reachable until now, failures to replace the connection are counted from scratch
+                resetConnectFailures();
+            }
+            runOnExecutor(conn, connections -> connections.list.remove(conn));
+            if (!shutdown) {
+                checkCreateConnections();
+            }
+        });
+
+        checkCreateConnections();
+        if (handler != null) {
+            handler.handle(Future.succeededFuture());
+        }
+    }
+
+    // must be called when holding the lock
+    private void reportProgress() {
+        int established = all.size();
+        int decile = (int) ((long) established * 10 / size);
+        if (decile <= reportedDecile) {
+            return;
+        }
+        reportedDecile = decile;
+        if (established < size) {
+            log.info("Established {}/{} connections to {}:{}", established, size, host, port);
+        } else {
+            log.info("Established all {} connections to {}:{} in {} ms; connect time p50 {} us, p99 {} us, max {} us",
+                  size, host, port, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos),
+                  TimeUnit.NANOSECONDS.toMicros(connectTimes.getValueAtPercentile(50)),
+                  TimeUnit.NANOSECONDS.toMicros(connectTimes.getValueAtPercentile(99)),
+                  TimeUnit.NANOSECONDS.toMicros(connectTimes.getMaxValue()));
+        }
+    }
+
+    @Override
+    public synchronized void addIntervalConnectTimesTo(AbstractHistogram target) {
+        target.add(intervalConnectTimes);
+        intervalConnectTimes.reset();
+    }
+
+    private void runOnExecutor(HttpConnection conn, Consumer<ExecutorConnections> action) {
+        EventExecutor executor = conn.context().executor();
+        ExecutorConnections connections = byExecutor.get(executor);
+        if (connections == null) {
+            throw new IllegalStateException("Connection " + conn + " is not handled by any executor of this pool");
+        }
+        if (executor.inEventLoop()) {
+            action.accept(connections);
+        } else {
+            executor.execute(() -> action.accept(connections));
+        }
+    }
 
+    /**
+     * Invoked by the connection on its executor when it can accept another request.
+     */
+    void releasedSlot(HttpConnection conn) {
+        ExecutorConnections connections = byExecutor.get(conn.context().executor());
+        if (connections != null) {
+            connections.wakeUp(1);
         }
     }
 
@@ -156,20 +345,94 @@ abstract class HttpClientPoolImpl implements HttpClientPool {
         return all.size();
     }
 
+    @Override
+    public boolean isConnectionAvailable(EventExecutor executor) {
+        ExecutorConnections connections = byExecutor.get(executor);
+        if (connections == null) {
+            return false;
+        }
+        ArrayList<HttpConnection> list = connections.list;
+        for (int i = 0; i < list.size(); i++) {
+            if (list.get(i).isAvailable()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void registerWaiter(EventExecutor executor, Runnable waiter) {
+        ExecutorConnections connections = byExecutor.get(executor);
+        if (connections == null) {
+            throw new IllegalArgumentException("Executor " + executor + " does not belong to this pool");
+        }
+        connections.waiting.add(waiter);
+    }
+
+    @Override
+    public void unregisterWaiter(EventExecutor executor, Runnable waiter) {
+        ExecutorConnections connections = byExecutor.get(executor);
+        if (connections == null) {
+            return;
+        }
+        if (executor.inEventLoop()) {
+            connections.waiting.remove(waiter);
+        } else {
+            executor.execute(() -> connections.waiting.remove(waiter));
+        }
+    }
+
     @Override
     public HttpRequest request(EventExecutor executor, HttpMethod method, String path, ByteBuf body) {
-        return choose(executor).request(method, path, body);
+        return choose(executor).request(method, path, null, body);
+    }
+
+    @Override
+    public HttpRequest request(EventExecutor executor, HttpMethod method, String path, byte[] encodedPath, ByteBuf body) {
+        return choose(executor).request(method, path, encodedPath, body);
     }
 
-    //TODO:: delegate to a connection pool
-    private synchronized HttpConnection choose(EventExecutor executor) {
-        for (int i = 0; i < all.size(); i++) {
-            HttpConnection con = all.get(i);
-            if (con.isAvailable() && con.context().executor() == executor) {
-                return con;
+    @Override
+    public int inflight(EventExecutor executor) {
+        ExecutorConnections connections = byExecutor.get(executor);
+        if (connections == null) {
+            return 0;
+        }
+        ArrayList<HttpConnection> list = connections.list;
+        int inflight = 0;
+        for (int i = 0; i < list.size(); i++) {
+            inflight += list.get(i).inflight();
+        }
+        return inflight;
+    }
+
+    /**
+     * Must be called from the executor thread; picks the least loaded connection owned by this executor.
+     * Responses are matched to requests by identity so concurrent requests of a session can use different
+     * connections.
+     */
+    private HttpConnection choose(EventExecutor executor) {
+        ExecutorConnections connections = byExecutor.get(executor);
+        HttpConnection best = null;
+        if (connections != null) {
+            ArrayList<HttpConnection> list = connections.list;
+            int bestInflight = Integer.MAX_VALUE;
+            for (int i = 0; i < list.size(); i++) {
+                HttpConnection con = list.get(i);
+                int inflight = con.inflight();
+                if (inflight < bestInflight && con.isAvailable()) {
+                    best = con;
+                    bestInflight = inflight;
+                    if (inflight == 0) {
+                        break;
+                    }
+                }
             }
         }
-        throw new NoSuchElementException();
+        if (best == null) {
+            throw new NoSuchElementException("No connection available, check isConnectionAvailable() first.");
+        }
+        return best;
     }
 
     public abstract void resetStatistics();
@@ -187,7 +450,9 @@ abstract class HttpClientPoolImpl implements HttpClientPool {
             conn.context().close();
             conn.context().flush();
         });
-        eventLoopGroup.shutdownGracefully(0, 10, TimeUnit.SECONDS);
+        if (!sharedEventLoopGroup) {
+            eventLoopGroup.shutdownGracefully(0, 10, TimeUnit.SECONDS);
+        }
     }
 
     @Override
@@ -195,4 +460,47 @@ abstract class HttpClientPoolImpl implements HttpClientPool {
         return eventLoopGroup;
     }
 
+    private class ExecutorConnections {
+        final EventExecutor executor;
+        final ArrayList<HttpConnection> list = new ArrayList<>();
+        final ArrayDeque<Runnable> waiting = new ArrayDeque<>();
+        final Runnable wakeUpTask = this::wakeUpPending;
+        int pendingSlots;
+
+        ExecutorConnections(EventExecutor executor) {
+            this.executor = executor;
+        }
+
+        void add(HttpConnection conn) {
+            list.add(conn);
+            wakeUp(maxConcurrentStream);
+        }
+
+        /**
+         * Waiters are not run inline: this is called from the handlers of a connection and the waiters
+         * would execute session code from within them. Wake-ups are coalesced into a single task.
+         */
+        void wakeUp(int slots) {
+            if (waiting.isEmpty()) {
+                return;
+            }
+            if (pendingSlots == 0) {
+                executor.execute(wakeUpTask);
+            }
+            pendingSlots += slots;
+        }
+
+        private void wakeUpPending() {
+            int slots = pendingSlots;
+            pendingSlots = 0;
+            for (int i = 0; i < slots; ++i) {
+                Runnable waiter = waiting.poll();
+                if (waiter == null) {
+                    return;
+                }
+                waiter.run();
+            }
+        }
+    }
+
 }
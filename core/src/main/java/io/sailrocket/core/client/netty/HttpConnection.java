@@ -12,7 +12,10 @@ public interface HttpConnection {
 
   int inflight();
 
-  HttpRequest request(HttpMethod method, String path, ByteBuf body);
+  /**
+   * @param encodedPath Path encoded in UTF-8 if it is known in advance, or <code>null</code>.
+   */
+  HttpRequest request(HttpMethod method, String path, byte[] encodedPath, ByteBuf body);
 
   ChannelHandlerContext context();
 
@@ -2,10 +2,14 @@ package io.sailrocket.core.client.netty;
 
 import io.sailrocket.api.connection.HttpClientPool;
 import io.sailrocket.api.connection.HttpClientPoolFactory;
+import io.sailrocket.api.connection.Transport;
 import io.netty.channel.EventLoopGroup;
-import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.util.concurrent.EventExecutorGroup;
 import io.vertx.core.http.HttpVersion;
 
+import java.util.HashMap;
+import java.util.Map;
+
 public class NettyHttpClientPoolFactory implements HttpClientPoolFactory {
 
   private int threads;
@@ -15,6 +19,13 @@ public class NettyHttpClientPoolFactory implements HttpClientPoolFactory {
   private int port;
   private String host;
   private int concurrency;
+  private Transport transport = Transport.NIO;
+  private double connectRate;
+  private int connectParallelism;
+  private boolean http2PriorKnowledge;
+  private int http2InitialWindowSize;
+  private int http2ConnectionWindowSize;
+  private final Map<String, String> socketOptions = new HashMap<>();
 
   @Override
   public HttpClientPoolFactory threads(int count) {
@@ -53,9 +64,69 @@ public class NettyHttpClientPoolFactory implements HttpClientPoolFactory {
     return this;
   }
 
+  @Override
+  public HttpClientPoolFactory transport(Transport transport) {
+    this.transport = transport;
+    return this;
+  }
+
+  @Override
+  public HttpClientPoolFactory socketOption(String name, String value) {
+    Transports.checkSocketOption(name, value);
+    socketOptions.put(name, value);
+    return this;
+  }
+
+  @Override
+  public HttpClientPoolFactory connectRate(double connectionsPerSecond) {
+    this.connectRate = connectionsPerSecond;
+    return this;
+  }
+
+  @Override
+  public HttpClientPoolFactory connectParallelism(int parallelism) {
+    this.connectParallelism = parallelism;
+    return this;
+  }
+
+  @Override
+  public HttpClientPoolFactory http2PriorKnowledge(boolean priorKnowledge) {
+    this.http2PriorKnowledge = priorKnowledge;
+    return this;
+  }
+
+  @Override
+  public HttpClientPoolFactory http2InitialWindowSize(int windowSize) {
+    this.http2InitialWindowSize = windowSize;
+    return this;
+  }
+
+  @Override
+  public HttpClientPoolFactory http2ConnectionWindowSize(int windowSize) {
+    this.http2ConnectionWindowSize = windowSize;
+    return this;
+  }
+
   @Override
   public HttpClientPool build() throws Exception {
-    EventLoopGroup workerGroup = new NioEventLoopGroup(this.threads);
-    return HttpClientPoolImpl.create(workerGroup, protocol, ssl, size, port, host, concurrency);
+    return build(Transports.eventLoopGroup(transport, this.threads), false);
+  }
+
+  @Override
+  public HttpClientPool build(EventExecutorGroup executors) throws Exception {
+    if (!(executors instanceof EventLoopGroup)) {
+      throw new IllegalArgumentException("Netty pool requires event loops, got " + executors);
+    }
+    return build((EventLoopGroup) executors, true);
+  }
+
+  private HttpClientPool build(EventLoopGroup workerGroup, boolean shared) throws Exception {
+    HttpClientPoolImpl pool = HttpClientPoolImpl.create(workerGroup, Transports.socketOptions(socketOptions), protocol, ssl, size, port, host, concurrency);
+    pool.connectSettings(connectRate, connectParallelism);
+    pool.sharedEventLoopGroup(shared);
+    if (pool instanceof Http2ClientPool) {
+      ((Http2ClientPool) pool).http2Settings(http2PriorKnowledge, http2InitialWindowSize, http2ConnectionWindowSize);
+    }
+    return pool;
   }
 }
@@ -0,0 +1,101 @@
+package io.sailrocket.core.client.netty;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.HashMap;
+import java.util.Map;
+
+import io.netty.channel.ChannelOption;
+import io.netty.channel.EventLoopGroup;
+import io.netty.channel.epoll.Epoll;
+import io.netty.channel.epoll.EpollChannelOption;
+import io.netty.channel.epoll.EpollEventLoopGroup;
+import io.netty.channel.epoll.EpollSocketChannel;
+import io.netty.channel.nio.NioEventLoopGroup;
+import io.netty.channel.socket.SocketChannel;
+import io.netty.channel.socket.nio.NioSocketChannel;
+import io.sailrocket.api.config.BenchmarkDefinitionException;
+import io.sailrocket.api.connection.Transport;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+/**
+ * Selection of the Netty transport and resolution of socket options by name.
+ */
+final class Transports {
+   private static final Logger log = LoggerFactory.getLogger(Transports.class);
+   // options of other transports are ignored (with a warning) by the bootstrap
+   private static final Class<?>[] OPTION_CLASSES = { ChannelOption.class, EpollChannelOption.class };
+
+   private Transports() {}
+
+   static EventLoopGroup eventLoopGroup(Transport transport, int threads) {
+      if (transport == Transport.EPOLL) {
+         if (Epoll.isAvailable()) {
+            return new EpollEventLoopGroup(threads);
+         }
+         log.warn("Epoll transport is not available, falling back to NIO: {}", Epoll.unavailabilityCause());
+      }
+      return new NioEventLoopGroup(threads);
+   }
+
+   static Class<? extends SocketChannel> socketChannel(EventLoopGroup eventLoopGroup) {
+      return eventLoopGroup instanceof EpollEventLoopGroup ? EpollSocketChannel.class : NioSocketChannel.class;
+   }
+
+   static Map<ChannelOption<?>, Object> socketOptions(Map<String, String> options) {
+      Map<ChannelOption<?>, Object> resolved = new HashMap<>();
+      for (Map.Entry<String, String> entry : options.entrySet()) {
+         Field field = optionField(entry.getKey());
+         try {
+            resolved.put((ChannelOption<?>) field.get(null), parseValue(field, entry.getValue()));
+         } catch (IllegalAccessException e) {
+            throw new BenchmarkDefinitionException("Cannot access socket option " + entry.getKey(), e);
+         }
+      }
+      return resolved;
+   }
+
+   /**
+    * Validates the option without building it.
+    */
+   static void checkSocketOption(String name, String value) {
+      parseValue(optionField(name), value);
+   }
+
+   private static Field optionField(String name) {
+      for (Class<?> clazz : OPTION_CLASSES) {
+         try {
+            Field field = clazz.getField(name);
+            if (Modifier.isStatic(field.getModifiers()) && ChannelOption.class.isAssignableFrom(field.getType())) {
+               return field;
+            }
+         } catch (NoSuchFieldException e) {
+            // try next class
+         }
+      }
+      throw new BenchmarkDefinitionException("Unknown socket option " + name);
+   }
+
+   private static Object parseValue(Field field, String value) {
+      Type type = field.getGenericType();
+      Type valueType = type instanceof ParameterizedType ? ((ParameterizedType) type).getActualTypeArguments()[0] : null;
+      try {
+         if (valueType == Boolean.class) {
+            if (!"true".equalsIgnoreCase(value) && !"false".equalsIgnoreCase(value)) {
+               throw new BenchmarkDefinitionException("Socket option " + field.getName() + " expects boolean value: " + value);
+            }
+            return Boolean.parseBoolean(value);
+         } else if (valueType == Integer.class) {
+            return Integer.parseInt(value);
+         } else if (valueType == Long.class) {
+            return Long.parseLong(value);
+         }
+      } catch (NumberFormatException e) {
+         throw new BenchmarkDefinitionException("Socket option " + field.getName() + " expects numeric value: " + value, e);
+      }
+      throw new BenchmarkDefinitionException("Socket option " + field.getName() + " cannot be set: unsupported type " + valueType);
+   }
+}
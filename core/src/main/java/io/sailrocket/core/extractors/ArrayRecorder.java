@@ -5,22 +5,23 @@ import java.nio.charset.StandardCharsets;
 import io.netty.buffer.ByteBuf;
 import io.sailrocket.api.session.Session;
 import io.sailrocket.core.session.ObjectVar;
+import io.sailrocket.core.session.VarAccess;
 import io.sailrocket.core.api.ResourceUtilizer;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 
 public class ArrayRecorder implements Session.Processor, ResourceUtilizer {
    private static final Logger log = LoggerFactory.getLogger(ArrayRecorder.class);
-   private final String var;
+   private final VarAccess var;
    private final int maxSize;
 
    public ArrayRecorder(String var, int maxSize) {
-      this.var = var;
+      this.var = new VarAccess(var);
       this.maxSize = maxSize;
    }
 
    public void before(Session session) {
-      ObjectVar[] array = (ObjectVar[]) session.activate(var);
+      ObjectVar[] array = (ObjectVar[]) var.activate(session);
       for (int i = 0; i < array.length; ++i) {
          array[i].unset();
       }
@@ -29,7 +30,7 @@ public class ArrayRecorder implements Session.Processor, ResourceUtilizer {
    @Override
    public void process(Session session, ByteBuf data, int offset, int length, boolean isLastPart) {
       assert isLastPart;
-      ObjectVar[] array = (ObjectVar[]) session.activate(var);
+      ObjectVar[] array = (ObjectVar[]) var.activate(session);
       String value = data.toString(offset, length, StandardCharsets.UTF_8);
       for (int i = 0; i < array.length; ++i) {
          if (array[i].isSet()) continue;
@@ -41,8 +42,8 @@ public class ArrayRecorder implements Session.Processor, ResourceUtilizer {
 
    @Override
    public void reserve(Session session) {
-      session.declare(var);
-      session.setObject(var, ObjectVar.newArray(session, maxSize));
-      session.unset(var);
+      var.declare(session);
+      var.setObject(session, ObjectVar.newArray(session, maxSize));
+      var.unset(session);
    }
 }
@@ -3,28 +3,29 @@ package io.sailrocket.core.extractors;
 import io.netty.buffer.ByteBuf;
 import io.sailrocket.api.session.Session;
 import io.sailrocket.core.api.ResourceUtilizer;
+import io.sailrocket.core.session.VarAccess;
 
 public class CountRecorder implements Session.Processor, ResourceUtilizer {
-   private final String var;
+   private final VarAccess var;
 
    public CountRecorder(String var) {
-      this.var = var;
+      this.var = new VarAccess(var);
    }
 
    @Override
    public void before(Session session) {
-      session.setInt(var, 0);
+      var.setInt(session, 0);
    }
 
    @Override
    public void process(Session session, ByteBuf data, int offset, int length, boolean isLastPart) {
       if (isLastPart) {
-         session.addToInt(var, 1);
+         var.addToInt(session, 1);
       }
    }
 
    @Override
    public void reserve(Session session) {
-      session.declareInt(var);
+      var.declareInt(session);
    }
 }
\ No newline at end of file
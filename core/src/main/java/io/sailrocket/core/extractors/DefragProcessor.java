@@ -4,13 +4,15 @@ import io.netty.buffer.ByteBuf;
 import io.netty.buffer.CompositeByteBuf;
 import io.sailrocket.api.session.Session;
 import io.sailrocket.core.api.ResourceUtilizer;
+import io.sailrocket.core.session.RequestResourceAccess;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 
-public class DefragProcessor implements Session.Processor, ResourceUtilizer, Session.ResourceKey<DefragProcessor.Context> {
+public class DefragProcessor implements Session.Processor, ResourceUtilizer {
    private static final Logger log = LoggerFactory.getLogger(DefragProcessor.class);
 
    private final Session.Processor delegate;
+   private final RequestResourceAccess<Context> context = new RequestResourceAccess<>();
 
    public DefragProcessor(Session.Processor delegate) {
       this.delegate = delegate;
@@ -23,7 +25,7 @@ public class DefragProcessor implements Session.Processor, ResourceUtilizer, Ses
 
    @Override
    public void process(Session session, ByteBuf data, int offset, int length, boolean isLastPart) {
-      Context ctx = session.getResource(this);
+      Context ctx = context.get(session);
       if (isLastPart && !ctx.isBuffering()) {
          delegate.process(session, data, offset, length, true);
          return;
@@ -41,11 +43,10 @@ public class DefragProcessor implements Session.Processor, ResourceUtilizer, Ses
 
    @Override
    public void reserve(Session session) {
-      session.declare(this);
       // Note: contrary to the recommended pattern the Context won't reserve all objects ahead, the CompositeByteBuf
       // will be allocated only if needed (and only once). This is necessary since we don't know the type of allocator
       // that is used for the received buffers ahead.
-      session.declareResource(this, new Context());
+      context.declare(session, Context::new);
       if (delegate instanceof ResourceUtilizer) {
          ((ResourceUtilizer) delegate).reserve(session);
       }
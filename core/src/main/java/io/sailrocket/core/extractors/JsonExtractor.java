@@ -8,13 +8,15 @@ import io.netty.buffer.ByteBuf;
 import io.sailrocket.api.http.BodyExtractor;
 import io.sailrocket.api.session.Session;
 import io.sailrocket.core.api.ResourceUtilizer;
+import io.sailrocket.core.session.RequestResourceAccess;
 
-public class JsonExtractor implements BodyExtractor, ResourceUtilizer, Session.ResourceKey<JsonExtractor.Context> {
+public class JsonExtractor implements BodyExtractor, ResourceUtilizer {
    private static final int MAX_PARTS = 16;
 
    private final String path;
    private final Session.Processor processor;
    private final Selector[] selectors;
+   private final RequestResourceAccess<Context> context = new RequestResourceAccess<>();
 
    public JsonExtractor(String path, Session.Processor processor) {
       this.path = path.trim();
@@ -84,13 +86,13 @@ public class JsonExtractor implements BodyExtractor, ResourceUtilizer, Session.R
    @Override
    public void beforeData(Session session) {
       processor.before(session);
-      Context ctx = session.getResource(this);
+      Context ctx = context.get(session);
       ctx.reset();
    }
 
    @Override
    public void extractData(ByteBuf data, Session session) {
-      Context ctx = session.getResource(this);
+      Context ctx = context.get(session);
       ctx.parse(data, session);
    }
 
@@ -98,7 +100,7 @@ public class JsonExtractor implements BodyExtractor, ResourceUtilizer, Session.R
    public void afterData(Session session) {
       processor.after(session);
 
-      Context ctx = session.getResource(this);
+      Context ctx = context.get(session);
       for (int i = 0; i < ctx.parts.length; ++i) {
          if (ctx.parts[i] == null) break;
          ctx.parts[i].release();
@@ -116,7 +118,7 @@ public class JsonExtractor implements BodyExtractor, ResourceUtilizer, Session.R
 
    @Override
    public void reserve(Session session) {
-      session.declareResource(this, new Context());
+      context.declare(session, Context::new);
       if (processor instanceof ResourceUtilizer) {
          ((ResourceUtilizer) processor).reserve(session);
       }
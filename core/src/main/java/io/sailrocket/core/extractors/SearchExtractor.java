@@ -6,16 +6,18 @@ import io.netty.buffer.ByteBuf;
 import io.sailrocket.api.http.BodyExtractor;
 import io.sailrocket.api.session.Session;
 import io.sailrocket.core.api.ResourceUtilizer;
+import io.sailrocket.core.session.RequestResourceAccess;
 
 /**
  * Simple pattern (no regexp) search based on Rabin-Karp algorithm.
  * Does not handle the intricacies of UTF-8 mapping same strings to different bytes.
  */
-public class SearchExtractor implements BodyExtractor, ResourceUtilizer, Session.ResourceKey<SearchExtractor.Context> {
+public class SearchExtractor implements BodyExtractor, ResourceUtilizer {
    private final byte[] begin, end;
    private final int beginHash, endHash;
    private final int beginCoef, endCoef;
    private Session.Processor processor;
+   private final RequestResourceAccess<Context> context = new RequestResourceAccess<>();
 
    public SearchExtractor(String begin, String end, Session.Processor processor) {
       this.begin = begin.getBytes(StandardCharsets.UTF_8);
@@ -45,14 +47,14 @@ public class SearchExtractor implements BodyExtractor, ResourceUtilizer, Session
 
    @Override
    public void beforeData(Session session) {
-      Context ctx = session.getResource(this);
+      Context ctx = context.get(session);
       ctx.reset();
       processor.before(session);
    }
 
    @Override
    public void extractData(ByteBuf data, Session session) {
-      Context ctx = session.getResource(this);
+      Context ctx = context.get(session);
       ctx.add(data);
       initHash(ctx, data);
       while (test(ctx)) {
@@ -137,7 +139,7 @@ public class SearchExtractor implements BodyExtractor, ResourceUtilizer, Session
 
    @Override
    public void afterData(Session session) {
-      Context ctx = session.getResource(this);
+      Context ctx = context.get(session);
       // release buffers
       ctx.reset();
       processor.after(session);
@@ -145,7 +147,7 @@ public class SearchExtractor implements BodyExtractor, ResourceUtilizer, Session
 
    @Override
    public void reserve(Session session) {
-      session.declareResource(this, new Context());
+      context.declare(session, Context::new);
    }
 
    class Context implements Session.Resource {
@@ -3,24 +3,25 @@ package io.sailrocket.core.extractors;
 import io.netty.buffer.ByteBuf;
 import io.sailrocket.api.session.Session;
 import io.sailrocket.core.session.IntVar;
+import io.sailrocket.core.session.VarAccess;
 import io.sailrocket.core.api.ResourceUtilizer;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 
 public class SequenceScopedCountRecorder implements Session.Processor, ResourceUtilizer {
    private static final Logger log = LoggerFactory.getLogger(SequenceScopedCountRecorder.class);
-   private final String arrayVar;
+   private final VarAccess arrayVar;
    private final int numCounters;
 
    public SequenceScopedCountRecorder(String arrayVar, int numCounters) {
-      this.arrayVar = arrayVar;
+      this.arrayVar = new VarAccess(arrayVar);
       this.numCounters = numCounters;
    }
 
    @Override
    public void before(Session session) {
       int index = getIndex(session);
-      IntVar[] array = (IntVar[]) session.activate(arrayVar);
+      IntVar[] array = (IntVar[]) arrayVar.activate(session);
       array[index].set(0);
    }
 
@@ -28,7 +29,7 @@ public class SequenceScopedCountRecorder implements Session.Processor, ResourceU
    public void process(Session session, ByteBuf buf, int offset, int length, boolean isLastPart) {
       if (isLastPart) {
          int index = getIndex(session);
-         IntVar[] array = (IntVar[]) session.getObject(arrayVar);
+         IntVar[] array = (IntVar[]) arrayVar.getObject(session);
          array[index].add(1);
       }
    }
@@ -43,8 +44,8 @@ public class SequenceScopedCountRecorder implements Session.Processor, ResourceU
 
    @Override
    public void reserve(Session session) {
-      session.declare(arrayVar);
-      session.setObject(arrayVar, IntVar.newArray(session, numCounters));
-      session.unset(arrayVar);
+      arrayVar.declare(session);
+      arrayVar.setObject(session, IntVar.newArray(session, numCounters));
+      arrayVar.unset(session);
    }
 }
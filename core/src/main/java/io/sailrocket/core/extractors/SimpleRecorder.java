@@ -5,22 +5,23 @@ import java.nio.charset.StandardCharsets;
 import io.netty.buffer.ByteBuf;
 import io.sailrocket.api.session.Session;
 import io.sailrocket.core.api.ResourceUtilizer;
+import io.sailrocket.core.session.VarAccess;
 
 public class SimpleRecorder implements Session.Processor, ResourceUtilizer {
-   private final String var;
+   private final VarAccess var;
 
    public SimpleRecorder(String var) {
-      this.var = var;
+      this.var = new VarAccess(var);
    }
 
    @Override
    public void process(Session session, ByteBuf data, int offset, int length, boolean isLastPart) {
       assert isLastPart;
-      session.setObject(var, data.toString(offset, length, StandardCharsets.UTF_8));
+      var.setObject(session, data.toString(offset, length, StandardCharsets.UTF_8));
    }
 
    @Override
    public void reserve(Session session) {
-      session.declare(var);
+      var.declare(session);
    }
 }
@@ -9,6 +9,7 @@ import java.util.concurrent.locks.ReentrantLock;
 
 import io.sailrocket.api.config.Benchmark;
 import io.sailrocket.api.config.BenchmarkDefinitionException;
+import io.sailrocket.api.config.Phase;
 import io.sailrocket.core.api.PhaseInstance;
 import io.sailrocket.core.impl.statistics.PrintStatisticsConsumer;
 import io.sailrocket.core.impl.statistics.ReportStatisticsCollector;
@@ -21,6 +22,12 @@ public class LocalSimulationRunner extends SimulationRunnerImpl {
 
    public LocalSimulationRunner(Benchmark benchmark) {
       super(benchmark.simulation());
+      for (Phase phase : simulation.phases()) {
+         // there is no StatisticsStore validating the SLAs, so the search would never see a failed step
+         if (phase instanceof Phase.MaxThroughput) {
+            throw new BenchmarkDefinitionException("Phase '" + phase.name + "' requires SLA validation by the controller and cannot run locally");
+         }
+      }
    }
 
    public Map<String, Report> run() {
@@ -35,7 +42,7 @@ public class LocalSimulationRunner extends SimulationRunnerImpl {
 //         @Override
 //         public void run() {
 //            System.out.println("Statistics: ");
-//            visitSessions(printStatsConsumer);
+//            visitStatistics(printStatsConsumer);
 //            printStatsConsumer.print();
 //         }
 //      }, TimeUnit.SECONDS.toMillis(3), TimeUnit.SECONDS.toMillis(3));
@@ -54,36 +61,9 @@ public class LocalSimulationRunner extends SimulationRunnerImpl {
    }
 
    private Map<String, Report> exec() {
-      long now = System.currentTimeMillis();
-      this.startTime = now;
+      this.startTime = System.currentTimeMillis();
       do {
-         now = System.currentTimeMillis();
-         for (PhaseInstance phase : instances.values()) {
-            if (phase.status() == PhaseInstance.Status.RUNNING && phase.absoluteStartTime() + phase.definition().duration() <= now) {
-               finishPhase(phase.definition().name());
-            }
-            if (phase.status() == PhaseInstance.Status.FINISHED) {
-               if (phase.definition().maxDuration() >= 0 && phase.absoluteStartTime() + phase.definition().maxDuration() <= now) {
-                  terminatePhase(phase.definition().name());
-               } else if (phase.definition().terminateAfterStrict().stream().map(instances::get).allMatch(p -> p.status() == PhaseInstance.Status.TERMINATED)) {
-                  tryTerminatePhase(phase.definition().name());
-               }
-            }
-         }
-         PhaseInstance[] availablePhases = getAvailablePhases();
-         for (PhaseInstance phase : availablePhases) {
-            startPhase(phase.definition().name());
-         }
-         long nextPhaseStart = instances.values().stream()
-               .filter(phase -> phase.status() == PhaseInstance.Status.NOT_STARTED && phase.definition().startTime() >= 0)
-               .mapToLong(phase -> this.startTime + phase.definition().startTime()).min().orElse(Long.MAX_VALUE);
-         long nextPhaseFinish = instances.values().stream()
-               .filter(phase -> phase.status() == PhaseInstance.Status.RUNNING)
-               .mapToLong(phase -> phase.absoluteStartTime() + phase.definition().duration()).min().orElse(Long.MAX_VALUE);
-         long nextPhaseTerminate = instances.values().stream()
-               .filter(phase -> (phase.status() == PhaseInstance.Status.RUNNING || phase.status() == PhaseInstance.Status.FINISHED) && phase.definition().maxDuration() >= 0)
-               .mapToLong(phase -> phase.absoluteStartTime() + phase.definition().maxDuration()).min().orElse(Long.MAX_VALUE);
-         long delay = Math.min(Math.min(nextPhaseStart, nextPhaseFinish), nextPhaseTerminate) - System.currentTimeMillis();
+         long delay = progressPhases(startTime, phase -> instances.get(phase).status()) - System.currentTimeMillis();
 
          delay = Math.min(delay, 1000);
          if (delay > 0) {
@@ -96,10 +76,10 @@ public class LocalSimulationRunner extends SimulationRunnerImpl {
                statusLock.unlock();
             }
          }
-      } while (instances.values().stream().anyMatch(phase -> phase.status() != PhaseInstance.Status.TERMINATED));
+      } while (!isTerminated());
 
       ReportStatisticsCollector statisticsConsumer = new ReportStatisticsCollector(simulation);
-      visitSessions(statisticsConsumer);
+      visitStatistics(statisticsConsumer);
       return statisticsConsumer.reports();
    }
 
@@ -111,12 +91,4 @@ public class LocalSimulationRunner extends SimulationRunnerImpl {
          statusLock.unlock();
       }
    }
-
-   private PhaseInstance[] getAvailablePhases() {
-      return instances.values().stream().filter(phase -> phase.status() == PhaseInstance.Status.NOT_STARTED &&
-            startTime + phase.definition().startTime() <= System.currentTimeMillis() &&
-            phase.definition().startAfter().stream().allMatch(dep -> instances.get(dep).status().isFinished()) &&
-            phase.definition().startAfterStrict().stream().allMatch(dep -> instances.get(dep).status() == PhaseInstance.Status.TERMINATED))
-            .toArray(PhaseInstance[]::new);
-   }
 }
@@ -5,17 +5,32 @@ import io.netty.util.concurrent.EventExecutorGroup;
 import io.sailrocket.api.config.BenchmarkDefinitionException;
 import io.sailrocket.api.collection.ConcurrentPool;
 import io.sailrocket.api.config.Phase;
+import io.sailrocket.api.config.Sequence;
 import io.sailrocket.api.session.Session;
+import io.sailrocket.api.statistics.Statistics;
+import io.sailrocket.core.api.Partition;
 import io.sailrocket.core.api.PhaseInstance;
 import io.sailrocket.core.session.SessionFactory;
+import io.sailrocket.core.util.AliasTable;
+import io.sailrocket.core.util.RateProfileReader;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
+import java.util.function.Consumer;
 import java.util.function.Function;
 
 public abstract class PhaseInstanceImpl<D extends Phase> implements PhaseInstance {
@@ -30,8 +45,14 @@ public abstract class PhaseInstanceImpl<D extends Phase> implements PhaseInstanc
    // Reads are done without locks
    protected volatile Status status = Status.NOT_STARTED;
    protected long absoluteStartTime;
+   // the same instant as absoluteStartTime, in System.nanoTime() units
+   protected long nanoStartTime;
    protected AtomicInteger activeSessions = new AtomicInteger(0);
+   protected Partition partition = Partition.ALL;
    private Throwable error;
+   private final ConcurrentMap<EventExecutor, Statistics[]> statistics = new ConcurrentHashMap<>();
+   // sessions that are not bound to an executor (e.g. in tests)
+   private volatile Statistics[] unboundStatistics;
 
    public static PhaseInstance newInstance(Phase def) {
       @SuppressWarnings("unchecked")
@@ -45,6 +66,8 @@ public abstract class PhaseInstanceImpl<D extends Phase> implements PhaseInstanc
       constructors.put(Phase.Always.class, (Function<Phase.Always, PhaseInstance>) Always::new);
       constructors.put(Phase.RampPerSec.class, (Function<Phase.RampPerSec, PhaseInstance>) RampPerSec::new);
       constructors.put(Phase.ConstantPerSec.class, (Function<Phase.ConstantPerSec, PhaseInstance>) ConstantPerSec::new);
+      constructors.put(Phase.RateProfile.class, (Function<Phase.RateProfile, PhaseInstance>) RateProfile::new);
+      constructors.put(Phase.MaxThroughput.class, (Function<Phase.MaxThroughput, PhaseInstance>) MaxThroughput::new);
       constructors.put(Phase.Sequentially.class, (Function<Phase.Sequentially, PhaseInstance>) Sequentially::new);
       constructors.put(Phase.Noop.class, (Function<Phase.Noop, PhaseInstance>) Noop::new);
    }
@@ -75,6 +98,7 @@ public abstract class PhaseInstanceImpl<D extends Phase> implements PhaseInstanc
       assert status == Status.NOT_STARTED;
       status = Status.RUNNING;
       absoluteStartTime = System.currentTimeMillis();
+      nanoStartTime = System.nanoTime();
       log.debug("{} changing status to RUNNING", def.name);
       phaseChangeHandler.accept(def.name, status);
       proceed(executorGroup);
@@ -108,6 +132,40 @@ public abstract class PhaseInstanceImpl<D extends Phase> implements PhaseInstanc
       }
    }
 
+   @Override
+   public Statistics[] statistics(EventExecutor executor) {
+      if (executor == null) {
+         Statistics[] unbound = unboundStatistics;
+         if (unbound == null) {
+            synchronized (this) {
+               if ((unbound = unboundStatistics) == null) {
+                  unboundStatistics = unbound = newStatistics(executor);
+               }
+            }
+         }
+         return unbound;
+      }
+      return statistics.computeIfAbsent(executor, this::newStatistics);
+   }
+
+   private Statistics[] newStatistics(EventExecutor executor) {
+      Sequence[] sequences = def.scenario().sequences();
+      Statistics[] array = new Statistics[sequences.length];
+      for (int i = 0; i < array.length; ++i) {
+         array[i] = new Statistics(sequences[i].histogramSettings());
+      }
+      return array;
+   }
+
+   @Override
+   public void visitStatistics(Consumer<Statistics[]> consumer) {
+      statistics.values().forEach(consumer);
+      Statistics[] unbound = unboundStatistics;
+      if (unbound != null) {
+         consumer.accept(unbound);
+      }
+   }
+
    // TODO better name
    @Override
    public void setComponents(ConcurrentPool<Session> sessions, BiConsumer<String, Status> phaseChangeHandler) {
@@ -115,6 +173,11 @@ public abstract class PhaseInstanceImpl<D extends Phase> implements PhaseInstanc
       this.phaseChangeHandler = phaseChangeHandler;
    }
 
+   @Override
+   public void setPartition(Partition partition) {
+      this.partition = partition;
+   }
+
    @Override
    public void notifyFinished(Session session) {
       int numActive = activeSessions.decrementAndGet();
@@ -137,6 +200,11 @@ public abstract class PhaseInstanceImpl<D extends Phase> implements PhaseInstanc
       }
    }
 
+   @Override
+   public void notifySlaFailure() {
+      // only phases adapting the load care about SLAs in flight
+   }
+
    @Override
    public void setTerminated() {
       if (status.isFinished()) {
@@ -165,16 +233,17 @@ public abstract class PhaseInstanceImpl<D extends Phase> implements PhaseInstanc
       @Override
       public void proceed(EventExecutorGroup executorGroup) {
          assert activeSessions.get() == 0;
-         activeSessions.set(def.users);
-         for (int i = 0; i < def.users; ++i) {
-            sessions.acquire().proceed(executorGroup.next());
+         int users = partition.users(def.users);
+         activeSessions.set(users);
+         for (int i = 0; i < users; ++i) {
+            sessions.acquire().start(executorGroup.next(), nanoStartTime);
          }
          finish();
       }
 
       @Override
       public void reserveSessions() {
-         sessions.reserve(def.users);
+         sessions.reserve(partition.users(def.users));
       }
    }
 
@@ -186,15 +255,16 @@ public abstract class PhaseInstanceImpl<D extends Phase> implements PhaseInstanc
       @Override
       public void proceed(EventExecutorGroup executorGroup) {
          assert activeSessions.get() == 0;
-         activeSessions.set(def.users);
-         for (int i = 0; i < def.users; ++i) {
-            sessions.acquire().proceed(executorGroup.next());
+         int users = partition.users(def.users);
+         activeSessions.set(users);
+         for (int i = 0; i < users; ++i) {
+            sessions.acquire().start(executorGroup.next(), nanoStartTime);
          }
       }
 
       @Override
       public void reserveSessions() {
-         sessions.reserve(def.users);
+         sessions.reserve(partition.users(def.users));
       }
 
       @Override
@@ -205,51 +275,75 @@ public abstract class PhaseInstanceImpl<D extends Phase> implements PhaseInstanc
          } else {
             EventExecutor executor = session.executor();
             session.reset();
-            session.proceed(executor);
+            session.start(executor, System.nanoTime());
          }
       }
    }
 
-   public static class RampPerSec extends PhaseInstanceImpl<Phase.RampPerSec> {
-      private int startedUsers = 0;
-
-      public RampPerSec(Phase.RampPerSec def) {
+   /**
+    * Base for phases that start new sessions with given (and possibly changing) arrival rate. Each executor
+    * runs its own shard of the schedule with a fraction of the rate, starting sessions on its own thread.
+    * When the phase is forked only the first fork runs the shards; these pick the fork for each new session
+    * from an alias table and start it with the session pool of that fork.
+    */
+   public abstract static class PerSec<D extends Phase.PerSec> extends PhaseInstanceImpl<D> {
+      protected PerSec<?> leader = this;
+      // set only in the leader of forked phase
+      protected PerSec<?>[] forks;
+      private AliasTable forkTable;
+
+      protected PerSec(D def) {
          super(def);
       }
 
+      /**
+       * @return Milliseconds after phase start when the expected number of started users (of this fork)
+       * reaches <code>users</code>, or positive infinity if this never happens.
+       */
+      protected abstract double userStart(double users);
+
+      /**
+       * Links this phase to the instances of its forks.
+       */
+      public void setForks(Function<String, PhaseInstance> instances) {
+         if (def.forks.isEmpty()) {
+            return;
+         }
+         leader = (PerSec<?>) instances.apply(def.forks.get(0));
+         if (leader == this) {
+            forks = new PerSec<?>[def.forks.size()];
+            double[] weights = new double[forks.length];
+            for (int i = 0; i < forks.length; ++i) {
+               forks[i] = (PerSec<?>) instances.apply(def.forks.get(i));
+               weights[i] = forks[i].def.forkWeight;
+            }
+            forkTable = new AliasTable(weights);
+         }
+      }
+
       @Override
       public void proceed(EventExecutorGroup executorGroup) {
-         if (status.isFinished()) {
+         if (leader != this) {
+            // the leader schedules arrivals for this fork
             return;
          }
-         long now = System.currentTimeMillis();
-         long delta = now - absoluteStartTime;
-         int required = (int) (delta * def.initialUsersPerSec + (def.targetUsersPerSec - def.initialUsersPerSec) * delta / def.duration) / 1000;
-         for (int i = required - startedUsers; i > 0; --i) {
-            int numActive = activeSessions.incrementAndGet();
-            if (numActive < 0) {
-               // finished
-               return;
+         List<EventExecutor> executors = new ArrayList<>();
+         executorGroup.forEach(executors::add);
+         if (def.arrivals.isShardable()) {
+            for (int i = 0; i < executors.size(); ++i) {
+               EventExecutor executor = executors.get(i);
+               executor.execute(new Shard(executor, Collections.singletonList(executor), i, executors.size()));
             }
-            if (trace) {
-               log.trace("{} has {} active sessions", def.name, numActive);
-            }
-            Session session = sessions.acquire();
-            session.proceed(executorGroup.next());
-         }
-         startedUsers = Math.max(startedUsers, required);
-         double denominator = def.targetUsersPerSec + def.initialUsersPerSec * (def.duration - 1);
-         // rounding up, not down as default integer division
-         long nextDelta = (long) ((1000 * (startedUsers + 1) * def.duration + denominator - 1)/ denominator);
-         if (trace) {
-            log.trace("{}: {} after start, {} started, next user in {} ms", def.name, delta, startedUsers, nextDelta - delta);
+         } else {
+            // splitting the sequence would change the distribution of the combined arrivals
+            EventExecutor executor = executors.get(0);
+            executor.execute(new Shard(executor, executors, 0, 1));
          }
-         executorGroup.schedule(() -> proceed(executorGroup), nextDelta - delta, TimeUnit.MILLISECONDS);
       }
 
       @Override
       public void reserveSessions() {
-         sessions.reserve(def.maxSessionsEstimate);
+         sessions.reserve(partition.estimate(def.maxSessionsEstimate));
       }
 
       @Override
@@ -259,56 +353,387 @@ public abstract class PhaseInstanceImpl<D extends Phase> implements PhaseInstanc
          log.trace("notifyFinished session #{}", session.uniqueId());
          super.notifyFinished(session);
       }
+
+      private boolean startSession(EventExecutor executor, long intendedStartTime) {
+         if (status != Status.RUNNING) {
+            return false;
+         }
+         int numActive = activeSessions.incrementAndGet();
+         if (numActive < 0) {
+            // finished
+            return false;
+         }
+         if (trace) {
+            log.trace("{} has {} active sessions", def.name, numActive);
+         }
+         Session session = sessions.acquire();
+         session.start(executor, intendedStartTime);
+         return true;
+      }
+
+      /**
+       * All state of the shard is confined to its executor. Sessions are started on the <code>targets</code>
+       * in round-robin fashion; that is the shard's own executor unless there's only a single shard.
+       */
+      private class Shard implements Runnable {
+         private final EventExecutor executor;
+         private final List<EventExecutor> targets;
+         private int nextTarget;
+         private final int index;
+         private final int numShards;
+         // Position of next arrival on the axis of expected number of started users (over all shards and forks);
+         // the distribution of arrivals maps into distances between consecutive positions.
+         private double nextUser = -1;
+
+         Shard(EventExecutor executor, List<EventExecutor> targets, int index, int numShards) {
+            this.executor = executor;
+            this.targets = targets;
+            this.index = index;
+            this.numShards = numShards;
+         }
+
+         @Override
+         public void run() {
+            if (status.isFinished()) {
+               return;
+            }
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            if (nextUser < 0) {
+               // Shards are offset by one mean interval each plus a single draw from the distribution: regular
+               // arrivals interleave, and the initial arrivals of all shards together keep the target rate.
+               nextUser = index + def.arrivals.nextInterval(random);
+            }
+            double delta = (System.nanoTime() - nanoStartTime) / 1_000_000.0;
+            // this agent runs only its share of the rate; that stretches the axis of users started by this agent
+            double usersScale = def.forkWeight / partition.share;
+            double nextUserStart = userStart(nextUser * usersScale);
+            while (nextUserStart <= delta) {
+               PerSec<?> fork = forkTable == null ? PerSec.this : forks[forkTable.next(random)];
+               // forks that are not running yet (or anymore) just miss the arrival
+               EventExecutor target = targets.get(nextTarget);
+               if (++nextTarget == targets.size()) {
+                  nextTarget = 0;
+               }
+               if (!fork.startSession(target, nanoStartTime + (long) (nextUserStart * 1_000_000)) && fork == PerSec.this) {
+                  return;
+               }
+               nextUser += numShards * def.arrivals.nextInterval(random);
+               nextUserStart = userStart(nextUser * usersScale);
+            }
+            if (Double.isInfinite(nextUserStart)) {
+               // the rate is decreasing and won't reach another user
+               return;
+            }
+            long nextDelay = (long) ((nextUserStart - delta) * 1_000_000);
+            if (trace) {
+               log.trace("{}/{}: {} ms after start, next user in {} ns", def.name, index, delta, nextDelay);
+            }
+            executor.schedule(this, nextDelay, TimeUnit.NANOSECONDS);
+         }
+      }
    }
 
-   public static class ConstantPerSec extends PhaseInstanceImpl<Phase.ConstantPerSec> {
-      private int startedUsers = 0;
+   public static class RampPerSec extends PerSec<Phase.RampPerSec> {
+      private final double rateIncrease;
 
+      public RampPerSec(Phase.RampPerSec def) {
+         super(def);
+         rateIncrease = (def.targetUsersPerSec - def.initialUsersPerSec) / (2 * def.duration);
+      }
+
+      @Override
+      protected double userStart(double users) {
+         double rate = def.initialUsersPerSec;
+         if (Math.abs(rateIncrease) < 1e-12) {
+            return 1000 * users / rate;
+         }
+         // solving rateIncrease * t^2 + rate * t - 1000 * users = 0
+         double discriminant = rate * rate + 4000 * rateIncrease * users;
+         if (discriminant < 0) {
+            return Double.POSITIVE_INFINITY;
+         }
+         return (Math.sqrt(discriminant) - rate) / (2 * rateIncrease);
+      }
+
+   }
+
+   public static class ConstantPerSec extends PerSec<Phase.ConstantPerSec> {
       public ConstantPerSec(Phase.ConstantPerSec def) {
          super(def);
       }
 
+      @Override
+      protected double userStart(double users) {
+         return 1000 * users / def.usersPerSec;
+      }
+
+   }
+
+   /**
+    * The profile is read lazily into a linked list of segments as the shards ask for later users; segments that
+    * are over are dropped from the head of the list and garbage collected.
+    */
+   public static class RateProfile extends PerSec<Phase.RateProfile> {
+      private RateProfileReader reader;
+      private volatile Segment head;
+
+      public RateProfile(Phase.RateProfile def) {
+         super(def);
+         // the profile is streamed from the local filesystem of each agent rather than shipped with the definition
+         if (!Files.isReadable(Paths.get(def.file))) {
+            throw new BenchmarkDefinitionException("Profile " + def.file + " for phase '" + def.name
+                  + "' cannot be read; the file must be present on the same path on every agent.");
+         }
+      }
+
       @Override
       public void proceed(EventExecutorGroup executorGroup) {
-         if (status.isFinished()) {
+         if (leader != this) {
             return;
          }
-         long now = System.currentTimeMillis();
-         long delta = now - absoluteStartTime;
-         int required = (int) (delta * def.usersPerSec / 1000);
-         for (int i = required - startedUsers; i > 0; --i) {
-            int numActive = activeSessions.incrementAndGet();
-            if (numActive < 0) {
-               // finished
-               return;
+         try {
+            reader = RateProfileReader.open(def.file);
+            if (!reader.next()) {
+               throw new IOException("Profile " + def.file + " is empty");
             }
-            if (trace) {
-               log.trace("{} has {} active sessions", def.name, numActive);
+         } catch (IOException e) {
+            log.error("{}: cannot read profile", e, def.name);
+            closeReader();
+            fail(e);
+            return;
+         }
+         double firstOffset = reader.offset();
+         double usersPerSec = reader.usersPerSec() * def.usersPerSecScale;
+         synchronized (this) {
+            head = nextSegment(-firstOffset, 0, 0, usersPerSec);
+         }
+         super.proceed(executorGroup);
+      }
+
+      @Override
+      protected double userStart(double users) {
+         Segment segment = head;
+         double now = (System.nanoTime() - nanoStartTime) / 1_000_000.0;
+         while (segment != null && segment.endTime < now) {
+            segment = segment.next();
+         }
+         if (segment == null) {
+            return Double.POSITIVE_INFINITY;
+         }
+         head = segment;
+         if (users <= segment.users) {
+            return segment.startTime;
+         }
+         while (users > segment.users + segment.userCount) {
+            segment = segment.next();
+            if (segment == null) {
+               return Double.POSITIVE_INFINITY;
             }
-            Session session = sessions.acquire();
-            session.proceed(executorGroup.next());
          }
-         startedUsers = Math.max(startedUsers, required);
-         // mathematically, the formula below should be 1000 * (startedUsers + 1) / usersPerSec but while
-         // integer division is rounding down, we're trying to round up
-         long nextDelta = (long) ((1000 * (startedUsers + 1) + def.usersPerSec - 1)/ def.usersPerSec);
-         if (trace) {
-            log.trace("{}: {} after start, {} started, next user in {} ms", def.name, delta, startedUsers, nextDelta - delta);
+         return segment.userStart(users);
+      }
+
+
+      @Override
+      public void finish() {
+         super.finish();
+         synchronized (this) {
+            closeReader();
+         }
+      }
+
+      // must be called when holding the lock
+      private Segment nextSegment(double offsetShift, double startTime, double users, double usersPerSec) {
+         try {
+            if (reader == null || !reader.next()) {
+               closeReader();
+               return null;
+            }
+         } catch (IOException e) {
+            log.error("{}: cannot read profile", e, def.name);
+            closeReader();
+            fail(e);
+            return null;
+         }
+         double endTime = (reader.offset() + offsetShift) / def.timeScale;
+         return new Segment(offsetShift, startTime, endTime, users, usersPerSec, reader.usersPerSec() * def.usersPerSecScale);
+      }
+
+      private void closeReader() {
+         if (reader != null) {
+            try {
+               reader.close();
+            } catch (IOException e) {
+               log.error("{}: failed to close profile", e, def.name);
+            }
+            reader = null;
+         }
+      }
+
+      private class Segment {
+         private final double offsetShift;
+         // milliseconds since phase start
+         private final double startTime;
+         private final double endTime;
+         // expected number of started users at the beginning of this segment
+         private final double users;
+         private final double userCount;
+         private final double startUsersPerSec;
+         private final double endUsersPerSec;
+         private volatile Segment next;
+         private volatile boolean last;
+
+         private Segment(double offsetShift, double startTime, double endTime, double users, double startUsersPerSec, double endUsersPerSec) {
+            this.offsetShift = offsetShift;
+            this.startTime = startTime;
+            this.endTime = endTime;
+            this.users = users;
+            this.startUsersPerSec = startUsersPerSec;
+            this.endUsersPerSec = endUsersPerSec;
+            this.userCount = (startUsersPerSec + endUsersPerSec) * (endTime - startTime) / 2000;
+         }
+
+         Segment next() {
+            Segment next = this.next;
+            if (next != null || last) {
+               return next;
+            }
+            synchronized (RateProfile.this) {
+               if (this.next == null && !last) {
+                  this.next = nextSegment(offsetShift, endTime, users + userCount, endUsersPerSec);
+                  last = this.next == null;
+               }
+               return this.next;
+            }
+         }
+
+         double userStart(double users) {
+            double duration = endTime - startTime;
+            double u = users - this.users;
+            // rate is increasing linearly: solving a * t^2 + b * t - u = 0
+            double a = duration <= 0 ? 0 : (endUsersPerSec - startUsersPerSec) / (2000 * duration);
+            double b = startUsersPerSec / 1000;
+            if (Math.abs(a) < 1e-12) {
+               return b > 0 ? startTime + u / b : endTime;
+            }
+            double discriminant = b * b + 4 * a * u;
+            return startTime + (Math.sqrt(Math.max(discriminant, 0)) - b) / (2 * a);
+         }
+      }
+   }
+
+   /**
+    * The rate is constant within each step; shards read the current step without locking and the steps are switched
+    * by a task on single executor. Verdicts come from {@link #notifySlaFailure()} which is invoked (on an arbitrary
+    * thread) when the windowed SLAs fail.
+    */
+   public static class MaxThroughput extends PerSec<Phase.MaxThroughput> {
+      private volatile Step step;
+      private volatile long stepStartTimestamp;
+      private volatile boolean stepFailed;
+      // highest rate that did not fail and lowest rate that failed
+      private double lowerBound = 0;
+      private double upperBound = Double.POSITIVE_INFINITY;
+      private volatile double maxUsersPerSec = Double.NaN;
+
+      public MaxThroughput(Phase.MaxThroughput def) {
+         super(def);
+      }
+
+      @Override
+      public void proceed(EventExecutorGroup executorGroup) {
+         if (leader != this) {
+            return;
          }
-         executorGroup.schedule(() -> proceed(executorGroup), nextDelta - delta, TimeUnit.MILLISECONDS);
+         step = new Step(0, 0, def.initialUsersPerSec);
+         stepStartTimestamp = absoluteStartTime;
+         super.proceed(executorGroup);
+         EventExecutor executor = executorGroup.next();
+         executor.schedule(() -> completeStep(executor), def.stepDuration, TimeUnit.MILLISECONDS);
       }
 
       @Override
-      public void reserveSessions() {
-         sessions.reserve(def.maxSessionsEstimate);
+      protected double userStart(double users) {
+         Step step = this.step;
+         if (users <= step.users) {
+            // this user belongs to previous step and should have been started already
+            return step.startTime;
+         }
+         return step.startTime + 1000 * (users - step.users) / step.usersPerSec;
       }
 
+
       @Override
-      public void notifyFinished(Session session) {
-         session.reset();
-         sessions.release(session);
-         log.trace("notifyFinished session #{}", session.uniqueId());
-         super.notifyFinished(session);
+      public void notifySlaFailure() {
+         if (leader != this) {
+            // any fork failing the SLAs fails the rate
+            leader.notifySlaFailure();
+         } else if (status == Status.RUNNING && System.currentTimeMillis() - stepStartTimestamp >= def.settleTime) {
+            stepFailed = true;
+         }
+      }
+
+      /**
+       * @return The highest rate (in users per second, summed over all forks and agents) that satisfied the SLAs,
+       * or <code>NaN</code> if the search is not complete.
+       */
+      public double maxUsersPerSec() {
+         return maxUsersPerSec;
+      }
+
+      private void completeStep(EventExecutor executor) {
+         if (status.isFinished()) {
+            return;
+         }
+         Step current = this.step;
+         boolean failed = stepFailed;
+         if (failed) {
+            upperBound = current.usersPerSec;
+         } else {
+            lowerBound = current.usersPerSec;
+         }
+         log.debug("{}: rate {} users/s {}", def.name, current.usersPerSec, failed ? "failed" : "passed");
+         double nextRate;
+         if (Double.isInfinite(upperBound)) {
+            nextRate = Math.min(2 * current.usersPerSec, def.maxUsersPerSec);
+         } else {
+            nextRate = (lowerBound + upperBound) / 2;
+         }
+         if (upperBound - lowerBound <= def.precision || (!failed && current.usersPerSec >= def.maxUsersPerSec)) {
+            // bounds are scaled by the weight of this fork
+            maxUsersPerSec = lowerBound / def.forkWeight;
+            log.info("{}: maximum sustainable rate is {} users/s", def.name, maxUsersPerSec);
+            finish();
+            if (forks != null) {
+               // the search is over for all forks
+               for (PerSec<?> fork : forks) {
+                  if (fork != this && fork.status == Status.RUNNING) {
+                     fork.finish();
+                  }
+               }
+            }
+            return;
+         }
+         double delta = (System.nanoTime() - nanoStartTime) / 1_000_000.0;
+         double users = current.users + (delta - current.startTime) * current.usersPerSec / 1000;
+         stepStartTimestamp = System.currentTimeMillis();
+         stepFailed = false;
+         step = new Step(delta, users, nextRate);
+         executor.schedule(() -> completeStep(executor), def.stepDuration, TimeUnit.MILLISECONDS);
+      }
+
+      private static final class Step {
+         // milliseconds since phase start
+         private final double startTime;
+         // expected number of started users at the beginning of this step
+         private final double users;
+         private final double usersPerSec;
+
+         private Step(double startTime, double users, double usersPerSec) {
+            this.startTime = startTime;
+            this.users = users;
+            this.usersPerSec = usersPerSec;
+         }
       }
    }
 
@@ -322,16 +747,20 @@ public abstract class PhaseInstanceImpl<D extends Phase> implements PhaseInstanc
       @Override
       public void proceed(EventExecutorGroup executorGroup) {
          assert activeSessions.get() == 0;
+         if (partition.users(1) == 0) {
+            // the single user runs on another agent
+            return;
+         }
          int numActive = activeSessions.incrementAndGet();
          if (trace) {
             log.trace("{} has {} active sessions", def.name, numActive);
          }
-         sessions.acquire().proceed(executorGroup.next());
+         sessions.acquire().start(executorGroup.next(), nanoStartTime);
       }
 
       @Override
       public void reserveSessions() {
-         sessions.reserve(1);
+         sessions.reserve(partition.users(1));
       }
 
       @Override
@@ -343,7 +772,7 @@ public abstract class PhaseInstanceImpl<D extends Phase> implements PhaseInstanc
          } else {
             EventExecutor executor = session.executor();
             session.reset();
-            session.proceed(executor);
+            session.start(executor, System.nanoTime());
          }
       }
    }
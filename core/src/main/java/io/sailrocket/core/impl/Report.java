@@ -1,5 +1,6 @@
 package io.sailrocket.core.impl;
 
+import org.HdrHistogram.AbstractHistogram;
 import org.HdrHistogram.Histogram;
 
 import java.io.PrintStream;
@@ -42,7 +43,7 @@ public class Report implements Serializable {
         Arrays.sort(tagFields);
     }
 
-    public void measures(long expectedRequests, long elapsed, Histogram histogram, int responseCount, double ratio,
+    public void measures(long expectedRequests, long elapsed, AbstractHistogram histogram, int responseCount, double ratio,
                          int connectFailureCount, int resetCount, int requestCount, int[] statuses,
                          long bytesRead, long bytesWritten) {
 
@@ -60,7 +61,10 @@ public class Report implements Serializable {
 
         this.expectedRequests = expectedRequests;
         this.elapsed = elapsed;
-        this.histogram = histogram.copy();
+        // the recorded histogram may use int counts, reports always hold long counts
+        this.histogram = new Histogram(histogram);
+        this.histogram.setAutoResize(true);
+        this.histogram.add(histogram);
         this.responseCount = responseCount;
         this.ratio = ratio;
         this.connectFailureCount = connectFailureCount;
@@ -1,21 +1,30 @@
 package io.sailrocket.core.impl;
 
+import io.netty.util.concurrent.EventExecutorGroup;
 import io.sailrocket.api.config.Phase;
 import io.sailrocket.api.config.Simulation;
 import io.sailrocket.api.connection.HttpClientPool;
+import io.sailrocket.api.connection.HttpClientPoolFactory;
+import io.sailrocket.api.connection.HttpEndpoint;
 import io.sailrocket.api.session.Session;
+import io.sailrocket.api.statistics.Statistics;
+import io.sailrocket.core.api.Partition;
 import io.sailrocket.core.api.PhaseInstance;
 import io.sailrocket.core.api.SimulationRunner;
+import io.sailrocket.core.client.EndpointPools;
 import io.sailrocket.core.session.SessionFactory;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * @author <a href="mailto:julien@julienviet.com">Julien Viet</a>
@@ -23,30 +32,56 @@ import java.util.function.Consumer;
  */
 public class SimulationRunnerImpl implements SimulationRunner {
     protected final Simulation simulation;
+    protected final Partition partition;
     protected final Map<String, PhaseInstance> instances = new HashMap<>();
 
-    protected HttpClientPool clientPool;
+    // the first pool owns the executors, the others share them
+    protected final List<HttpClientPool> clientPools = new ArrayList<>();
+    protected final Map<String, EndpointPools> endpoints = new LinkedHashMap<>();
+    protected EventExecutorGroup executors;
     protected List<Session> sessions = new ArrayList<>();
     protected Map<String, ConcurrentPoolImpl<Session>> sessionPools = new HashMap<>();
 
     public SimulationRunnerImpl(Simulation simulation) {
+        this(simulation, Partition.ALL);
+    }
+
+    public SimulationRunnerImpl(Simulation simulation, Partition partition) {
         this.simulation = simulation;
-        HttpClientPool httpClientPool = null;
+        this.partition = partition;
         try {
-            httpClientPool = simulation.httpClientPoolFactory().build();
+            for (HttpEndpoint endpoint : simulation.endpoints()) {
+                HttpClientPool[] replicas = new HttpClientPool[endpoint.replicas().size()];
+                for (int i = 0; i < replicas.length; ++i) {
+                    HttpClientPoolFactory factory = endpoint.replicas().get(i);
+                    if (executors == null) {
+                        replicas[i] = factory.build();
+                        executors = replicas[i].executors();
+                    } else {
+                        replicas[i] = factory.build(executors);
+                    }
+                    clientPools.add(replicas[i]);
+                }
+                endpoints.put(endpoint.name(), new EndpointPools(endpoint.name(), replicas, endpoint.balancer()));
+            }
         } catch (Exception e) {
             e.printStackTrace();
         }
-        this.clientPool = httpClientPool;
     }
 
     @Override
     public void init(BiConsumer<String, PhaseInstance.Status> phaseChangeHandler) {
-        //Initialise HttpClientPool
-        CountDownLatch latch = new CountDownLatch(1);
-        clientPool.start(v1 -> {
-            latch.countDown();
-        });
+        //Initialise HttpClientPools
+        CountDownLatch latch = new CountDownLatch(clientPools.size());
+        AtomicReference<Throwable> connectFailure = new AtomicReference<>();
+        for (HttpClientPool clientPool : clientPools) {
+            clientPool.start(result -> {
+                if (result.failed()) {
+                    connectFailure.compareAndSet(null, result.cause());
+                }
+                latch.countDown();
+            });
+        }
 
         for (Phase def : simulation.phases()) {
             PhaseInstance phase = PhaseInstanceImpl.newInstance(def);
@@ -58,7 +93,7 @@ public class SimulationRunnerImpl implements SimulationRunner {
                 pool = new ConcurrentPoolImpl<>(() -> {
                     Session session;
                     synchronized (this.sessions) {
-                        session = SessionFactory.create(clientPool, phase.definition().scenario, sessions.size());
+                        session = SessionFactory.create(endpoints, phase.definition().scenario, partition.uniqueId(sessions.size()), simulation.timerTick());
                         sessions.add(session);
                     }
                     return session;
@@ -66,19 +101,31 @@ public class SimulationRunnerImpl implements SimulationRunner {
                 sessionPools.put(def.sharedResources, pool);
             }
             phase.setComponents(pool, phaseChangeHandler);
+            phase.setPartition(partition);
             phase.reserveSessions();
         }
+        for (PhaseInstance phase : instances.values()) {
+            if (phase instanceof PhaseInstanceImpl.PerSec) {
+                ((PhaseInstanceImpl.PerSec<?>) phase).setForks(instances::get);
+            }
+        }
 
         try {
             latch.await(100, TimeUnit.SECONDS);
         } catch (InterruptedException e) {
             e.printStackTrace();
         }
+        if (connectFailure.get() != null) {
+            throw new IllegalStateException("Cannot establish connections", connectFailure.get());
+        }
     }
 
     @Override
     public void shutdown() {
-        clientPool.shutdown();
+        // the owner of executors goes last
+        for (int i = clientPools.size() - 1; i >= 0; --i) {
+            clientPools.get(i).shutdown();
+        }
     }
 
     public void visitSessions(Consumer<Session> consumer) {
@@ -90,9 +137,30 @@ public class SimulationRunnerImpl implements SimulationRunner {
         }
     }
 
+    @Override
+    public void visitStatistics(BiConsumer<Phase, Statistics[]> consumer) {
+        for (PhaseInstance instance : instances.values()) {
+            Phase phase = instance.definition();
+            instance.visitStatistics(statistics -> consumer.accept(phase, statistics));
+        }
+    }
+
+    @Override
+    public void visitClientPools(BiConsumer<String, HttpClientPool> consumer) {
+        for (EndpointPools pools : endpoints.values()) {
+            for (HttpClientPool pool : pools.replicas()) {
+                consumer.accept(pools.name(), pool);
+            }
+        }
+    }
+
     @Override
     public void startPhase(String phase) {
-        instances.get(phase).start(clientPool.executors());
+        // connections closed after the pool gave up connecting would not be replaced otherwise
+        for (HttpClientPool clientPool : clientPools) {
+            clientPool.replenish();
+        }
+        instances.get(phase).start(executors);
     }
 
     @Override
@@ -109,4 +177,84 @@ public class SimulationRunnerImpl implements SimulationRunner {
     public void terminatePhase(String phase) {
         instances.get(phase).terminate();
     }
+
+    @Override
+    public double maxUsersPerSec(String phase) {
+        PhaseInstance instance = instances.get(phase);
+        if (instance instanceof PhaseInstanceImpl.MaxThroughput) {
+            return ((PhaseInstanceImpl.MaxThroughput) instance).maxUsersPerSec();
+        }
+        return Double.NaN;
+    }
+
+    @Override
+    public void notifySlaFailure(String phase) {
+        PhaseInstance instance = instances.get(phase);
+        if (instance != null) {
+            instance.notifySlaFailure();
+        }
+    }
+
+    /**
+     * Finishes and terminates phases that ran out of time or whose dependencies terminated, and starts phases
+     * whose start time has come and dependencies are satisfied.
+     *
+     * @param startTime Wall-clock time when the simulation started.
+     * @param dependencyStatus Status of the phase as seen by phases that depend on it. In a cluster the dependency
+     *                         is satisfied only when all agents have reached the status.
+     * @return Wall-clock time of the next timed transition, or {@link Long#MAX_VALUE} if only a status change
+     * can make any progress.
+     */
+    public long progressPhases(long startTime, Function<String, PhaseInstance.Status> dependencyStatus) {
+        long now = System.currentTimeMillis();
+        for (PhaseInstance phase : instances.values()) {
+            if (phase.status() == PhaseInstance.Status.RUNNING && phase.absoluteStartTime() + phase.definition().duration() <= now) {
+                finishPhase(phase.definition().name());
+            }
+            if (phase.status() == PhaseInstance.Status.FINISHED) {
+                if (phase.definition().maxDuration() >= 0 && phase.absoluteStartTime() + phase.definition().maxDuration() <= now) {
+                    terminatePhase(phase.definition().name());
+                } else if (phase.definition().terminateAfterStrict().stream().map(dependencyStatus).allMatch(status -> status == PhaseInstance.Status.TERMINATED)) {
+                    tryTerminatePhase(phase.definition().name());
+                }
+            }
+        }
+        for (PhaseInstance phase : instances.values()) {
+            if (phase.status() == PhaseInstance.Status.NOT_STARTED &&
+                    startTime + phase.definition().startTime() <= now &&
+                    phase.definition().startAfter().stream().map(dependencyStatus).allMatch(PhaseInstance.Status::isFinished) &&
+                    phase.definition().startAfterStrict().stream().map(dependencyStatus).allMatch(status -> status == PhaseInstance.Status.TERMINATED)) {
+                startPhase(phase.definition().name());
+            }
+        }
+        long next = Long.MAX_VALUE;
+        for (PhaseInstance phase : instances.values()) {
+            Phase def = phase.definition();
+            // phases that are past their start time wait for a dependency, and that is signalled by status change
+            if (phase.status() == PhaseInstance.Status.NOT_STARTED && def.startTime() >= 0 && startTime + def.startTime() > now) {
+                next = Math.min(next, startTime + def.startTime());
+            } else if (phase.status() == PhaseInstance.Status.RUNNING) {
+                next = Math.min(next, phase.absoluteStartTime() + def.duration());
+            }
+            if ((phase.status() == PhaseInstance.Status.RUNNING || phase.status() == PhaseInstance.Status.FINISHED) && def.maxDuration() >= 0) {
+                next = Math.min(next, phase.absoluteStartTime() + def.maxDuration());
+            }
+        }
+        return next;
+    }
+
+    /**
+     * Terminates all phases that have not terminated yet, including those that have not been started.
+     */
+    public void terminatePhases() {
+        for (PhaseInstance phase : instances.values()) {
+            if (phase.status() != PhaseInstance.Status.TERMINATED) {
+                phase.terminate();
+            }
+        }
+    }
+
+    public boolean isTerminated() {
+        return instances.values().stream().allMatch(phase -> phase.status() == PhaseInstance.Status.TERMINATED);
+    }
 }
\ No newline at end of file
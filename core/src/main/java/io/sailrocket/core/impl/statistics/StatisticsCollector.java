@@ -1,20 +1,41 @@
 package io.sailrocket.core.impl.statistics;
 
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.Map;
-import java.util.function.Consumer;
+import java.util.Set;
+import java.util.function.BiConsumer;
+
+import org.HdrHistogram.AbstractHistogram;
 
 import io.sailrocket.api.config.Phase;
 import io.sailrocket.api.config.Sequence;
 import io.sailrocket.api.config.Simulation;
-import io.sailrocket.api.session.Session;
+import io.sailrocket.api.connection.HttpClientPool;
+import io.sailrocket.api.connection.HttpEndpoint;
+import io.sailrocket.api.statistics.HistogramSettings;
 import io.sailrocket.api.statistics.Statistics;
 import io.sailrocket.api.statistics.StatisticsSnapshot;
 
-public class StatisticsCollector implements Consumer<Session> {
+/**
+ * Aggregates recorders from all executors into snapshots per phase and sequence. The recorders are shared by all
+ * sessions running on the same executor, therefore the cost of collection does not depend on the number of sessions.
+ * <p>
+ * The collector is invoked once for each executor running the phase. When <code>resetBefore</code> is set
+ * the snapshots are cleared only by the first invocation after the snapshots have been visited, so that intervals
+ * from all executors are summed up.
+ * <p>
+ * Times of establishing connections do not belong to any phase; these are summed up from all replicas of each endpoint.
+ */
+public class StatisticsCollector implements BiConsumer<Phase, Statistics[]> {
    protected final Simulation simulation;
    protected final boolean resetBefore;
    protected Map<Phase, StatisticsSnapshot[]> aggregated = new HashMap<>();
+   // phases with snapshots already visited, these should be cleared before adding next interval
+   private final Set<Phase> visited = new HashSet<>();
+   protected Map<String, AbstractHistogram> connectTimes = new LinkedHashMap<>();
+   private boolean connectTimesVisited;
 
    public StatisticsCollector(Simulation simulation, boolean resetBefore) {
       this.simulation = simulation;
@@ -22,28 +43,43 @@ public class StatisticsCollector implements Consumer<Session> {
       for (Phase phase : simulation.phases()) {
          StatisticsSnapshot[] snapshots = aggregated.computeIfAbsent(phase, name -> new StatisticsSnapshot[phase.scenario().sequences().length]);
          for (Sequence sequence : phase.scenario().sequences()) {
-            snapshots[sequence.id()] = new StatisticsSnapshot();
+            snapshots[sequence.id()] = new StatisticsSnapshot(sequence.histogramSettings());
          }
       }
+      for (HttpEndpoint endpoint : simulation.endpoints()) {
+         connectTimes.put(endpoint.name(), HistogramSettings.DEFAULT.newHistogram());
+      }
    }
 
    @Override
-   public void accept(Session session) {
-      StatisticsSnapshot[] snapshots = aggregated.get(session.phase());
-      for (Sequence sequence : session.phase().scenario().sequences()) {
-         Statistics statistics = session.statistics(sequence.id());
-         StatisticsSnapshot snapshot = snapshots[sequence.id()];
-         if (resetBefore) {
-            statistics.moveIntervalTo(snapshot);
-         } else {
-            statistics.addIntervalTo(snapshot);
+   public void accept(Phase phase, Statistics[] statistics) {
+      StatisticsSnapshot[] snapshots = aggregated.get(phase);
+      if (resetBefore && visited.remove(phase)) {
+         for (StatisticsSnapshot snapshot : snapshots) {
+            snapshot.reset();
          }
       }
+      for (int i = 0; i < statistics.length; ++i) {
+         statistics[i].addIntervalTo(snapshots[i]);
+      }
+   }
+
+   public void addConnectTimes(String endpoint, HttpClientPool pool) {
+      if (resetBefore && connectTimesVisited) {
+         connectTimesVisited = false;
+         for (AbstractHistogram histogram : connectTimes.values()) {
+            histogram.reset();
+         }
+      }
+      pool.addIntervalConnectTimesTo(connectTimes.get(endpoint));
    }
 
    public void visitStatistics(StatisticsConsumer consumer) {
        for (Map.Entry<Phase, StatisticsSnapshot[]> entry : aggregated.entrySet()) {
            Phase phase = entry.getKey();
+           if (resetBefore) {
+              visited.add(phase);
+           }
            Sequence[] sequences = phase.scenario().sequences();
            assert entry.getValue().length == sequences.length;
            for (int i = 0; i < sequences.length; ++i) {
@@ -55,6 +91,13 @@ public class StatisticsCollector implements Consumer<Session> {
        }
    }
 
+   public void visitConnectTimes(BiConsumer<String, AbstractHistogram> consumer) {
+      if (resetBefore) {
+         connectTimesVisited = true;
+      }
+      connectTimes.forEach(consumer);
+   }
+
    public interface StatisticsConsumer {
        boolean accept(Phase phase, Sequence sequence, StatisticsSnapshot snapshot);
    }
@@ -7,52 +7,75 @@ import java.io.IOException;
 import java.io.PrintStream;
 import java.io.PrintWriter;
 import java.nio.file.Path;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
 import java.util.HashMap;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.TreeMap;
 import java.util.function.Consumer;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import org.HdrHistogram.AbstractHistogram;
+
 import io.sailrocket.api.config.Benchmark;
 import io.sailrocket.api.config.Phase;
 import io.sailrocket.api.config.SLA;
 import io.sailrocket.api.config.Sequence;
+import io.sailrocket.api.statistics.HistogramSettings;
 import io.sailrocket.api.statistics.StatisticsSnapshot;
 import io.sailrocket.api.statistics.StatisticsSummary;
 
 public class StatisticsStore {
+   // number of collection periods after which a time bucket is closed even if some agents did not report into it
+   private static final int MAX_BUCKET_LAG = 5;
+   // number of summaries kept in each series; with 1 s collection period this covers a bit less than 3 hours
+   private static final int MAX_SERIES_LENGTH = 10_000;
+
    private final Benchmark benchmark;
+   // number of agents that report statistics, each running part of the load
+   private final int numAgents;
+   private final long collectionPeriod;
    private final Map<PhaseSeq, Data> data = new HashMap<>();
    private final Consumer<SLA.Failure> failureHandler;
    private final double[] percentiles;
    private final List<SLA.Failure> failures = new ArrayList<>();
+   // failures in phases that search for the limits of the system are expected and do not fail the run
+   private final List<SLA.Failure> searchFailures = new ArrayList<>();
    private final int maxFailures = 100;
+   // results of maxThroughput phases: phase -> agent -> users per second
+   private final Map<String, Map<String, Double>> maxUsersPerSec = new TreeMap<>();
+   // times of establishing connections, summed up from all agents: endpoint -> histogram
+   private final Map<String, AbstractHistogram> connectTimes = new TreeMap<>();
 
-   public StatisticsStore(Benchmark benchmark, Consumer<SLA.Failure> failureHandler, double[] percentiles) {
+   public StatisticsStore(Benchmark benchmark, int numAgents, Consumer<SLA.Failure> failureHandler, double[] percentiles) {
       this.benchmark = benchmark;
+      this.numAgents = numAgents;
       this.failureHandler = failureHandler;
       this.percentiles = percentiles;
-      long collectionPeriod = benchmark.simulation().statisticsCollectionPeriod();
+      this.collectionPeriod = benchmark.simulation().statisticsCollectionPeriod();
       for (Phase phase : benchmark.simulation().phases()) {
          for (Sequence sequence : phase.scenario().sequences()) {
             Map<SLA, Window> rings = Stream.of(benchmark.slas())
                   .filter(sla -> sla.sequence() == sequence && sla.window() > 0)
-                  .collect(Collectors.toMap(Function.identity(), sla -> new Window((int) (sla.window() / collectionPeriod))));
+                  .collect(Collectors.toMap(Function.identity(), sla -> new Window((int) (sla.window() / collectionPeriod), sequence.histogramSettings())));
             SLA[] total = Stream.of(benchmark.slas())
                   .filter(sla -> sla.sequence() == sequence && sla.window() <= 0).toArray(SLA[]::new);
-            data.put(new PhaseSeq(phase.name, sequence.name()), new Data(rings, total));
+            List<SLA.Failure> failures = phase instanceof Phase.MaxThroughput ? searchFailures : this.failures;
+            data.put(new PhaseSeq(phase.name, sequence.name()), new Data(rings, total, sequence.histogramSettings(), failures));
          }
       }
    }
 
-   public StatisticsStore(Benchmark benchmark, Consumer<SLA.Failure> failureHandler) {
-      this(benchmark, failureHandler, new double[] { 0.5, 0.9, 0.99, 0.999, 0.9999 });
+   public StatisticsStore(Benchmark benchmark, int numAgents, Consumer<SLA.Failure> failureHandler) {
+      this(benchmark, numAgents, failureHandler, new double[] { 0.5, 0.9, 0.99, 0.999, 0.9999 });
    }
 
    public void record(String address, String phase, String sequence, StatisticsSnapshot stats) {
@@ -60,6 +83,14 @@ public class StatisticsStore {
       data.record(address, stats);
    }
 
+   public void recordMaxUsersPerSec(String phase, String address, double usersPerSec) {
+      maxUsersPerSec.computeIfAbsent(phase, p -> new TreeMap<>()).put(address, usersPerSec);
+   }
+
+   public void recordConnectTimes(String address, String endpoint, AbstractHistogram histogram) {
+      connectTimes.computeIfAbsent(endpoint, e -> HistogramSettings.DEFAULT.newHistogram()).add(histogram);
+   }
+
    public void persist(Path dir) throws IOException {
       File statsDir = dir.toFile();
       if (!statsDir.mkdirs()) {
@@ -67,6 +98,9 @@ public class StatisticsStore {
       }
       PhaseSeq[] phaseSeqs = data.keySet().toArray(new PhaseSeq[0]);
       Arrays.sort(phaseSeqs);
+      for (Data d : data.values()) {
+         d.completeBuckets(Long.MAX_VALUE);
+      }
 
       try (PrintWriter writer = new PrintWriter(dir + File.separator + "total.csv")) {
          writer.print("Phase,Sequence,");
@@ -110,7 +144,64 @@ public class StatisticsStore {
             persistHistogramAndSeries(filePrefix, entry.getValue().perAgent.get(agent), entry.getValue().agentSeries.get(agent));
          }
       }
-      try (PrintWriter writer = new PrintWriter(dir + File.separator + "failures.csv")) {
+      persistFailures(dir + File.separator + "failures.csv", failures);
+      if (!searchFailures.isEmpty()) {
+         persistFailures(dir + File.separator + "search-failures.csv", searchFailures);
+      }
+      if (!connectTimes.isEmpty()) {
+         persistConnectTimes(dir);
+      }
+      if (!maxUsersPerSec.isEmpty()) {
+         try (PrintWriter writer = new PrintWriter(dir + File.separator + "max-throughput.csv")) {
+            writer.println("Phase,Agent,MaxUsersPerSec");
+            for (Map.Entry<String, Map<String, Double>> phase : maxUsersPerSec.entrySet()) {
+               for (Map.Entry<String, Double> agent : phase.getValue().entrySet()) {
+                  writer.print(phase.getKey());
+                  writer.print(',');
+                  writer.print(agent.getKey());
+                  writer.print(',');
+                  writer.println(agent.getValue());
+               }
+            }
+         }
+      }
+   }
+
+   private void persistConnectTimes(Path dir) throws FileNotFoundException {
+      try (PrintWriter writer = new PrintWriter(dir + File.separator + "connect-times.csv")) {
+         writer.print("Endpoint,Connections,Mean,Min,");
+         for (double p : percentiles) {
+            writer.print('p');
+            writer.print(p * 100);
+            writer.print(',');
+         }
+         writer.println("Max");
+         for (Map.Entry<String, AbstractHistogram> entry : connectTimes.entrySet()) {
+            AbstractHistogram histogram = entry.getValue();
+            writer.print(entry.getKey());
+            writer.print(',');
+            writer.print(histogram.getTotalCount());
+            writer.print(',');
+            writer.print((long) histogram.getMean());
+            writer.print(',');
+            writer.print(histogram.getMinValue());
+            writer.print(',');
+            for (double p : percentiles) {
+               writer.print(histogram.getValueAtPercentile(p * 100));
+               writer.print(',');
+            }
+            writer.println(histogram.getMaxValue());
+         }
+      }
+      for (Map.Entry<String, AbstractHistogram> entry : connectTimes.entrySet()) {
+         try (PrintStream stream = new PrintStream(new FileOutputStream(dir + File.separator + entry.getKey() + ".connect-time.histogram.csv"))) {
+            entry.getValue().outputPercentileDistribution(stream, 5, 1000_000.0, true);
+         }
+      }
+   }
+
+   private void persistFailures(String file, List<SLA.Failure> failures) throws FileNotFoundException {
+      try (PrintWriter writer = new PrintWriter(file)) {
          writer.print("Phase,Sequence,Message,Start,End,");
          StatisticsSummary.printHeader(writer, percentiles);
          writer.println();
@@ -132,11 +223,14 @@ public class StatisticsStore {
       }
    }
 
-   private void persistHistogramAndSeries(String filePrefix, StatisticsSnapshot total, List<StatisticsSummary> series) throws FileNotFoundException {
+   private void persistHistogramAndSeries(String filePrefix, StatisticsSnapshot total, Collection<StatisticsSummary> series) throws FileNotFoundException {
       if (total != null) {
          try (PrintStream stream = new PrintStream(new FileOutputStream(filePrefix + ".histogram.csv"))) {
             total.histogram.outputPercentileDistribution(stream, 5, 1000_000.0, true);
          }
+         try (PrintStream stream = new PrintStream(new FileOutputStream(filePrefix + ".response-time.histogram.csv"))) {
+            total.responseTime.outputPercentileDistribution(stream, 5, 1000_000.0, true);
+         }
       }
       if (series != null) {
          try (PrintWriter writer = new PrintWriter(filePrefix + ".series.csv")) {
@@ -155,9 +249,15 @@ public class StatisticsStore {
       }
    }
 
+   /**
+    * Should be called when all agents have terminated the phase and sent their final statistics.
+    *
+    * @return False if any SLA failed so far; failures in <code>maxThroughput</code> phases are not included.
+    */
    public boolean validateSlas(String phase) {
       for (Map.Entry<PhaseSeq, Data> entry : data.entrySet()) {
          if (entry.getKey().phase.equals(phase)) {
+            entry.getValue().completeBuckets(Long.MAX_VALUE);
             entry.getValue().validateTotalSlas();
          }
       }
@@ -166,12 +266,13 @@ public class StatisticsStore {
 
    private static final class Window {
       private final StatisticsSnapshot[] ring;
-      private final StatisticsSnapshot sum = new StatisticsSnapshot();
+      private final StatisticsSnapshot sum;
       private int ptr = 0;
 
-      Window(int size) {
+      Window(int size, HistogramSettings settings) {
          assert size > 0;
          ring = new StatisticsSnapshot[size];
+         sum = new StatisticsSnapshot(settings);
       }
 
       void add(StatisticsSnapshot stats) {
@@ -192,49 +293,83 @@ public class StatisticsStore {
       }
    }
 
+   /**
+    * Agents collect statistics independently, so the reports are aligned into buckets by the start of the interval
+    * (in controller's time). A bucket is merged into the series when each agent has reported into this or a later
+    * bucket (reports from one agent arrive in order), or when there are reports {@link #MAX_BUCKET_LAG} buckets
+    * newer - a late or lost report does not hold the series forever. A report that arrives after its bucket has
+    * been merged goes into the oldest open bucket.
+    */
    private final class Data {
       // for reporting
-      private final StatisticsSnapshot total = new StatisticsSnapshot();
+      private final HistogramSettings settings;
+      private final StatisticsSnapshot total;
       private final Map<String, StatisticsSnapshot> perAgent = new HashMap<>();
-      private final Map<String, List<StatisticsSnapshot>> lastStats = new HashMap<>();
-      private final List<StatisticsSummary> series = new ArrayList<>();
-      private final Map<String, List<StatisticsSummary>> agentSeries = new HashMap<>();
+      private final TreeMap<Long, StatisticsSnapshot> buckets = new TreeMap<>();
+      // last bucket each agent has reported into
+      private final Map<String, Long> agentBuckets = new HashMap<>();
+      private long lastCompletedBucket = Long.MIN_VALUE;
+      // only the most recent MAX_SERIES_LENGTH summaries are kept, the totals cover the whole run
+      private final Deque<StatisticsSummary> series = new ArrayDeque<>();
+      private final Map<String, Deque<StatisticsSummary>> agentSeries = new HashMap<>();
       // floating statistics for SLAs
       private final Map<SLA, Window> windowSlas;
       private final SLA[] totalSlas;
+      private final List<SLA.Failure> failures;
 
-      private Data(Map<SLA, Window> periodSlas, SLA[] totalSlas) {
+      private Data(Map<SLA, Window> periodSlas, SLA[] totalSlas, HistogramSettings settings, List<SLA.Failure> failures) {
          this.windowSlas = periodSlas;
          this.totalSlas = totalSlas;
+         this.failures = failures;
+         this.settings = settings;
+         this.total = new StatisticsSnapshot(settings);
       }
 
       public void record(String address, StatisticsSnapshot stats) {
          stats.addInto(total);
-         stats.addInto(perAgent.computeIfAbsent(address, a -> new StatisticsSnapshot()));
-         lastStats.computeIfAbsent(address, a -> new LinkedList<>()).add(stats);
-         if (lastStats.values().stream().filter(l -> !l.isEmpty()).count() == benchmark.agents().length) {
-            StatisticsSnapshot sum = new StatisticsSnapshot();
-            for (List<StatisticsSnapshot> list : lastStats.values()) {
-               list.remove(0).addInto(sum);
-            }
-            series.add(sum.summary(percentiles));
-            for (Map.Entry<SLA, Window> entry : windowSlas.entrySet()) {
-               SLA sla = entry.getKey();
-               Window window = entry.getValue();
-
-               window.add(sum);
-
-               // If we haven't filled full window the SLA won't be validated
-               SLA.Failure failure = sla.validate(window.current());
-               if (window.isFull() && failure != null) {
-                  if (failures.size() < maxFailures) {
-                     failures.add(failure);
-                  }
-                  failureHandler.accept(failure);
+         stats.addInto(perAgent.computeIfAbsent(address, a -> new StatisticsSnapshot(settings)));
+         appendToSeries(agentSeries.computeIfAbsent(address, a -> new ArrayDeque<>()), stats.summary(percentiles));
+
+         long bucket = Math.max(stats.histogram.getStartTimeStamp() / collectionPeriod, lastCompletedBucket + 1);
+         stats.addInto(buckets.computeIfAbsent(bucket, b -> new StatisticsSnapshot(settings)));
+         agentBuckets.merge(address, bucket, Math::max);
+
+         long reportedByAll = agentBuckets.size() < numAgents ? Long.MIN_VALUE : Collections.min(agentBuckets.values());
+         completeBuckets(Math.max(reportedByAll, buckets.lastKey() - MAX_BUCKET_LAG));
+      }
+
+      private void completeBuckets(long maxBucket) {
+         while (!buckets.isEmpty() && buckets.firstKey() <= maxBucket) {
+            Map.Entry<Long, StatisticsSnapshot> entry = buckets.pollFirstEntry();
+            lastCompletedBucket = entry.getKey();
+            addToSeries(entry.getValue());
+         }
+      }
+
+      private void addToSeries(StatisticsSnapshot sum) {
+         appendToSeries(series, sum.summary(percentiles));
+         for (Map.Entry<SLA, Window> entry : windowSlas.entrySet()) {
+            SLA sla = entry.getKey();
+            Window window = entry.getValue();
+
+            window.add(sum);
+
+            // If we haven't filled full window the SLA won't be validated
+            SLA.Failure failure = sla.validate(window.current());
+            if (window.isFull() && failure != null) {
+               if (failures.size() < maxFailures) {
+                  failures.add(failure);
                }
+               failureHandler.accept(failure);
             }
          }
-         agentSeries.computeIfAbsent(address, a -> new ArrayList<>()).add(stats.summary(percentiles));
+      }
+
+      private void appendToSeries(Deque<StatisticsSummary> series, StatisticsSummary summary) {
+         if (series.size() >= MAX_SERIES_LENGTH) {
+            series.pollFirst();
+         }
+         series.addLast(summary);
       }
 
       public void validateTotalSlas() {
@@ -0,0 +1,94 @@
+package io.sailrocket.core.parser;
+
+import java.util.function.BiConsumer;
+
+import org.yaml.snakeyaml.events.Event;
+import org.yaml.snakeyaml.events.MappingStartEvent;
+import org.yaml.snakeyaml.events.ScalarEvent;
+
+import io.sailrocket.api.config.ArrivalDistribution;
+import io.sailrocket.api.config.BenchmarkDefinitionException;
+import io.sailrocket.core.builders.PhaseBuilder;
+
+/**
+ * Accepts either name of the distribution (<code>constant</code>, <code>poisson</code> or <code>uniform</code>)
+ * or a mapping with <code>distribution</code> and <code>jitter</code> (for uniform distribution), or <code>class</code>
+ * implementing {@link ArrivalDistribution}.
+ */
+class ArrivalsParser implements Parser<PhaseBuilder> {
+   private static final double DEFAULT_JITTER = 0.5;
+
+   private final BiConsumer<PhaseBuilder, ArrivalDistribution> consumer;
+
+   ArrivalsParser(BiConsumer<PhaseBuilder, ArrivalDistribution> consumer) {
+      this.consumer = consumer;
+   }
+
+   @Override
+   public void parse(Context ctx, PhaseBuilder target) throws ParserException {
+      if (!ctx.hasNext()) {
+         throw ctx.noMoreEvents(ScalarEvent.class, MappingStartEvent.class);
+      }
+      Event event = ctx.peek();
+      ArrivalsBuilder builder = new ArrivalsBuilder();
+      if (event instanceof ScalarEvent) {
+         builder.distribution = ((ScalarEvent) event).getValue();
+         ctx.consumePeeked(event);
+      } else if (event instanceof MappingStartEvent) {
+         MappingParser.INSTANCE.parse(ctx, builder);
+      } else {
+         throw ctx.unexpectedEvent(event);
+      }
+      try {
+         consumer.accept(target, builder.build());
+      } catch (BenchmarkDefinitionException e) {
+         throw new ParserException(event, "Cannot create arrival distribution", e);
+      }
+   }
+
+   private static class ArrivalsBuilder {
+      String distribution;
+      double jitter = DEFAULT_JITTER;
+      String clazz;
+
+      ArrivalDistribution build() {
+         if (clazz != null) {
+            if (distribution != null) {
+               throw new BenchmarkDefinitionException("Set either distribution or class, not both.");
+            }
+            try {
+               Object instance = Thread.currentThread().getContextClassLoader().loadClass(clazz).getDeclaredConstructor().newInstance();
+               if (!(instance instanceof ArrivalDistribution)) {
+                  throw new BenchmarkDefinitionException(clazz + " does not implement " + ArrivalDistribution.class.getName());
+               }
+               return (ArrivalDistribution) instance;
+            } catch (ReflectiveOperationException e) {
+               throw new BenchmarkDefinitionException("Cannot instantiate " + clazz, e);
+            }
+         }
+         if (distribution == null) {
+            throw new BenchmarkDefinitionException("Distribution not set.");
+         }
+         switch (distribution) {
+            case "constant":
+               return ArrivalDistribution.CONSTANT;
+            case "poisson":
+               return ArrivalDistribution.POISSON;
+            case "uniform":
+               return ArrivalDistribution.uniform(jitter);
+            default:
+               throw new BenchmarkDefinitionException("Unknown distribution " + distribution + ", expected one of: constant, poisson, uniform");
+         }
+      }
+   }
+
+   private static class MappingParser extends AbstractMappingParser<ArrivalsBuilder> {
+      static MappingParser INSTANCE = new MappingParser();
+
+      MappingParser() {
+         register("distribution", new PropertyParser.String<>((builder, value) -> builder.distribution = value));
+         register("jitter", new PropertyParser.Double<>((builder, value) -> builder.jitter = value));
+         register("class", new PropertyParser.String<>((builder, value) -> builder.clazz = value));
+      }
+   }
+}
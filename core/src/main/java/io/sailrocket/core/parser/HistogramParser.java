@@ -0,0 +1,18 @@
+package io.sailrocket.core.parser;
+
+import io.sailrocket.core.builders.HistogramBuilder;
+
+class HistogramParser extends AbstractMappingParser<HistogramBuilder> {
+   private static final HistogramParser INSTANCE = new HistogramParser();
+
+   HistogramParser() {
+      register("highestTrackableValue", new PropertyParser.String<>(HistogramBuilder::highestTrackableValue));
+      register("significantDigits", new PropertyParser.Int<>(HistogramBuilder::significantDigits));
+      register("autoResize", new PropertyParser.Boolean<>(HistogramBuilder::autoResize));
+      register("countsType", new PropertyParser.String<>(HistogramBuilder::countsType));
+   }
+
+   static HistogramParser instance() {
+      return INSTANCE;
+   }
+}
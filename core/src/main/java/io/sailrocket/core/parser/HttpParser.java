@@ -1,9 +1,78 @@
 package io.sailrocket.core.parser;
 
+import org.yaml.snakeyaml.events.Event;
+import org.yaml.snakeyaml.events.MappingEndEvent;
+import org.yaml.snakeyaml.events.MappingStartEvent;
+import org.yaml.snakeyaml.events.ScalarEvent;
+import org.yaml.snakeyaml.events.SequenceStartEvent;
+
+import io.sailrocket.api.config.BenchmarkDefinitionException;
 import io.sailrocket.core.builders.HttpBuilder;
+import io.sailrocket.core.builders.SimulationBuilder;
+import io.sailrocket.core.client.Balancers;
 
 class HttpParser extends AbstractMappingParser<HttpBuilder> {
+   private static final HttpParser INSTANCE = new HttpParser();
+
    HttpParser() {
-      register("baseUrl", new PropertyParser.String<>(HttpBuilder::baseUrl));
+      register("name", new PropertyParser.String<>(HttpBuilder::name));
+      register("baseUrl", HttpParser::parseBaseUrl);
+      register("protocol", HttpParser::parseProtocol);
+      register("connections", new PropertyParser.Int<>(HttpBuilder::connections));
+      register("concurrency", new PropertyParser.Int<>(HttpBuilder::concurrency));
+      register("initialWindowSize", new PropertyParser.Int<>(HttpBuilder::initialWindowSize));
+      register("connectionWindowSize", new PropertyParser.Int<>(HttpBuilder::connectionWindowSize));
+      register("balancer", HttpParser::parseBalancer);
+   }
+
+   private static void parseBaseUrl(Context ctx, HttpBuilder target) throws ParserException {
+      if (ctx.peek() instanceof SequenceStartEvent) {
+         ctx.parseList(target, (ctx2, builder) -> builder.addBaseUrl(ctx2.expectEvent(ScalarEvent.class).getValue()));
+      } else {
+         target.baseUrl(ctx.expectEvent(ScalarEvent.class).getValue());
+      }
+   }
+
+   private static void parseProtocol(Context ctx, HttpBuilder target) throws ParserException {
+      ScalarEvent event = ctx.expectEvent(ScalarEvent.class);
+      try {
+         target.protocol(event.getValue());
+      } catch (BenchmarkDefinitionException e) {
+         throw new ParserException(event, "Invalid protocol", e);
+      }
+   }
+
+   private static void parseBalancer(Context ctx, HttpBuilder target) throws ParserException {
+      Event event = ctx.peek();
+      try {
+         if (event instanceof MappingStartEvent) {
+            // the only parametrized balancer so far
+            ctx.consumePeeked(event);
+            ScalarEvent type = ctx.expectEvent(ScalarEvent.class);
+            if (!"hash".equals(type.getValue())) {
+               throw new ParserException(type, "Expected 'hash: <variable>', got " + type.getValue());
+            }
+            target.balancer(Balancers.hash(ctx.expectEvent(ScalarEvent.class).getValue()));
+            ctx.expectEvent(MappingEndEvent.class);
+         } else {
+            target.balancer(Balancers.byName(ctx.expectEvent(ScalarEvent.class).getValue()));
+         }
+      } catch (BenchmarkDefinitionException e) {
+         throw new ParserException(event, "Invalid balancer", e);
+      }
+   }
+
+   /**
+    * Single endpoint as a mapping or list of named endpoints.
+    */
+   static class Endpoints implements Parser<SimulationBuilder> {
+      @Override
+      public void parse(Context ctx, SimulationBuilder target) throws ParserException {
+         if (ctx.peek() instanceof SequenceStartEvent) {
+            ctx.parseList(target, (ctx2, simulation) -> INSTANCE.parse(ctx2, simulation.addHttp()));
+         } else {
+            INSTANCE.parse(ctx, target.http());
+         }
+      }
    }
 }
@@ -48,6 +48,7 @@ abstract class PhaseParser extends AbstractParser<PhaseBuilder.Discriminator, Ph
          register("initialUsersPerSec", new IncrementPropertyParser.Double<>((builder, base, inc) -> ((PhaseBuilder.RampPerSec) builder).initialUsersPerSec(base, inc)));
          register("targetUsersPerSec", new IncrementPropertyParser.Double<>((builder, base, inc) -> ((PhaseBuilder.RampPerSec) builder).targetUsersPerSec(base, inc)));
          register("maxSessionsEstimate", new PropertyParser.Int<>((builder, sessions) -> ((PhaseBuilder.RampPerSec) builder).maxSessionsEstimate(sessions)));
+         register("arrivals", new ArrivalsParser((builder, arrivals) -> ((PhaseBuilder.RampPerSec) builder).arrivals(arrivals)));
       }
 
       @Override
@@ -60,6 +61,7 @@ abstract class PhaseParser extends AbstractParser<PhaseBuilder.Discriminator, Ph
       ConstantPerSec() {
          register("usersPerSec", new IncrementPropertyParser.Double<>((builder, base, inc) -> ((PhaseBuilder.ConstantPerSec) builder).usersPerSec(base, inc)));
          register("maxSessionsEstimate", new PropertyParser.Int<>((builder, sessions) -> ((PhaseBuilder.ConstantPerSec) builder).maxSessionsEstimate(sessions)));
+         register("arrivals", new ArrivalsParser((builder, arrivals) -> ((PhaseBuilder.ConstantPerSec) builder).arrivals(arrivals)));
       }
 
       @Override
@@ -67,4 +69,36 @@ abstract class PhaseParser extends AbstractParser<PhaseBuilder.Discriminator, Ph
          return discriminator.constantPerSec(-1);
       }
    }
+
+   static class RateProfile extends PhaseParser {
+      RateProfile() {
+         register("file", new PropertyParser.String<>((builder, file) -> ((PhaseBuilder.RateProfile) builder).file(file)));
+         register("timeScale", new PropertyParser.Double<>((builder, scale) -> ((PhaseBuilder.RateProfile) builder).timeScale(scale)));
+         register("usersPerSecScale", new PropertyParser.Double<>((builder, scale) -> ((PhaseBuilder.RateProfile) builder).usersPerSecScale(scale)));
+         register("maxSessionsEstimate", new PropertyParser.Int<>((builder, sessions) -> ((PhaseBuilder.RateProfile) builder).maxSessionsEstimate(sessions)));
+         register("arrivals", new ArrivalsParser((builder, arrivals) -> ((PhaseBuilder.RateProfile) builder).arrivals(arrivals)));
+      }
+
+      @Override
+      protected PhaseBuilder type(PhaseBuilder.Discriminator discriminator) {
+         return discriminator.rateProfile(null);
+      }
+   }
+
+   static class MaxThroughput extends PhaseParser {
+      MaxThroughput() {
+         register("initialUsersPerSec", new PropertyParser.Double<>((builder, rate) -> ((PhaseBuilder.MaxThroughput) builder).initialUsersPerSec(rate)));
+         register("maxUsersPerSec", new PropertyParser.Double<>((builder, rate) -> ((PhaseBuilder.MaxThroughput) builder).maxUsersPerSec(rate)));
+         register("precision", new PropertyParser.Double<>((builder, precision) -> ((PhaseBuilder.MaxThroughput) builder).precision(precision)));
+         register("stepDuration", new PropertyParser.String<>((builder, duration) -> ((PhaseBuilder.MaxThroughput) builder).stepDuration(duration)));
+         register("settleTime", new PropertyParser.String<>((builder, duration) -> ((PhaseBuilder.MaxThroughput) builder).settleTime(duration)));
+         register("maxSessionsEstimate", new PropertyParser.Int<>((builder, sessions) -> ((PhaseBuilder.MaxThroughput) builder).maxSessionsEstimate(sessions)));
+         register("arrivals", new ArrivalsParser((builder, arrivals) -> ((PhaseBuilder.MaxThroughput) builder).arrivals(arrivals)));
+      }
+
+      @Override
+      protected PhaseBuilder type(PhaseBuilder.Discriminator discriminator) {
+         return discriminator.maxThroughput(-1, -1);
+      }
+   }
 }
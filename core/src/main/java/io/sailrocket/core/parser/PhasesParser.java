@@ -33,6 +33,8 @@ class PhasesParser extends AbstractParser<SimulationBuilder, PhaseBuilder.Discri
         register("!always", new PhaseParser.Always());
         register("!rampPerSec", new PhaseParser.RampPerSec());
         register("!constantPerSec", new PhaseParser.ConstantPerSec());
+        register("!rateProfile", new PhaseParser.RateProfile());
+        register("!maxThroughput", new PhaseParser.MaxThroughput());
     }
 
     @Override
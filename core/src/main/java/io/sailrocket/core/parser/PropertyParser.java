@@ -75,6 +75,27 @@ class PropertyParser {
         }
     }
 
+    static class Boolean<T> implements Parser<T> {
+        private final BiConsumer<T, java.lang.Boolean> consumer;
+
+        Boolean(BiConsumer<T, java.lang.Boolean> consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void parse(Context ctx, T target) throws ParserException {
+            ScalarEvent event = ctx.expectEvent(ScalarEvent.class);
+            java.lang.String value = event.getValue();
+            if ("true".equalsIgnoreCase(value)) {
+                consumer.accept(target, true);
+            } else if ("false".equalsIgnoreCase(value)) {
+                consumer.accept(target, false);
+            } else {
+                throw new ParserException(event, "Failed to parse as boolean: " + value);
+            }
+        }
+    }
+
     static class Double<T> implements Parser<T> {
         private final BiConsumer<T, java.lang.Double> consumer;
 
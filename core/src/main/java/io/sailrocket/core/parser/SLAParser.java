@@ -27,6 +27,7 @@ class SLAParser extends AbstractMappingParser<SLABuilder> {
         register("window", new PropertyParser.String<>(SLABuilder::window));
         register("errorRate", new PropertyParser.Double<>(SLABuilder::errorRate));
         register("meanResponseTime", new PropertyParser.String<>(SLABuilder::meanResponseTime));
+        register("latency", new PropertyParser.String<>(SLABuilder::latency));
         register("limits", new PercentileLimitsParser());
     }
 
@@ -24,9 +24,15 @@ class SimulationParser extends AbstractMappingParser<SimulationBuilder> {
     SimulationParser() {
         register("concurrency", new PropertyParser.Int<>(SimulationBuilder::concurrency));
         register("connections", new PropertyParser.Int<>(SimulationBuilder::connections));
-        register("http", new Adapter<>(SimulationBuilder::http, new HttpParser()));
+        register("connectRate", new PropertyParser.Double<>(SimulationBuilder::connectRate));
+        register("connectParallelism", new PropertyParser.Int<>(SimulationBuilder::connectParallelism));
+        register("http", new HttpParser.Endpoints());
         register("phases", new PhasesParser());
         register("threads", new PropertyParser.Int<>(SimulationBuilder::threads));
+        register("transport", new PropertyParser.String<>(SimulationBuilder::transport));
+        register("socketOptions", new SocketOptionsParser());
         register("statisticsCollectionPeriod", new PropertyParser.Int<>(SimulationBuilder::statisticsCollectionPeriod));
+        register("timerTick", new PropertyParser.Int<>(SimulationBuilder::timerTick));
+        register("histogram", new Adapter<>(SimulationBuilder::histogram, HistogramParser.instance()));
     }
 }
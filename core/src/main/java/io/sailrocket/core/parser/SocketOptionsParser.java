@@ -0,0 +1,27 @@
+package io.sailrocket.core.parser;
+
+import io.sailrocket.core.builders.SimulationBuilder;
+
+import org.yaml.snakeyaml.events.Event;
+import org.yaml.snakeyaml.events.MappingEndEvent;
+import org.yaml.snakeyaml.events.MappingStartEvent;
+import org.yaml.snakeyaml.events.ScalarEvent;
+
+class SocketOptionsParser implements Parser<SimulationBuilder> {
+   @Override
+   public void parse(Context ctx, SimulationBuilder builder) throws ParserException {
+      ctx.expectEvent(MappingStartEvent.class);
+      while (ctx.hasNext()) {
+         Event next = ctx.next();
+         if (next instanceof MappingEndEvent) {
+            break;
+         } else if (next instanceof ScalarEvent) {
+            String name = ((ScalarEvent) next).getValue();
+            ScalarEvent event = ctx.expectEvent(ScalarEvent.class);
+            builder.socketOption(name, event.getValue());
+         } else {
+            throw ctx.unexpectedEvent(next);
+         }
+      }
+   }
+}
@@ -78,6 +78,14 @@ class StepParser implements Parser<BaseSequenceBuilder> {
          }
          ctx.expectEvent(MappingEndEvent.class);
          return;
+      } else if ("histogram".equals(stepEvent.getValue())) {
+         if (target instanceof SequenceBuilder) {
+            HistogramParser.instance().parse(ctx, ((SequenceBuilder) target).histogram());
+         } else {
+            throw new ParserException(stepEvent, "Histogram settings are allowed only as the top-level sequence element.");
+         }
+         ctx.expectEvent(MappingEndEvent.class);
+         return;
       }
       Method step = STEPS.get(stepEvent.getValue());
       if (step == null) {
@@ -3,10 +3,12 @@ package io.sailrocket.core.session;
 import io.sailrocket.api.session.Session;
 
 public class IntVar implements Session.Var {
+   private final SessionImpl session;
    private boolean set;
    private int value;
 
    IntVar(SessionImpl session) {
+      this.session = session;
       session.registerVar(this);
    }
 
@@ -34,6 +36,7 @@ public class IntVar implements Session.Var {
    public void set(int value) {
       this.value = value;
       this.set = true;
+      session.signal(Session.WAKE_VARIABLE);
    }
 
    public void add(int delta) {
@@ -3,6 +3,7 @@ package io.sailrocket.core.session;
 import io.sailrocket.api.session.Session;
 
 public class ObjectVar implements Session.Var {
+   private final SessionImpl session;
    boolean set;
    Object value;
 
@@ -13,6 +14,7 @@ public class ObjectVar implements Session.Var {
    }
 
    ObjectVar(SessionImpl session) {
+      this.session = session;
       session.registerVar(this);
    }
 
@@ -34,5 +36,6 @@ public class ObjectVar implements Session.Var {
    public void set(Object value) {
       this.value = value;
       this.set = true;
+      session.signal(Session.WAKE_VARIABLE);
    }
 }
@@ -1,24 +1,31 @@
 package io.sailrocket.core.session;
 
 import io.sailrocket.api.collection.RequestQueue;
+import io.sailrocket.api.session.Session;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 
 class RequestQueueImpl implements RequestQueue {
    private static final Logger log = LoggerFactory.getLogger(RequestQueueImpl.class);
-
-   private final Request[] queue;
-   private final int mask;
-   private int readerIndex = 0;
-   private int writerIndex = 0;
-
-   RequestQueueImpl(int maxRequests) {
-      int shift = 32 - Integer.numberOfLeadingZeros(maxRequests - 1);
-      mask = (1 << shift) - 1;
-      queue = new Request[mask + 1];
-      for (int i = 0; i < queue.length; ++i) {
-         queue[i] = new Request();
+   private static final boolean trace = log.isTraceEnabled();
+
+   private final SessionImpl session;
+   private final Request[] all;
+   // Free handles form a stack so that a session with few requests in flight keeps reusing the same ones
+   private final Request[] free;
+   private int freeCount;
+
+   RequestQueueImpl(SessionImpl session, int maxRequests) {
+      this.session = session;
+      all = new Request[maxRequests];
+      free = new Request[maxRequests];
+      for (int i = 0; i < maxRequests; ++i) {
+         all[i] = new Request(i);
+      }
+      for (int i = 0; i < maxRequests; ++i) {
+         free[i] = all[maxRequests - 1 - i];
       }
+      freeCount = maxRequests;
    }
 
    /**
@@ -26,41 +33,31 @@ class RequestQueueImpl implements RequestQueue {
     */
    @Override
    public Request prepare() {
-      log.trace("Prepare: {}/{}", writerIndex, readerIndex);
-      // This algorithm allows writerIndex > mask
-      if (writerIndex == readerIndex - 1 || writerIndex == readerIndex + mask + 1) {
-         return null;
+      if (trace) {
+         log.trace("Prepare: {} free", freeCount);
       }
-      Request slot = queue[writerIndex & mask];
-      if (writerIndex > mask) {
-         writerIndex = 0;
-      } else {
-         writerIndex++;
+      if (freeCount == 0) {
+         return null;
       }
-      return slot;
+      Request request = free[--freeCount];
+      free[freeCount] = null;
+      return request;
    }
 
    @Override
-   public Request peek() {
-      return queue[readerIndex & mask];
-   }
-
-   @Override
-   public Request complete() {
-      log.trace("Complete: {}/{}", writerIndex, readerIndex);
-      assert readerIndex != writerIndex;
-      Request slot = queue[readerIndex & mask];
-      if (readerIndex > mask) {
-         readerIndex = 0;
-      } else {
-         readerIndex++;
+   public void complete(Request request) {
+      if (trace) {
+         log.trace("Complete #{}: {} free", request.index, freeCount);
       }
-      return slot;
+      assert all[request.index] == request;
+      assert freeCount < free.length;
+      request.sequence = null;
+      free[freeCount++] = request;
+      session.signal(Session.WAKE_REQUEST_SLOT | Session.WAKE_RESPONSE);
    }
 
    @Override
    public boolean isFull() {
-      return readerIndex == writerIndex;
+      return freeCount == all.length;
    }
-
 }
@@ -0,0 +1,66 @@
+package io.sailrocket.core.session;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+import io.sailrocket.api.collection.RequestQueue;
+import io.sailrocket.api.session.Session;
+
+/**
+ * Key to a session resource that is held separately for each request handle of the session. Validators, extractors
+ * and processors keep state while parsing the response; responses to concurrent requests (e.g. HTTP/2 streams) are
+ * handled by the same instances, so they must not share this state. {@link #get(Session)} returns the resource bound
+ * to {@link Session#currentRequest()}; these are created lazily and reused, like the response handlers.
+ */
+public final class RequestResourceAccess<R extends Session.Resource> implements Serializable {
+   private final ResourceAccess<PerRequest<R>> access = new ResourceAccess<>();
+
+   public void declare(Session session, Supplier<R> factory) {
+      access.declare(session, new PerRequest<>(factory));
+   }
+
+   @SuppressWarnings("unchecked")
+   public R get(Session session) {
+      PerRequest<R> perRequest = access.get(session);
+      RequestQueue.Request request = session.currentRequest();
+      if (request == null) {
+         // not handling any response, e.g. when invoked directly
+         if (perRequest.unbound == null) {
+            perRequest.unbound = perRequest.factory.get();
+         }
+         return perRequest.unbound;
+      }
+      Session.Resource[] byRequest = perRequest.byRequest;
+      if (request.index >= byRequest.length) {
+         perRequest.byRequest = byRequest = Arrays.copyOf(byRequest, request.index + 1);
+      }
+      R resource = (R) byRequest[request.index];
+      if (resource == null) {
+         byRequest[request.index] = resource = perRequest.factory.get();
+      }
+      return resource;
+   }
+
+   private static final class PerRequest<R extends Session.Resource> implements Session.Resource {
+      private final Supplier<R> factory;
+      private Session.Resource[] byRequest = new Session.Resource[1];
+      private R unbound;
+
+      private PerRequest(Supplier<R> factory) {
+         this.factory = factory;
+      }
+
+      @Override
+      public void onSessionReset() {
+         for (Session.Resource resource : byRequest) {
+            if (resource != null) {
+               resource.onSessionReset();
+            }
+         }
+         if (unbound != null) {
+            unbound.onSessionReset();
+         }
+      }
+   }
+}
@@ -0,0 +1,38 @@
+package io.sailrocket.core.session;
+
+import java.io.Serializable;
+
+import io.sailrocket.api.session.Session;
+
+/**
+ * Key to a session resource that is resolved to a slot (index into session's resources) when the resource is
+ * declared; further lookups through {@link #get(Session)} are plain array loads. As with {@link VarAccess}, the slot
+ * is bound to the scenario and it is resolved for each scenario if the owner is shared by multiple scenarios.
+ */
+public final class ResourceAccess<R extends Session.Resource> implements Session.ResourceKey<R>, Serializable {
+   private transient Slot slots;
+
+   public void declare(Session session, R resource) {
+      SessionImpl impl = (SessionImpl) session;
+      int index = Slot.find(slots, impl.scenario);
+      if (index < 0) {
+         index = impl.scenario.declareResourceSlot(this);
+         slots = new Slot(impl.scenario, index, slots);
+      }
+      impl.declareResource(index, resource);
+   }
+
+   @SuppressWarnings("unchecked")
+   public R get(Session session) {
+      SessionImpl impl = (SessionImpl) session;
+      int index = Slot.find(slots, impl.scenario);
+      if (index < 0) {
+         index = impl.scenario.resourceSlot(this);
+         if (index < 0) {
+            throw new IllegalStateException("Resource " + this + " was not declared!");
+         }
+         slots = new Slot(impl.scenario, index, slots);
+      }
+      return (R) impl.resource(index);
+   }
+}
@@ -4,6 +4,7 @@ import io.sailrocket.api.config.Sequence;
 import io.sailrocket.api.session.SequenceInstance;
 import io.sailrocket.api.session.Session;
 import io.sailrocket.api.config.Step;
+import io.sailrocket.api.statistics.HistogramSettings;
 import io.sailrocket.core.api.ResourceUtilizer;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
@@ -15,12 +16,14 @@ public class SequenceImpl implements Sequence {
    private final String name;
    private final int id;
    private final Step[] steps;
+   private final HistogramSettings histogramSettings;
 
-   public SequenceImpl(String phase, String name, int id, Step[] steps) {
+   public SequenceImpl(String phase, String name, int id, Step[] steps, HistogramSettings histogramSettings) {
       this.phase = phase;
       this.name = name;
       this.id = id;
       this.steps = steps;
+      this.histogramSettings = histogramSettings;
    }
 
    @Override
@@ -58,4 +61,9 @@ public class SequenceImpl implements Sequence {
    public String phase() {
       return phase;
    }
+
+   @Override
+   public HistogramSettings histogramSettings() {
+      return histogramSettings;
+   }
 }
@@ -7,17 +7,17 @@ import io.sailrocket.api.session.VarReference;
 import io.sailrocket.api.session.Session;
 
 public class SequenceScopedVarReference implements VarReference {
-   private final String var;
+   private final VarAccess var;
 
    public SequenceScopedVarReference(String var) {
-      this.var = var;
+      this.var = new VarAccess(var);
    }
 
    @Override
    public boolean isSet(Session session) {
-      if (!session.isSet(var)) return false;
+      if (!var.isSet(session)) return false;
 
-      Object collection = session.getObject(var);
+      Object collection = var.getObject(session);
       if (collection == null) {
          throw new IllegalStateException("Collection in " + var + " is null!");
       } else if (collection.getClass().isArray()) {
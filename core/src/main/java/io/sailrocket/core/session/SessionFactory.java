@@ -1,19 +1,31 @@
 package io.sailrocket.core.session;
 
 import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import io.netty.util.concurrent.EventExecutorGroup;
 import io.sailrocket.api.config.Phase;
 import io.sailrocket.api.config.Scenario;
 import io.sailrocket.api.config.Sequence;
 import io.sailrocket.api.connection.HttpClientPool;
+import io.sailrocket.api.connection.HttpEndpoint;
 import io.sailrocket.api.session.Session;
 import io.sailrocket.core.api.PhaseInstance;
+import io.sailrocket.core.client.EndpointPools;
 import io.sailrocket.core.impl.PhaseInstanceImpl;
 
 public final class SessionFactory {
+   public static Session create(Map<String, EndpointPools> endpoints, Scenario scenario, int uniqueId, long timerTick) {
+      return new SessionImpl(endpoints, scenario, uniqueId, TimeUnit.MILLISECONDS.toNanos(timerTick));
+   }
+
+   /**
+    * Creates session with the pool as the only (default) endpoint.
+    */
    public static Session create(HttpClientPool httpClientPool, Scenario scenario, int uniqueId) {
-      return new SessionImpl(httpClientPool, scenario, uniqueId);
+      EndpointPools pools = new EndpointPools(HttpEndpoint.DEFAULT, new HttpClientPool[] { httpClientPool }, null);
+      return create(Collections.singletonMap(HttpEndpoint.DEFAULT, pools), scenario, uniqueId, 1);
    }
 
    public static void resetPhase(Session session, PhaseInstance phase) {
@@ -22,7 +34,7 @@ public final class SessionFactory {
 
    public static Session forTesting() {
       Scenario dummyScenario = new Scenario(new Sequence[0], new Sequence[0], new String[0], new String[0]);
-      SessionImpl session = new SessionImpl(null, dummyScenario, 0);
+      SessionImpl session = new SessionImpl(Collections.emptyMap(), dummyScenario, 0, TimeUnit.MILLISECONDS.toNanos(1));
       Phase dummyPhase = new Phase("dummy", dummyScenario, 0, Collections.emptyList(), Collections.emptyList(), Collections.emptyList(), 0, -1, null) {
       };
       session.resetPhase(new PhaseInstanceImpl<Phase>(dummyPhase) {
@@ -11,24 +11,28 @@ import io.sailrocket.api.session.SequenceInstance;
 import io.sailrocket.api.session.Session;
 import io.sailrocket.api.statistics.Statistics;
 import io.sailrocket.core.api.PhaseInstance;
+import io.sailrocket.core.client.EndpointPools;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 
 import java.util.ArrayList;
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 class SessionImpl implements Session, Runnable {
    private static final Logger log = LoggerFactory.getLogger(SessionImpl.class);
    private static final boolean trace = log.isTraceEnabled();
 
-   private final HttpClientPool httpClientPool;
+   // indexed in the order of definition, the names are resolved when the steps are built
+   private final EndpointPools[] endpoints;
+   final Scenario scenario;
 
-   // Note: HashMap.get() is allocation-free, so we can use it for direct lookups. Replacing put() is also
-   // allocation-free, so vars are OK to write as long as we have them declared.
-   private final Map<Object, Var> vars = new HashMap<>();
-   private final Map<ResourceKey, Resource> resources = new HashMap<>();
+   // Variables indexed by slots assigned in the scenario; see VarAccess.
+   private Var[] vars;
+   // Resources indexed by slots assigned in the scenario; see ResourceAccess.
+   private Resource[] resources;
    private final List<Var> allVars = new ArrayList<>();
    private final RequestQueueImpl requestQueue;
    private final Pool<SequenceInstance> sequencePool;
@@ -36,26 +40,44 @@ class SessionImpl implements Session, Runnable {
    private PhaseInstance phase;
    private int lastRunningSequence = -1;
    private SequenceInstance currentSequence;
+   private RequestQueue.Request currentRequest;
+   // events signalled since the blocked sequences were last evaluated
+   private int signals;
 
    private EventExecutor executor;
+   private long intendedStartTime;
+   // negative value means that the session was started but did not run yet
+   private long startDelay;
 
    private final ValidatorResults validatorResults = new ValidatorResults();
-   private final Statistics[] statistics;
+   // recorders shared with other sessions on the same executor, resolved lazily
+   private Statistics[] statistics;
    private final int uniqueId;
 
-   public SessionImpl(HttpClientPool httpClientPool, Scenario scenario, int uniqueId) {
-      this.httpClientPool = httpClientPool;
-      this.requestQueue = new RequestQueueImpl(scenario.maxRequests());
+   private final long timerTickNanos;
+   private TimerWheel timerWheel;
+   // intrusive links in the timer wheel bucket, negative tick means not scheduled
+   long timerTick = -1;
+   SessionImpl timerPrev;
+   SessionImpl timerNext;
+
+   /**
+    * @param endpoints Pools by endpoint name, iterated in the order of definition.
+    */
+   public SessionImpl(Map<String, EndpointPools> endpoints, Scenario scenario, int uniqueId, long timerTickNanos) {
+      this.endpoints = endpoints.values().toArray(new EndpointPools[0]);
+      this.scenario = scenario;
+      this.vars = new Var[scenario.varSlots()];
+      this.resources = new Resource[scenario.resourceSlots()];
+      this.timerTickNanos = timerTickNanos;
+      this.requestQueue = new RequestQueueImpl(this, scenario.maxRequests());
       this.sequencePool = new Pool<>(scenario.maxSequences(), SequenceInstance::new);
       this.runningSequences = new SequenceInstance[scenario.maxSequences()];
       this.uniqueId = uniqueId;
 
       Sequence[] sequences = scenario.sequences();
-      statistics = new Statistics[sequences.length];
       for (int i = 0; i < sequences.length; i++) {
-         Sequence sequence = sequences[i];
-         sequence.reserve(this);
-         statistics[i] = new Statistics();
+         sequences[i].reserve(this);
       }
       for (String var : scenario.objectVars()) {
          declare(var);
@@ -74,8 +96,8 @@ class SessionImpl implements Session, Runnable {
    }
 
    @Override
-   public HttpClientPool httpClientPool() {
-      return httpClientPool;
+   public HttpClientPool httpClientPool(int endpoint) {
+      return endpoints[endpoint].select(this);
    }
 
    @Override
@@ -92,16 +114,34 @@ class SessionImpl implements Session, Runnable {
       allVars.add(var);
    }
 
+   void declareSlot(int slot, Var var) {
+      if (slot >= vars.length) {
+         vars = Arrays.copyOf(vars, Math.max(slot + 1, scenario.varSlots()));
+      }
+      vars[slot] = var;
+   }
+
+   Var var(int slot) {
+      return vars[slot];
+   }
+
+   private Var var(Object key) {
+      int slot = scenario.varSlot(key);
+      if (slot < 0 || slot >= vars.length || vars[slot] == null) {
+         throw new IllegalStateException("Variable " + key + " was not declared!");
+      }
+      return vars[slot];
+   }
+
    @Override
    public Session declare(Object key) {
-      ObjectVar var = new ObjectVar(this);
-      vars.put(key, var);
+      declareSlot(scenario.declareVarSlot(key), new ObjectVar(this));
       return this;
    }
 
    @Override
    public Object getObject(Object key) {
-      return ((ObjectVar) requireSet(key, vars.get(key))).get();
+      return ((ObjectVar) requireSet(key, var(key))).get();
    }
 
    @Override
@@ -109,26 +149,19 @@ class SessionImpl implements Session, Runnable {
       if (trace) {
          log.trace("#{} {} <- {}", uniqueId, key, value);
       }
-      ObjectVar wrapper = (ObjectVar) vars.get(key);
-      wrapper.value = value;
-      wrapper.set = true;
+      ((ObjectVar) var(key)).set(value);
       return this;
    }
 
    @Override
    public Session declareInt(Object key) {
-      IntVar var = new IntVar(this);
-      vars.put(key, var);
+      declareSlot(scenario.declareVarSlot(key), new IntVar(this));
       return this;
    }
 
    @Override
    public int getInt(Object key) {
-      IntVar var = (IntVar) vars.get(key);
-      if (!var.isSet()) {
-         throw new IllegalStateException("Variable " + key + " was not set yet!");
-      }
-      return var.get();
+      return ((IntVar) requireSet(key, var(key))).get();
    }
 
    @Override
@@ -136,48 +169,68 @@ class SessionImpl implements Session, Runnable {
       if (trace) {
          log.trace("#{} {} <- {}", uniqueId, key, value);
       }
-      ((IntVar) vars.get(key)).set(value);
+      ((IntVar) var(key)).set(value);
       return this;
    }
 
    @Override
    public Session addToInt(Object key, int delta) {
-      IntVar wrapper = (IntVar) vars.get(key);
-      if (!wrapper.isSet()) {
-         throw new IllegalStateException("Variable " + key + " was not set yet!");
+      IntVar wrapper = (IntVar) requireSet(key, var(key));
+      if (trace) {
+         log.trace("#{} {} <- {}", uniqueId, key, wrapper.get() + delta);
       }
-      log.trace("#{} {} <- {}", uniqueId, key, wrapper.get() + delta);
-      wrapper.set(wrapper.get() + delta);
+      wrapper.add(delta);
       return this;
    }
 
    @Override
    public boolean isSet(Object key) {
-      return vars.get(key).isSet();
+      return var(key).isSet();
    }
 
    @Override
    public Object activate(Object key) {
-      ObjectVar var = (ObjectVar) vars.get(key);
+      ObjectVar var = (ObjectVar) var(key);
       var.set = true;
-      return var.get();
+      signal(WAKE_VARIABLE);
+      return var.value;
    }
 
    @Override
    public Session unset(Object key) {
-      vars.get(key).unset();
+      var(key).unset();
       return this;
    }
 
+   void declareResource(int slot, Resource resource) {
+      if (slot >= resources.length) {
+         resources = Arrays.copyOf(resources, Math.max(slot + 1, scenario.resourceSlots()));
+      }
+      resources[slot] = resource;
+   }
+
+   Resource resource(int slot) {
+      return resources[slot];
+   }
+
+   @SuppressWarnings("unchecked")
    @Override
    public <R extends Resource> void declareResource(ResourceKey<R> key, R resource) {
-      resources.put(key, resource);
+      if (key instanceof ResourceAccess) {
+         ((ResourceAccess<R>) key).declare(this, resource);
+      } else {
+         declareResource(scenario.declareResourceSlot(key), resource);
+      }
    }
 
    @SuppressWarnings("unchecked")
    @Override
    public <R extends Resource> R getResource(ResourceKey<R> key) {
-      return (R) resources.get(key);
+      if (key instanceof ResourceAccess) {
+         return ((ResourceAccess<R>) key).get(this);
+      }
+      int slot = scenario.resourceSlot(key);
+      return slot < 0 || slot >= resources.length ? null : (R) resources[slot];
    }
 
    private <W extends Var> W requireSet(Object key, W wrapper) {
@@ -193,9 +246,17 @@ class SessionImpl implements Session, Runnable {
          return;
       }
       log.trace("run session #{}", uniqueId);
+      if (startDelay < 0) {
+         startDelay = Math.max(0, System.nanoTime() - intendedStartTime);
+      }
       int lastProgressedSequence = -1;
+      int events = 0;
       while (lastRunningSequence >= 0) {
          boolean progressed = false;
+         // Events are accumulated over the passes: sequences moved in place of completed ones are evaluated only
+         // in the next pass. Events signalled while progressing get noticed in the next pass, too.
+         events |= signals;
+         signals = 0;
          for (int i = 0; i <= lastRunningSequence; ++i) {
             if (phase.status() == PhaseInstance.Status.TERMINATING) {
                if (trace) {
@@ -206,6 +267,11 @@ class SessionImpl implements Session, Runnable {
             } else if (lastProgressedSequence == i) {
                break;
             }
+            int blockedOn = runningSequences[i].blockedOn();
+            if (blockedOn != 0 && (blockedOn & events) == 0) {
+               continue;
+            }
+            runningSequences[i].blockedOn(0);
             currentSequence(runningSequences[i]);
             if (runningSequences[i].progress(this)) {
                progressed = true;
@@ -224,6 +290,11 @@ class SessionImpl implements Session, Runnable {
             }
             currentSequence(null);
          }
+         if (!progressed && (signals & ~events) != 0 && lastRunningSequence >= 0) {
+            // sequences may be waiting for something signalled in this pass
+            lastProgressedSequence = -1;
+            continue;
+         }
          if (!progressed && lastRunningSequence >= 0) {
             log.trace("#{} ({}) no progress, not finished.", uniqueId, phase.definition().name());
             return;
@@ -244,13 +315,71 @@ class SessionImpl implements Session, Runnable {
       return currentSequence;
    }
 
+   @Override
+   public void currentRequest(RequestQueue.Request request) {
+      assert request == null || currentRequest == null;
+      currentRequest = request;
+   }
+
+   @Override
+   public RequestQueue.Request currentRequest() {
+      return currentRequest;
+   }
+
+   @Override
+   public void waitFor(int events) {
+      currentSequence.blockedOn(currentSequence.blockedOn() | events);
+   }
+
+   @Override
+   public void signal(int events) {
+      signals |= events;
+   }
+
    @Override
    public void proceed(EventExecutor executor) {
       assert this.executor == null || this.executor == executor;
-      this.executor = executor;
+      if (this.executor != executor) {
+         this.executor = executor;
+         statistics = null;
+      }
       executor.submit(this);
    }
 
+   @Override
+   public void start(EventExecutor executor, long intendedStartTime) {
+      this.intendedStartTime = intendedStartTime;
+      this.startDelay = -1;
+      proceed(executor);
+   }
+
+   @Override
+   public void schedule(long delay, TimeUnit timeUnit) {
+      if (!executor.inEventLoop()) {
+         executor.schedule(this::onTimer, delay, timeUnit);
+         return;
+      }
+      if (timerWheel == null || timerWheel.executor != executor) {
+         timerWheel = TimerWheel.get(executor, timerTickNanos);
+      }
+      timerWheel.schedule(this, timeUnit.toNanos(delay));
+   }
+
+   void onTimer() {
+      signal(WAKE_TIMER);
+      run();
+   }
+
+   @Override
+   public long intendedStartTime() {
+      return intendedStartTime;
+   }
+
+   @Override
+   public long startDelay() {
+      return startDelay;
+   }
+
    @Override
    public ValidatorResults validatorResults() {
       return validatorResults;
@@ -258,11 +387,15 @@ class SessionImpl implements Session, Runnable {
 
    @Override
    public Statistics statistics(int sequenceId) {
-      return statistics[sequenceId];
+      return statistics()[sequenceId];
    }
 
    @Override
    public Statistics[] statistics() {
+      Statistics[] statistics = this.statistics;
+      if (statistics == null) {
+         this.statistics = statistics = phase.statistics(executor);
+      }
       return statistics;
    }
 
@@ -272,7 +405,18 @@ class SessionImpl implements Session, Runnable {
       for (int i = 0; i < allVars.size(); ++i) {
          allVars.get(i).unset();
       }
+      if (timerWheel != null) {
+         timerWheel.cancel(this);
+      }
+      for (int i = 0; i < resources.length; ++i) {
+         if (resources[i] != null) {
+            resources[i].onSessionReset();
+         }
+      }
       executor = null;
+      statistics = null;
+      startDelay = 0;
+      signals = 0;
       for (Sequence sequence : phase.definition().scenario().initialSequences()) {
          sequence.instantiate(this, 0);
       }
@@ -285,6 +429,7 @@ class SessionImpl implements Session, Runnable {
       assert phase == null || phase.status() == PhaseInstance.Status.TERMINATED;
       assert phase == null || newPhase.status() == PhaseInstance.Status.NOT_STARTED;
       phase = newPhase;
+      statistics = null;
    }
 
    @Override
@@ -1,19 +1,17 @@
 package io.sailrocket.core.session;
 
-import static java.util.Objects.requireNonNull;
-
 import io.sailrocket.api.session.VarReference;
 import io.sailrocket.api.session.Session;
 
 public class SimpleVarReference implements VarReference {
-   private final String var;
+   private final VarAccess var;
 
    public SimpleVarReference(String var) {
-      this.var = requireNonNull(var);
+      this.var = new VarAccess(var);
    }
 
    @Override
    public boolean isSet(Session session) {
-      return session.isSet(var);
+      return var.isSet(session);
    }
 }
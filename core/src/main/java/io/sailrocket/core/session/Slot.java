@@ -0,0 +1,32 @@
+package io.sailrocket.core.session;
+
+import io.sailrocket.api.config.Scenario;
+
+/**
+ * Index of a variable or resource resolved in given scenario. Slots resolved in different scenarios (when the owner
+ * is shared by multiple scenarios) form an immutable list. Has only final fields so that it's safe to publish it
+ * through non-volatile field; a concurrent update can be lost but then the slot is just resolved again.
+ */
+final class Slot {
+   final Scenario scenario;
+   final int index;
+   final Slot next;
+
+   Slot(Scenario scenario, int index, Slot next) {
+      this.scenario = scenario;
+      this.index = index;
+      this.next = next;
+   }
+
+   /**
+    * @return Index resolved for the scenario or -1 if it was not resolved yet.
+    */
+   static int find(Slot slot, Scenario scenario) {
+      for (; slot != null; slot = slot.next) {
+         if (slot.scenario == scenario) {
+            return slot.index;
+         }
+      }
+      return -1;
+   }
+}
@@ -0,0 +1,160 @@
+package io.sailrocket.core.session;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import io.netty.util.concurrent.EventExecutor;
+import io.netty.util.concurrent.FastThreadLocal;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+/**
+ * Hashed timer wheel for delayed runs of sessions, confined to a single event loop. Sessions are linked into
+ * the buckets directly (through their own fields) so scheduling does not allocate; a session is present at most
+ * once, with the earliest deadline requested. Single periodic task runs all sessions due in a tick, and it is
+ * cancelled when the wheel gets empty.
+ */
+final class TimerWheel implements Runnable {
+   private static final Logger log = LoggerFactory.getLogger(TimerWheel.class);
+   private static final boolean trace = log.isTraceEnabled();
+   static final int WHEEL_SIZE = 512;
+   private static final int MASK = WHEEL_SIZE - 1;
+   private static final FastThreadLocal<TimerWheel> WHEELS = new FastThreadLocal<>();
+
+   final EventExecutor executor;
+   private final long tickNanos;
+   private final LongSupplier nanoClock;
+   private final long startNanos;
+   private final SessionImpl[] buckets = new SessionImpl[WHEEL_SIZE];
+   private long processedTick;
+   private int size;
+   private ScheduledFuture<?> tickFuture;
+
+   private TimerWheel(EventExecutor executor, long tickNanos) {
+      this(executor, tickNanos, System::nanoTime);
+   }
+
+   // visible for testing
+   TimerWheel(EventExecutor executor, long tickNanos, LongSupplier nanoClock) {
+      this.executor = executor;
+      this.tickNanos = tickNanos;
+      this.nanoClock = nanoClock;
+      this.startNanos = nanoClock.getAsLong();
+   }
+
+   /**
+    * Must be called from the event loop thread of the executor.
+    */
+   static TimerWheel get(EventExecutor executor, long tickNanos) {
+      assert executor.inEventLoop();
+      TimerWheel wheel = WHEELS.get();
+      if (wheel == null || wheel.executor != executor || wheel.tickNanos != tickNanos) {
+         if (wheel != null && wheel.size > 0) {
+            log.warn("Replacing timer wheel with {} scheduled sessions", wheel.size);
+         }
+         wheel = new TimerWheel(executor, tickNanos);
+         WHEELS.set(wheel);
+      }
+      return wheel;
+   }
+
+   void schedule(SessionImpl session, long delayNanos) {
+      long now = nanoClock.getAsLong();
+      if (tickFuture == null) {
+         processedTick = Math.max(processedTick, (now - startNanos) / tickNanos);
+      }
+      // the session must not run before the deadline, and always falls into a tick that was not processed yet
+      long tick = Math.max(processedTick + 1, (now + delayNanos - startNanos) / tickNanos + 1);
+      if (session.timerTick >= 0) {
+         if (session.timerTick <= tick) {
+            // already scheduled earlier, it will schedule again if needed
+            return;
+         }
+         unlink(session);
+      }
+      link(session, tick);
+      if (tickFuture == null) {
+         tickFuture = executor.scheduleAtFixedRate(this, tickNanos, tickNanos, TimeUnit.NANOSECONDS);
+      }
+   }
+
+   void cancel(SessionImpl session) {
+      if (session.timerTick >= 0) {
+         unlink(session);
+      }
+   }
+
+   @Override
+   public void run() {
+      long currentTick = (nanoClock.getAsLong() - startNanos) / tickNanos;
+      // when we're late by more than whole wheel each bucket is visited just once
+      long lastTick = Math.min(currentTick, processedTick + WHEEL_SIZE);
+      for (long tick = processedTick + 1; tick <= lastTick && size > 0; ++tick) {
+         expire((int) (tick & MASK), currentTick);
+      }
+      processedTick = currentTick;
+      if (size == 0 && tickFuture != null) {
+         tickFuture.cancel(false);
+         tickFuture = null;
+      }
+   }
+
+   private void expire(int bucket, long currentTick) {
+      SessionImpl session = buckets[bucket];
+      SessionImpl ready = null;
+      while (session != null) {
+         SessionImpl next = session.timerNext;
+         if (session.timerTick <= currentTick) {
+            unlink(session);
+            session.timerNext = ready;
+            ready = session;
+         }
+         session = next;
+      }
+      while (ready != null) {
+         SessionImpl next = ready.timerNext;
+         ready.timerNext = null;
+         if (trace) {
+            log.trace("Timer wakes up #{}", ready.uniqueId());
+         }
+         try {
+            ready.onTimer();
+         } catch (Throwable t) {
+            log.error("#{} failed", t, ready.uniqueId());
+            ready.fail(t);
+         }
+         ready = next;
+      }
+   }
+
+   private void link(SessionImpl session, long tick) {
+      int bucket = (int) (tick & MASK);
+      SessionImpl head = buckets[bucket];
+      session.timerTick = tick;
+      session.timerPrev = null;
+      session.timerNext = head;
+      if (head != null) {
+         head.timerPrev = session;
+      }
+      buckets[bucket] = session;
+      ++size;
+   }
+
+   private void unlink(SessionImpl session) {
+      SessionImpl prev = session.timerPrev;
+      SessionImpl next = session.timerNext;
+      if (prev == null) {
+         buckets[(int) (session.timerTick & MASK)] = next;
+      } else {
+         prev.timerNext = next;
+      }
+      if (next != null) {
+         next.timerPrev = prev;
+      }
+      session.timerPrev = null;
+      session.timerNext = null;
+      session.timerTick = -1;
+      --size;
+   }
+}
@@ -0,0 +1,148 @@
+package io.sailrocket.core.session;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+import io.sailrocket.api.config.Scenario;
+import io.sailrocket.api.session.Session;
+import io.vertx.core.logging.Logger;
+import io.vertx.core.logging.LoggerFactory;
+
+/**
+ * Handle to session variable that steps should hold instead of the variable key. The key is resolved to a slot
+ * (index into session's variables) when the variable is declared, then the access is just an array load.
+ * <p>
+ * The resolved slot is bound to the {@link Scenario}; the same step can be shared by multiple scenarios
+ * (e.g. forks of a phase) and in that case the slot is resolved and cached for each of them.
+ */
+public final class VarAccess implements Serializable {
+   private static final Logger log = LoggerFactory.getLogger(VarAccess.class);
+   private static final boolean trace = log.isTraceEnabled();
+
+   private final Object key;
+   private transient Slot slots;
+
+   public VarAccess(Object key) {
+      this.key = requireNonNull(key);
+   }
+
+   /**
+    * Creates access to a variable that can be reached only through this instance.
+    */
+   public VarAccess() {
+      this.key = this;
+   }
+
+   public Object key() {
+      return key;
+   }
+
+   public void declare(Session session) {
+      SessionImpl impl = (SessionImpl) session;
+      impl.declareSlot(declareSlot(impl), new ObjectVar(impl));
+   }
+
+   public void declareInt(Session session) {
+      SessionImpl impl = (SessionImpl) session;
+      impl.declareSlot(declareSlot(impl), new IntVar(impl));
+   }
+
+   public boolean isSet(Session session) {
+      return var(session).isSet();
+   }
+
+   public Object getObject(Session session) {
+      ObjectVar var = (ObjectVar) var(session);
+      if (!var.isSet()) {
+         throw new IllegalStateException("Variable " + key + " was not set yet!");
+      }
+      return var.get();
+   }
+
+   public void setObject(Session session, Object value) {
+      if (trace) {
+         log.trace("#{} {} <- {}", session.uniqueId(), key, value);
+      }
+      ((ObjectVar) var(session)).set(value);
+   }
+
+   public int getInt(Session session) {
+      IntVar var = (IntVar) var(session);
+      if (!var.isSet()) {
+         throw new IllegalStateException("Variable " + key + " was not set yet!");
+      }
+      return var.get();
+   }
+
+   public void setInt(Session session, int value) {
+      if (trace) {
+         log.trace("#{} {} <- {}", session.uniqueId(), key, value);
+      }
+      ((IntVar) var(session)).set(value);
+   }
+
+   public void addToInt(Session session, int delta) {
+      IntVar var = (IntVar) var(session);
+      if (!var.isSet()) {
+         throw new IllegalStateException("Variable " + key + " was not set yet!");
+      }
+      if (trace) {
+         log.trace("#{} {} <- {}", session.uniqueId(), key, var.get() + delta);
+      }
+      var.add(delta);
+   }
+
+   /**
+    * @return Hash of the value; integer variables are not boxed.
+    */
+   public int hashValue(Session session) {
+      Session.Var var = var(session);
+      if (!var.isSet()) {
+         throw new IllegalStateException("Variable " + key + " was not set yet!");
+      }
+      return var instanceof IntVar ? ((IntVar) var).get() : Objects.hashCode(((ObjectVar) var).get());
+   }
+
+   /**
+    * Make variable set without changing it's (pre-allocated) value.
+    */
+   public Object activate(Session session) {
+      ObjectVar var = (ObjectVar) var(session);
+      var.set = true;
+      session.signal(Session.WAKE_VARIABLE);
+      return var.value;
+   }
+
+   public void unset(Session session) {
+      var(session).unset();
+   }
+
+   private Session.Var var(Session session) {
+      SessionImpl impl = (SessionImpl) session;
+      int index = Slot.find(slots, impl.scenario);
+      if (index < 0) {
+         index = impl.scenario.varSlot(key);
+         if (index < 0) {
+            throw new IllegalStateException("Variable " + key + " was not declared!");
+         }
+         slots = new Slot(impl.scenario, index, slots);
+      }
+      return impl.var(index);
+   }
+
+   private int declareSlot(SessionImpl impl) {
+      int index = Slot.find(slots, impl.scenario);
+      if (index < 0) {
+         index = impl.scenario.declareVarSlot(key);
+         slots = new Slot(impl.scenario, index, slots);
+      }
+      return index;
+   }
+
+   @Override
+   public String toString() {
+      return key == this ? "<anonymous>@" + Integer.toHexString(hashCode()) : String.valueOf(key);
+   }
+}
@@ -31,6 +31,11 @@
  * data dependency. Therefore the sequence may be blocked in the middle. Other enabled sequence may be still invoked
  * as soon as its dependencies are satisfied. Each step can enable further sequences.
  * <p>
+ * A step that blocks should tell what it waits for through {@link io.sailrocket.api.session.Session#waitFor(int)}
+ * (a request slot, a response, a timer or a variable); the blocked sequence is then skipped until such event is
+ * {@link io.sailrocket.api.session.Session#signal(int) signalled}. Sequences blocked by steps that don't do that are
+ * evaluated whenever the session runs.
+ * <p>
  * The execution of sequence cannot be forked but it can be terminated by calling
  * {@link io.sailrocket.core.session.SessionImpl#currentSequence(SequenceInstance)}
  * with <code>null</code> argument - {@link io.sailrocket.core.steps.BreakSequenceStep} is an example of that.
@@ -50,6 +55,11 @@
  * <p>
  * It is possible to find out if the variable is set calling {@link io.sailrocket.core.session.SessionImpl#isSet(java.lang.Object)}.
  * <p>
+ * Each declared variable gets a slot, dense index assigned by the {@link io.sailrocket.api.config.Scenario}, and the
+ * session keeps the variables in an array. Steps should not use the key-based methods above as these look up the slot
+ * in a map on each access; instead they hold a {@link io.sailrocket.core.session.VarAccess} that resolves the slot
+ * when the variable is declared.
+ * <p>
  * Simple variables are scalar, these are useful for scenario-scoped data. Other variables are scoped for particular
  * {@link io.sailrocket.api.session.SequenceInstance}; these should be implemented as arrays (or collections) with
  * a limited size equal to the number of instances. When a Step/Processor needs to address sequence-scoped data
@@ -62,10 +72,10 @@
  *
  * When processing a response the original request would not be available as the handler is stateless, and we can have
  * several requests in-flight. We need to find out a time when the request started, though, and that's why the session
- * holds a {@link io.sailrocket.core.session.RequestQueueImpl}. Since all requests are sent over the same connection (ATM)
- * and responses are received FIFO we can push the {@link io.sailrocket.core.session.RequestQueueImpl.Request} with
- * the start timestamp and retrieve it when processing the response. Since this queue is bounded, this effectively
- * limits the number of concurrent requests.
+ * holds a {@link io.sailrocket.core.session.RequestQueueImpl}. The step sending the request takes a
+ * {@link io.sailrocket.api.collection.RequestQueue.Request} handle with the start timestamp and binds the response
+ * handlers to it; responses can be received in any order (multiplexed HTTP/2 streams, multiple connections) and each
+ * completes its own handle. Since this queue is bounded, this effectively limits the number of concurrent requests.
  *
  * <h2>Threading model</h2>
  *
@@ -6,7 +6,11 @@ import io.sailrocket.api.config.Step;
 public class AwaitAllResponsesStep implements Step {
    @Override
    public boolean prepare(Session session) {
-      return session.requestQueue().isFull();
+      if (session.requestQueue().isFull()) {
+         return true;
+      }
+      session.waitFor(Session.WAKE_RESPONSE);
+      return false;
    }
 
    @Override
@@ -1,19 +1,29 @@
 package io.sailrocket.core.steps;
 
+import java.util.concurrent.TimeUnit;
+
 import io.sailrocket.api.session.Session;
 import io.sailrocket.api.config.Step;
+import io.sailrocket.core.session.VarAccess;
 
 public class AwaitDelayStep implements Step {
-   private final Object key;
+   private final VarAccess key;
 
    public AwaitDelayStep(Object key) {
-      this.key = key;
+      this.key = new VarAccess(key);
    }
 
    @Override
    public boolean prepare(Session session) {
-      ScheduleDelayStep.Timestamp blockedUntil = (ScheduleDelayStep.Timestamp) session.getObject(key);
-      return System.currentTimeMillis() >= blockedUntil.timestamp;
+      ScheduleDelayStep.Timestamp blockedUntil = (ScheduleDelayStep.Timestamp) key.getObject(session);
+      long delay = blockedUntil.timestamp - System.currentTimeMillis();
+      if (delay <= 0) {
+         return true;
+      }
+      // the session could have been woken up by an earlier timer
+      session.schedule(delay, TimeUnit.MILLISECONDS);
+      session.waitFor(Session.WAKE_TIMER);
+      return false;
    }
 
    @Override
@@ -4,13 +4,14 @@ import io.sailrocket.api.session.Session;
 import io.sailrocket.api.session.VarReference;
 import io.sailrocket.core.api.ResourceUtilizer;
 import io.sailrocket.core.session.SimpleVarReference;
+import io.sailrocket.core.session.VarAccess;
 
 public class AwaitVarStep extends DependencyStep implements ResourceUtilizer {
-   private final String var;
+   private final VarAccess var;
 
    public AwaitVarStep(String var) {
       super(new VarReference[] { new SimpleVarReference(var) });
-      this.var = var;
+      this.var = new VarAccess(var);
    }
 
    @Override
@@ -20,6 +21,6 @@ public class AwaitVarStep extends DependencyStep implements ResourceUtilizer {
 
    @Override
    public void reserve(Session session) {
-      session.declare(var);
+      var.declare(session);
    }
 }
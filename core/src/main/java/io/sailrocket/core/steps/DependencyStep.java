@@ -22,6 +22,7 @@ public abstract class DependencyStep implements Step {
          for (VarReference ref : dependencies) {
             if (!ref.isSet(session)) {
                log.trace("Sequence is blocked by missing var reference {}", ref);
+               session.waitFor(Session.WAKE_VARIABLE);
                return false;
             }
          }
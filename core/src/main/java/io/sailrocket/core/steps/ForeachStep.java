@@ -12,22 +12,23 @@ import io.sailrocket.core.api.ResourceUtilizer;
 import io.sailrocket.core.builders.BaseSequenceBuilder;
 import io.sailrocket.core.builders.DependencyStepBuilder;
 import io.sailrocket.core.session.SimpleVarReference;
+import io.sailrocket.core.session.VarAccess;
 
 public class ForeachStep extends DependencyStep implements ResourceUtilizer {
-   private final String dataVar;
-   private final String counterVar;
+   private final VarAccess dataVar;
+   private final VarAccess counterVar;
    private final Sequence template;
 
    public ForeachStep(VarReference[] dependencies, String dataVar, String counterVar, Sequence template) {
       super(dependencies);
-      this.dataVar = dataVar;
-      this.counterVar = counterVar;
+      this.dataVar = new VarAccess(dataVar);
+      this.counterVar = counterVar == null ? null : new VarAccess(counterVar);
       this.template = template;
    }
 
    @Override
    public void invoke(Session session) {
-      Object value = session.getObject(dataVar);
+      Object value = dataVar.getObject(session);
       if (!(value instanceof Session.Var[])) {
          throw new IllegalStateException("Variable " + dataVar + " does not contain var array: " + value);
       }
@@ -39,13 +40,15 @@ public class ForeachStep extends DependencyStep implements ResourceUtilizer {
          template.instantiate(session, i);
       }
       if (counterVar != null) {
-         session.setInt(counterVar, i);
+         counterVar.setInt(session, i);
       }
    }
 
    @Override
    public void reserve(Session session) {
-      session.declareInt(counterVar);
+      if (counterVar != null) {
+         counterVar.declareInt(session);
+      }
    }
 
    public static class Builder extends DependencyStepBuilder {
@@ -1,11 +1,15 @@
 package io.sailrocket.core.steps;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 
 import io.netty.buffer.ByteBuf;
+import io.netty.util.concurrent.EventExecutor;
+import io.sailrocket.api.connection.HttpClientPool;
 import io.sailrocket.api.http.HttpMethod;
 import io.sailrocket.api.http.HttpRequest;
 import io.sailrocket.api.collection.RequestQueue;
@@ -14,6 +18,7 @@ import io.sailrocket.api.session.Session;
 import io.sailrocket.core.builders.BaseSequenceBuilder;
 import io.sailrocket.core.builders.BaseStepBuilder;
 import io.sailrocket.core.api.ResourceUtilizer;
+import io.sailrocket.core.session.ResourceAccess;
 import io.sailrocket.function.SerializableBiConsumer;
 import io.sailrocket.function.SerializableFunction;
 import io.vertx.core.logging.Logger;
@@ -24,17 +29,37 @@ public class HttpRequestStep implements Step, ResourceUtilizer {
    private static final boolean trace = log.isTraceEnabled();
 
    private final HttpMethod method;
+   // index of the endpoint in simulation
+   private final int endpoint;
    private final Function<Session, String> pathGenerator;
+   // set only when the path does not change
+   private final String path;
+   private final byte[] encodedPath;
    private final Function<Session, ByteBuf> bodyGenerator;
    private final BiConsumer<Session, HttpRequest> headerAppender;
    private final HttpResponseHandler handler;
+   private final ResourceAccess<RequestStates> requestStates = new ResourceAccess<>();
 
    public HttpRequestStep(HttpMethod method,
+                          int endpoint,
+                          SerializableFunction<Session, String> pathGenerator,
+                          SerializableFunction<Session, ByteBuf> bodyGenerator,
+                          SerializableBiConsumer<Session, HttpRequest> headerAppender,
+                          HttpResponseHandler handler) {
+      this(method, endpoint, null, pathGenerator, bodyGenerator, headerAppender, handler);
+   }
+
+   public HttpRequestStep(HttpMethod method,
+                          int endpoint,
+                          String path,
                           SerializableFunction<Session, String> pathGenerator,
                           SerializableFunction<Session, ByteBuf> bodyGenerator,
                           SerializableBiConsumer<Session, HttpRequest> headerAppender,
                           HttpResponseHandler handler) {
       this.method = method;
+      this.endpoint = endpoint;
+      this.path = path;
+      this.encodedPath = path == null ? null : path.getBytes(StandardCharsets.UTF_8);
       this.pathGenerator = pathGenerator;
       this.bodyGenerator = bodyGenerator;
       this.headerAppender = headerAppender;
@@ -43,28 +68,64 @@ public class HttpRequestStep implements Step, ResourceUtilizer {
 
    @Override
    public boolean prepare(Session session) {
+      RequestState state = requestStates.get(session).get(session.currentSequence().index());
+      long now = System.nanoTime();
+      if (state.readySince < 0) {
+         state.readySince = now;
+      }
+      HttpClientPool pool = session.httpClientPool(endpoint);
+      if (!pool.isConnectionAvailable(session.executor())) {
+         if (state.connectionWaitSince < 0) {
+            state.connectionWaitSince = now;
+         }
+         session.waitFor(Session.WAKE_REQUEST_SLOT);
+         if (!state.registered) {
+            if (trace) {
+               log.trace("#{} No connection available, waiting", session.uniqueId());
+            }
+            state.registered = true;
+            state.waitingPool = pool;
+            state.waitingExecutor = session.executor();
+            pool.registerWaiter(session.executor(), state);
+         }
+         return false;
+      }
       RequestQueue.Request request = session.requestQueue().prepare();
       if (request == null) {
+         session.waitFor(Session.WAKE_REQUEST_SLOT);
          return false;
       } else {
-         request.startTime = System.nanoTime();
+         request.startTime = now;
+         // the request is late by the time it was blocked plus any delay the session has accumulated before start
+         request.intendedStartTime = state.readySince - session.startDelay();
          request.sequence = session.currentSequence();
+         if (state.connectionWaitSince >= 0) {
+            request.sequence.statistics(session).recordConnectionWait(now - state.connectionWaitSince);
+         }
+         state.readySince = -1;
+         state.connectionWaitSince = -1;
+         // invoke() follows right after successful prepare()
+         state.request = request;
+         state.pool = pool;
          return true;
       }
    }
 
    @Override
    public void invoke(Session session) {
+      RequestState state = requestStates.get(session).get(session.currentSequence().index());
       ByteBuf body = bodyGenerator == null ? null : bodyGenerator.apply(session);
-      String path = pathGenerator.apply(session);
-      // TODO alloc!
-      HttpRequest request = session.httpClientPool().request(session.executor(), method, path, body);
+      String path = this.path != null ? this.path : pathGenerator.apply(session);
+      // the request object holding the response handlers is allocated by the connection
+      HttpRequest request = state.pool.request(session.executor(), method, path, encodedPath, body);
       if (headerAppender != null) {
          headerAppender.accept(session, request);
       }
 
       // alloc-free below
-      HttpResponseHandler.HandlerInstances h = session.getResource(handler);
+      HttpResponseHandler.HandlerInstances h = handler.instances(session, state.request);
+      state.request = null;
+      state.pool = null;
       request.statusHandler(h.handleStatus);
       request.headerHandler(h.handleHeader);
       request.exceptionHandler(h.handleException);
@@ -80,11 +141,89 @@ public class HttpRequestStep implements Step, ResourceUtilizer {
 
    @Override
    public void reserve(Session session) {
+      requestStates.declare(session, new RequestStates(session));
       handler.reserve(session);
    }
 
+   /**
+    * Several instances of the sequence (e.g. started by {@link ForeachStep}) can run this step concurrently;
+    * each of them needs its own state, indexed by {@link io.sailrocket.api.session.SequenceInstance#index()}.
+    */
+   static class RequestStates implements Session.Resource {
+      private final Session session;
+      private RequestState[] states = new RequestState[1];
+
+      RequestStates(Session session) {
+         this.session = session;
+      }
+
+      RequestState get(int index) {
+         if (index >= states.length) {
+            states = Arrays.copyOf(states, index + 1);
+         }
+         RequestState state = states[index];
+         if (state == null) {
+            states[index] = state = new RequestState(session);
+         }
+         return state;
+      }
+
+      @Override
+      public void onSessionReset() {
+         for (RequestState state : states) {
+            if (state != null) {
+               state.onSessionReset();
+            }
+         }
+      }
+   }
+
+   static class RequestState implements Runnable {
+      private final Session session;
+      private long readySince = -1;
+      private long connectionWaitSince = -1;
+      private boolean registered;
+      private HttpClientPool waitingPool;
+      private EventExecutor waitingExecutor;
+      private RequestQueue.Request request;
+      // replica selected in prepare()
+      private HttpClientPool pool;
+
+      RequestState(Session session) {
+         this.session = session;
+      }
+
+      @Override
+      public void run() {
+         if (!registered) {
+            // the session has been reset since the waiter was registered
+            return;
+         }
+         registered = false;
+         waitingPool = null;
+         waitingExecutor = null;
+         session.signal(Session.WAKE_REQUEST_SLOT);
+         session.proceed(session.executor());
+      }
+
+      void onSessionReset() {
+         if (registered) {
+            registered = false;
+            waitingPool.unregisterWaiter(waitingExecutor, this);
+            waitingPool = null;
+            waitingExecutor = null;
+         }
+         readySince = -1;
+         connectionWaitSince = -1;
+         request = null;
+         pool = null;
+      }
+   }
+
    public static class Builder extends BaseStepBuilder {
       private HttpMethod method;
+      private String endpoint;
+      private String path;
       private SerializableFunction<Session, String> pathGenerator;
       private SerializableFunction<Session, ByteBuf> bodyGenerator;
       private SerializableBiConsumer<Session, HttpRequest> headerAppender;
@@ -100,12 +239,26 @@ public class HttpRequestStep implements Step, ResourceUtilizer {
          return this;
       }
 
+      /**
+       * @param endpoint Name of the endpoint defined in the simulation; requests go to the first endpoint by default.
+       *                 The name is checked when the simulation is built.
+       */
+      public Builder endpoint(String endpoint) {
+         this.endpoint = endpoint;
+         return this;
+      }
+
+      /**
+       * @param path Fixed path; it is encoded only once rather than for each request.
+       */
       public Builder path(String path) {
-         this.pathGenerator = s -> path;
+         this.path = path;
+         this.pathGenerator = null;
          return this;
       }
 
       public Builder pathGenerator(SerializableFunction<Session, String> pathGenerator) {
+         this.path = null;
          this.pathGenerator = pathGenerator;
          return this;
       }
@@ -126,7 +279,8 @@ public class HttpRequestStep implements Step, ResourceUtilizer {
 
       @Override
       public List<Step> build() {
-         return Collections.singletonList(new HttpRequestStep(method, pathGenerator, bodyGenerator, headerAppender, handler.build()));
+         int endpointIndex = endpoint == null ? 0 : parent.endSequence().endScenario().endPhase().endpointIndex(endpoint);
+         return Collections.singletonList(new HttpRequestStep(method, endpointIndex, path, pathGenerator, bodyGenerator, headerAppender, handler.build()));
       }
    }
 }
@@ -4,6 +4,7 @@ import java.io.Serializable;
 import java.lang.reflect.Array;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
@@ -17,13 +18,14 @@ import io.sailrocket.api.session.Session;
 import io.sailrocket.api.statistics.Statistics;
 import io.sailrocket.api.http.StatusExtractor;
 import io.sailrocket.core.api.ResourceUtilizer;
+import io.sailrocket.core.session.ResourceAccess;
 import io.sailrocket.api.http.BodyValidator;
 import io.sailrocket.api.http.HeaderValidator;
 import io.sailrocket.api.http.StatusValidator;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 
-public class HttpResponseHandler implements ResourceUtilizer, Session.ResourceKey<HttpResponseHandler.HandlerInstances>, Serializable {
+public class HttpResponseHandler implements ResourceUtilizer, Serializable {
    private static final Logger log = LoggerFactory.getLogger(HttpResponseHandler.class);
    private static final boolean trace = log.isTraceEnabled();
 
@@ -34,6 +36,7 @@ public class HttpResponseHandler implements ResourceUtilizer, Session.ResourceKe
    private final HeaderExtractor[] headerExtractors;
    private final BodyExtractor[] bodyExtractors;
    private final Consumer<Session>[] completionHandlers;
+   private final ResourceAccess<RequestHandlers> instances = new ResourceAccess<>();
 
    private HttpResponseHandler(StatusValidator[] statusValidators,
                               HeaderValidator[] headerValidators,
@@ -51,12 +54,12 @@ public class HttpResponseHandler implements ResourceUtilizer, Session.ResourceKe
       this.completionHandlers = completionHandlers;
    }
 
-   private void handleStatus(Session session, int status) {
+   private void handleStatus(Session session, RequestQueue.Request request, int status) {
       if (trace) {
          log.trace("{} Received status {}", this, status);
       }
-      RequestQueue.Request request = session.requestQueue().peek();
       session.currentSequence(request.sequence);
+      session.currentRequest(request);
       request.sequence.statistics(session).addStatus(status);
 
       boolean valid = true;
@@ -93,12 +96,16 @@ public class HttpResponseHandler implements ResourceUtilizer, Session.ResourceKe
             extractor.beforeData(session);
          }
       }
+      session.currentRequest(null);
+      session.currentSequence(null);
    }
 
-   private void handleHeader(Session session, String header, String value) {
+   private void handleHeader(Session session, RequestQueue.Request request, String header, String value) {
       if (trace) {
          log.trace("{} Received header {}: {}", this, header, value);
       }
+      session.currentSequence(request.sequence);
+      session.currentRequest(request);
       if (headerValidators != null) {
          for (HeaderValidator validator : headerValidators) {
             validator.validateHeader(session, header, value);
@@ -109,6 +116,8 @@ public class HttpResponseHandler implements ResourceUtilizer, Session.ResourceKe
             extractor.extractHeader(header, value, session);
          }
       }
+      session.currentRequest(null);
+      session.currentSequence(null);
    }
 
    private void handleThrowable(Session session, Throwable throwable) {
@@ -117,10 +126,12 @@ public class HttpResponseHandler implements ResourceUtilizer, Session.ResourceKe
       }
    }
 
-   private void handleBodyPart(Session session, ByteBuf buf) {
+   private void handleBodyPart(Session session, RequestQueue.Request request, ByteBuf buf) {
       if (trace) {
          log.trace("{} Received part:\n{}", this, buf.toString(buf.readerIndex(), buf.readableBytes(), StandardCharsets.UTF_8));
       }
+      session.currentSequence(request.sequence);
+      session.currentRequest(request);
 
       int dataStartIndex = buf.readerIndex();
       if (bodyValidators != null) {
@@ -135,13 +146,17 @@ public class HttpResponseHandler implements ResourceUtilizer, Session.ResourceKe
             buf.readerIndex(dataStartIndex);
          }
       }
+      session.currentRequest(null);
+      session.currentSequence(null);
    }
 
-   private void handleEnd(Session session) {
+   private void handleEnd(Session session, RequestQueue.Request request) {
       long endTime = System.nanoTime();
-      RequestQueue.Request request = session.requestQueue().complete();
-      Statistics statistics = session.currentSequence().statistics(session);
+      session.currentSequence(request.sequence);
+      session.currentRequest(request);
+      Statistics statistics = request.sequence.statistics(session);
       statistics.recordValue(endTime - request.startTime);
+      statistics.recordResponseTime(endTime - request.intendedStartTime);
       statistics.incrementResponses();
 
       boolean headersValid = true;
@@ -173,15 +188,31 @@ public class HttpResponseHandler implements ResourceUtilizer, Session.ResourceKe
             handler.accept(session);
          }
       }
+      session.currentRequest(null);
       session.currentSequence(null);
+      session.requestQueue().complete(request);
       // if anything was blocking due to full request queue we should continue from the right place
       session.proceed(session.executor());
    }
 
+   /**
+    * @return Handlers bound to given request; these are allocated lazily and reused.
+    */
+   HandlerInstances instances(Session session, RequestQueue.Request request) {
+      RequestHandlers handlers = instances.get(session);
+      if (request.index >= handlers.byRequest.length) {
+         handlers.byRequest = Arrays.copyOf(handlers.byRequest, request.index + 1);
+      }
+      HandlerInstances h = handlers.byRequest[request.index];
+      if (h == null) {
+         handlers.byRequest[request.index] = h = new HandlerInstances(session, request);
+      }
+      return h;
+   }
 
    @Override
    public void reserve(Session session) {
-      session.declareResource(this, new HandlerInstances(session));
+      instances.declare(session, new RequestHandlers());
       reserveAll(session, statusValidators);
       reserveAll(session, headerValidators);
       reserveAll(session, bodyValidators);
@@ -200,19 +231,23 @@ public class HttpResponseHandler implements ResourceUtilizer, Session.ResourceKe
       }
    }
 
-   class HandlerInstances implements Session.Resource {
+   static class RequestHandlers implements Session.Resource {
+      HandlerInstances[] byRequest = new HandlerInstances[1];
+   }
+
+   class HandlerInstances {
       final IntConsumer handleStatus;
       final BiConsumer<String, String> handleHeader;
       final Consumer<Throwable> handleException;
       final Consumer<ByteBuf> handleBodyPart;
       final Runnable handleEnd;
 
-      private HandlerInstances(Session session) {
-         handleStatus = status -> handleStatus(session, status);
-         handleHeader = (header, value) -> handleHeader(session, header, value);
+      private HandlerInstances(Session session, RequestQueue.Request request) {
+         handleStatus = status -> handleStatus(session, request, status);
+         handleHeader = (header, value) -> handleHeader(session, request, header, value);
          handleException = throwable -> handleThrowable(session, throwable);
-         handleBodyPart = body -> handleBodyPart(session, body);
-         handleEnd = () -> handleEnd(session);
+         handleBodyPart = body -> handleBodyPart(session, request, body);
+         handleEnd = () -> handleEnd(session, request);
       }
    }
 
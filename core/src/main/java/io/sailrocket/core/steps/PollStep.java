@@ -15,6 +15,7 @@ import io.sailrocket.api.config.Step;
 import io.sailrocket.core.api.ResourceUtilizer;
 import io.sailrocket.core.builders.BaseSequenceBuilder;
 import io.sailrocket.core.builders.BaseStepBuilder;
+import io.sailrocket.core.session.VarAccess;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
 
@@ -22,7 +23,7 @@ public class PollStep<T> implements Step, ResourceUtilizer {
    private static final Logger log = LoggerFactory.getLogger(PollStep.class);
 
    private final Function<Session, T> provider;
-   private final String var;
+   private final VarAccess var;
    private final BiPredicate<Session, T> filter;
    private final BiConsumer<Session, T> recycler;
    private final long periodMs;
@@ -31,7 +32,7 @@ public class PollStep<T> implements Step, ResourceUtilizer {
    public PollStep(Function<Session, T> provider, String var, BiPredicate<Session, T> filter, BiConsumer<Session, T> recycler, long periodMs, int maxRetries) {
       this.provider = provider;
       this.filter = filter;
-      this.var = var;
+      this.var = new VarAccess(var);
       this.recycler = recycler;
       this.periodMs = periodMs;
       this.maxRetries = maxRetries;
@@ -44,10 +45,11 @@ public class PollStep<T> implements Step, ResourceUtilizer {
          if (object == null) {
             // Note: it's possible that we'll try to poll earlier
             log.trace("Did not fetch object, scheduling #{} in {}", session.uniqueId(), periodMs);
-            session.executor().schedule((Runnable) session, periodMs, TimeUnit.MILLISECONDS);
+            session.schedule(periodMs, TimeUnit.MILLISECONDS);
+            session.waitFor(Session.WAKE_TIMER);
             return false;
          } else if (filter.test(session, object)) {
-            session.setObject(var, object);
+            var.setObject(session, object);
             return true;
          } else {
             recycler.accept(session, object);
@@ -55,7 +57,8 @@ public class PollStep<T> implements Step, ResourceUtilizer {
       }
       // We did not have an accepting match
       log.trace("Not accepted, scheduling #{} in {}", session.uniqueId(), periodMs);
-      session.executor().schedule((Runnable) session, periodMs, TimeUnit.MILLISECONDS);
+      session.schedule(periodMs, TimeUnit.MILLISECONDS);
+      session.waitFor(Session.WAKE_TIMER);
       return false;
    }
 
@@ -66,7 +69,7 @@ public class PollStep<T> implements Step, ResourceUtilizer {
 
    @Override
    public void reserve(Session session) {
-      session.declare(var);
+      var.declare(session);
    }
 
    public static class Builder<T> extends BaseStepBuilder {
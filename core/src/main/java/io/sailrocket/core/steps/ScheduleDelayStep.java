@@ -9,6 +9,7 @@ import io.sailrocket.api.session.Session;
 import io.sailrocket.core.api.ResourceUtilizer;
 import io.sailrocket.core.builders.BaseSequenceBuilder;
 import io.sailrocket.core.builders.BaseStepBuilder;
+import io.sailrocket.core.session.VarAccess;
 import io.sailrocket.core.util.Util;
 import io.vertx.core.logging.Logger;
 import io.vertx.core.logging.LoggerFactory;
@@ -16,13 +17,13 @@ import io.vertx.core.logging.LoggerFactory;
 public class ScheduleDelayStep implements Step, ResourceUtilizer {
    private static final Logger log = LoggerFactory.getLogger(ScheduleDelayStep.class);
 
-   private final Object key;
+   private final VarAccess key;
    private final Type type;
    private final long duration;
    private final TimeUnit timeUnit;
 
    public ScheduleDelayStep(Object key, Type type, long duration, TimeUnit timeUnit) {
-      this.key = key;
+      this.key = new VarAccess(key);
       this.type = type;
       this.duration = duration;
       this.timeUnit = timeUnit;
@@ -30,7 +31,7 @@ public class ScheduleDelayStep implements Step, ResourceUtilizer {
 
    @Override
    public void invoke(Session session) {
-      Timestamp blockedUntil = (Timestamp) session.getObject(key);
+      Timestamp blockedUntil = (Timestamp) key.getObject(session);
       long now = System.currentTimeMillis();
       long baseTimestamp;
       switch (type) {
@@ -50,14 +51,14 @@ public class ScheduleDelayStep implements Step, ResourceUtilizer {
       long delay = blockedUntil.timestamp - now;
       if (delay > 0) {
          log.trace("Scheduling #{} to run in {}", session.uniqueId(), delay);
-         session.executor().schedule((Runnable) session, delay, TimeUnit.MILLISECONDS);
+         session.schedule(delay, TimeUnit.MILLISECONDS);
       }
    }
 
    @Override
    public void reserve(Session session) {
-      session.declare(key);
-      session.setObject(key, new Timestamp());
+      key.declare(session);
+      key.setObject(session, new Timestamp());
    }
 
    public enum Type {
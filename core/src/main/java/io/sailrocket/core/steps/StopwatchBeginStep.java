@@ -9,28 +9,29 @@ import io.sailrocket.api.config.Step;
 import io.sailrocket.core.api.ResourceUtilizer;
 import io.sailrocket.core.builders.BaseSequenceBuilder;
 import io.sailrocket.core.builders.StepBuilder;
+import io.sailrocket.core.session.VarAccess;
 
 public class StopwatchBeginStep implements Step, ResourceUtilizer {
-   private final Object key;
+   private final VarAccess key;
 
-   public StopwatchBeginStep(Object key) {
+   public StopwatchBeginStep(VarAccess key) {
       this.key = key;
    }
 
    @Override
    public void invoke(Session session) {
       // Setting timestamp only when it's set allows looping into stopwatch
-      if (!session.isSet(key)) {
-         StartTime startTime = (StartTime) session.activate(key);
+      if (!key.isSet(session)) {
+         StartTime startTime = (StartTime) key.activate(session);
          startTime.timestamp = System.nanoTime();
       }
    }
 
    @Override
    public void reserve(Session session) {
-      session.declare(key);
-      session.setObject(key, new StartTime());
-      session.unset(key);
+      key.declare(session);
+      key.setObject(session, new StartTime());
+      key.unset(session);
    }
 
    static class StartTime {
@@ -46,7 +47,7 @@ public class StopwatchBeginStep implements Step, ResourceUtilizer {
       @Override
       public List<Step> build() {
          List<Step> steps = new ArrayList<>();
-         Object key = new Object();
+         VarAccess key = new VarAccess();
          steps.add(new StopwatchBeginStep(key));
          steps.addAll(this.steps.stream().flatMap(stepBuilder -> stepBuilder.build().stream()).collect(Collectors.toList()));
          steps.add(new StopwatchEndStep(key));
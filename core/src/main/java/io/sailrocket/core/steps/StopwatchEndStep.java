@@ -3,18 +3,19 @@ package io.sailrocket.core.steps;
 import io.sailrocket.api.session.Session;
 import io.sailrocket.api.statistics.Statistics;
 import io.sailrocket.api.config.Step;
+import io.sailrocket.core.session.VarAccess;
 
 public class StopwatchEndStep implements Step {
-   private final Object key;
+   private final VarAccess key;
 
-   public StopwatchEndStep(Object key) {
+   public StopwatchEndStep(VarAccess key) {
       this.key = key;
    }
 
    @Override
    public void invoke(Session session) {
       long now = System.nanoTime();
-      StopwatchBeginStep.StartTime startTime = (StopwatchBeginStep.StartTime) session.getObject(key);
+      StopwatchBeginStep.StartTime startTime = (StopwatchBeginStep.StartTime) key.getObject(session);
       Statistics statistics = session.currentSequence().statistics(session);
       statistics.recordValue(now - startTime.timestamp);
       // TODO: record any request/response counts?
@@ -0,0 +1,75 @@
+package io.sailrocket.core.util;
+
+import java.util.ArrayDeque;
+import java.util.Random;
+
+/**
+ * Picks index with probability proportional to its weight in constant time (Vose's alias method).
+ * The table is immutable after construction and can be shared between threads.
+ */
+public class AliasTable {
+   private final double[] probability;
+   private final int[] alias;
+
+   public AliasTable(double[] weights) {
+      int n = weights.length;
+      if (n == 0) {
+         throw new IllegalArgumentException("No weights");
+      }
+      double sum = 0;
+      for (double w : weights) {
+         if (w < 0 || Double.isNaN(w) || Double.isInfinite(w)) {
+            throw new IllegalArgumentException("Invalid weight " + w);
+         }
+         sum += w;
+      }
+      if (sum <= 0) {
+         throw new IllegalArgumentException("Sum of weights must be positive");
+      }
+      probability = new double[n];
+      alias = new int[n];
+      double[] scaled = new double[n];
+      ArrayDeque<Integer> small = new ArrayDeque<>();
+      ArrayDeque<Integer> large = new ArrayDeque<>();
+      for (int i = 0; i < n; ++i) {
+         scaled[i] = weights[i] * n / sum;
+         if (scaled[i] < 1) {
+            small.add(i);
+         } else {
+            large.add(i);
+         }
+      }
+      while (!small.isEmpty() && !large.isEmpty()) {
+         int s = small.poll();
+         int l = large.poll();
+         probability[s] = scaled[s];
+         alias[s] = l;
+         scaled[l] = scaled[l] + scaled[s] - 1;
+         if (scaled[l] < 1) {
+            small.add(l);
+         } else {
+            large.add(l);
+         }
+      }
+      // remaining entries are 1 up to rounding errors
+      while (!large.isEmpty()) {
+         int l = large.poll();
+         probability[l] = 1;
+         alias[l] = l;
+      }
+      while (!small.isEmpty()) {
+         int s = small.poll();
+         probability[s] = 1;
+         alias[s] = s;
+      }
+   }
+
+   public int size() {
+      return probability.length;
+   }
+
+   public int next(Random random) {
+      int i = random.nextInt(probability.length);
+      return random.nextDouble() < probability[i] ? i : alias[i];
+   }
+}
@@ -0,0 +1,146 @@
+package io.sailrocket.core.util;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Streams points of a rate profile; the file is never loaded in memory as a whole.
+ * <p>
+ * Files with <code>.csv</code> extension contain lines <code>offset,usersPerSec</code> with offset in seconds;
+ * empty lines, lines starting with <code>#</code> and a header line are ignored. Any other file is read as binary
+ * sequence of big-endian pairs <code>(long offsetMillis, double usersPerSec)</code>, and it is memory-mapped.
+ * Offsets must not decrease.
+ */
+public abstract class RateProfileReader implements Closeable {
+   protected final String file;
+   private double offset = Double.NEGATIVE_INFINITY;
+   private double usersPerSec;
+
+   protected RateProfileReader(String file) {
+      this.file = file;
+   }
+
+   public static RateProfileReader open(String file) throws IOException {
+      if (file.toLowerCase().endsWith(".csv")) {
+         return new Csv(file);
+      } else {
+         return new Binary(file);
+      }
+   }
+
+   /**
+    * Moves to next point.
+    *
+    * @return False if there are no more points.
+    */
+   public boolean next() throws IOException {
+      double previous = offset;
+      if (!read()) {
+         return false;
+      }
+      if (offset < previous) {
+         throw new IOException("Offsets in " + file + " are not ordered: " + offset + " < " + previous);
+      } else if (usersPerSec < 0) {
+         throw new IOException("Negative rate in " + file + " at offset " + offset);
+      }
+      return true;
+   }
+
+   /**
+    * @return Offset of current point in milliseconds.
+    */
+   public double offset() {
+      return offset;
+   }
+
+   public double usersPerSec() {
+      return usersPerSec;
+   }
+
+   protected abstract boolean read() throws IOException;
+
+   protected void set(double offset, double usersPerSec) {
+      this.offset = offset;
+      this.usersPerSec = usersPerSec;
+   }
+
+   private static class Csv extends RateProfileReader {
+      private final BufferedReader reader;
+      private int lineNumber;
+
+      Csv(String file) throws IOException {
+         super(file);
+         reader = Files.newBufferedReader(Paths.get(file), StandardCharsets.UTF_8);
+      }
+
+      @Override
+      protected boolean read() throws IOException {
+         String line;
+         while ((line = reader.readLine()) != null) {
+            ++lineNumber;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+               continue;
+            }
+            int comma = line.indexOf(',');
+            if (comma < 0) {
+               throw new IOException("Cannot parse line " + lineNumber + " in " + file + ": " + line);
+            }
+            try {
+               double offset = Double.parseDouble(line.substring(0, comma).trim());
+               double usersPerSec = Double.parseDouble(line.substring(comma + 1).trim());
+               set(offset * 1000, usersPerSec);
+               return true;
+            } catch (NumberFormatException e) {
+               if (lineNumber == 1) {
+                  // header
+                  continue;
+               }
+               throw new IOException("Cannot parse line " + lineNumber + " in " + file + ": " + line, e);
+            }
+         }
+         return false;
+      }
+
+      @Override
+      public void close() throws IOException {
+         reader.close();
+      }
+   }
+
+   private static class Binary extends RateProfileReader {
+      private static final int POINT_SIZE = 16;
+      private final FileChannel channel;
+      private final MappedByteBuffer buffer;
+
+      Binary(String file) throws IOException {
+         super(file);
+         channel = FileChannel.open(Paths.get(file), StandardOpenOption.READ);
+         buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      }
+
+      @Override
+      protected boolean read() throws IOException {
+         if (buffer.remaining() < POINT_SIZE) {
+            if (buffer.hasRemaining()) {
+               throw new IOException("Truncated point at the end of " + file);
+            }
+            return false;
+         }
+         set(buffer.getLong(), buffer.getDouble());
+         return true;
+      }
+
+      @Override
+      public void close() throws IOException {
+         channel.close();
+      }
+   }
+}
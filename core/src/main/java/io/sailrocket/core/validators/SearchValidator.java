@@ -6,17 +6,19 @@ import java.util.function.IntPredicate;
 import io.netty.buffer.ByteBuf;
 import io.sailrocket.api.session.Session;
 import io.sailrocket.core.api.ResourceUtilizer;
+import io.sailrocket.core.session.RequestResourceAccess;
 import io.sailrocket.api.http.BodyValidator;
 
 /**
  * Simple pattern (no regexp) search based on Rabin-Karp algorithm.
  * Does not handle the intricacies of UTF-8 mapping same strings to different bytes.
  */
-public class SearchValidator implements BodyValidator, ResourceUtilizer, Session.ResourceKey<SearchValidator.Context> {
+public class SearchValidator implements BodyValidator, ResourceUtilizer {
    private final byte[] text;
    private final int hash;
    private final int coef;
    private final IntPredicate match;
+   private final RequestResourceAccess<Context> context = new RequestResourceAccess<>();
 
    /**
     * @param text Search pattern.
@@ -36,7 +38,7 @@ public class SearchValidator implements BodyValidator, ResourceUtilizer, Session
 
    @Override
    public void validateData(Session session, ByteBuf data) {
-      Context ctx = session.getResource(this);
+      Context ctx = context.get(session);
       ctx.add(data);
       initHash(ctx, data);
       test(ctx, data);
@@ -70,13 +72,13 @@ public class SearchValidator implements BodyValidator, ResourceUtilizer, Session
 
    @Override
    public void beforeData(Session session) {
-      Context ctx = session.getResource(this);
+      Context ctx = context.get(session);
       ctx.reset();
    }
 
    @Override
    public boolean validate(Session session) {
-      Context ctx = session.getResource(this);
+      Context ctx = context.get(session);
       boolean match = this.match.test(ctx.matches);
       ctx.reset();
       return match;
@@ -84,7 +86,7 @@ public class SearchValidator implements BodyValidator, ResourceUtilizer, Session
 
    @Override
    public void reserve(Session session) {
-      session.declareResource(this, new Context());
+      context.declare(session, Context::new);
    }
 
    class Context implements Session.Resource {
@@ -0,0 +1,36 @@
+package io.sailrocket.core.api;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PartitionTest {
+   @Test
+   public void testUsersAddUp() {
+      Partition[] partitions = Partition.split(new double[] { 1, 2, 4 });
+      for (int users = 0; users < 100; ++users) {
+         int sum = 0;
+         for (Partition partition : partitions) {
+            sum += partition.users(users);
+         }
+         Assert.assertEquals(users, sum);
+      }
+      Assert.assertEquals(1, partitions[0].users(7));
+      Assert.assertEquals(2, partitions[1].users(7));
+      Assert.assertEquals(4, partitions[2].users(7));
+      Assert.assertEquals(1.0, partitions[2].offset + partitions[2].share, 1e-9);
+   }
+
+   @Test
+   public void testUniqueIdsDoNotOverlap() {
+      Partition[] partitions = Partition.split(new double[] { 3, 1, 1 });
+      Set<Integer> ids = new HashSet<>();
+      for (Partition partition : partitions) {
+         for (int i = 0; i < 100; ++i) {
+            Assert.assertTrue(ids.add(partition.uniqueId(i)));
+         }
+      }
+   }
+}
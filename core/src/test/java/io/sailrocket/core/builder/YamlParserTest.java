@@ -18,16 +18,29 @@
  */
 package io.sailrocket.core.builder;
 
+import io.sailrocket.api.config.ArrivalDistribution;
 import io.sailrocket.api.config.Benchmark;
+import io.sailrocket.api.config.BenchmarkDefinitionException;
+import io.sailrocket.api.config.Phase;
+import io.sailrocket.api.config.SLA;
+import io.sailrocket.api.config.Sequence;
+import io.sailrocket.api.connection.HttpEndpoint;
+import io.sailrocket.api.connection.Transport;
+import io.sailrocket.api.statistics.HistogramSettings;
 import io.sailrocket.core.parser.BenchmarkParser;
 import io.sailrocket.core.parser.ParserException;
+import org.HdrHistogram.IntCountsHistogram;
 import org.junit.Assert;
 import org.junit.Test;
 
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URISyntaxException;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.Assert.fail;
 
@@ -36,6 +49,10 @@ public class YamlParserTest {
     public void testSimpleYaml() {
         Benchmark benchmark = buildBenchmark("scenarios/simple.yaml");
         Assert.assertEquals("simple benchmark", benchmark.name());
+        Assert.assertTrue(benchmark.slas().length > 0);
+        for (SLA sla : benchmark.slas()) {
+            Assert.assertEquals(SLA.Latency.RESPONSE_TIME, sla.latency());
+        }
     }
 
     @Test
@@ -48,13 +65,134 @@ public class YamlParserTest {
     public void testIterationYaml() {
         Benchmark benchmark = buildBenchmark("scenarios/iteration.yaml");
         Assert.assertEquals("iteration benchmark", benchmark.name());
+        for (Phase phase : benchmark.simulation().phases()) {
+            if (phase instanceof Phase.PerSec) {
+                // forks are scheduled together by the first one
+                Phase.PerSec perSec = (Phase.PerSec) phase;
+                Assert.assertEquals(2, perSec.forks.size());
+                Assert.assertEquals(perSec.name.endsWith("/foo"), perSec.isForkLeader());
+                Assert.assertEquals(perSec.isForkLeader() ? 0.2 : 0.8, perSec.forkWeight, 0.001);
+            }
+        }
+    }
+
+    @Test
+    public void testArrivalsYaml() {
+        Benchmark benchmark = buildBenchmark("scenarios/arrivals.yaml");
+        int perSecPhases = 0;
+        for (Phase phase : benchmark.simulation().phases()) {
+            if (phase instanceof Phase.ConstantPerSec) {
+                Assert.assertSame(ArrivalDistribution.POISSON, ((Phase.ConstantPerSec) phase).arrivals);
+                Assert.assertTrue(((Phase.ConstantPerSec) phase).arrivals.isShardable());
+                perSecPhases++;
+            } else if (phase instanceof Phase.RampPerSec) {
+                Assert.assertNotSame(ArrivalDistribution.CONSTANT, ((Phase.RampPerSec) phase).arrivals);
+                // uniform distribution
+                Assert.assertFalse(((Phase.RampPerSec) phase).arrivals.isShardable());
+                perSecPhases++;
+            }
+        }
+        Assert.assertEquals(2, perSecPhases);
+    }
+
+    @Test
+    public void testMaxThroughputYaml() {
+        Benchmark benchmark = buildBenchmark("scenarios/maxThroughput.yaml");
+        Phase.MaxThroughput phase = (Phase.MaxThroughput) benchmark.simulation().phases().iterator().next();
+        Assert.assertEquals(100, phase.initialUsersPerSec, 0.001);
+        Assert.assertEquals(10000, phase.maxUsersPerSec, 0.001);
+        Assert.assertEquals(10, phase.precision, 0.001);
+        Assert.assertEquals(10000, phase.stepDuration);
+        Assert.assertEquals(3000, phase.settleTime);
+        Assert.assertSame(ArrivalDistribution.POISSON, phase.arrivals);
+    }
+
+    @Test
+    public void testMaxThroughputWithoutWindowedSla() {
+        String source = readResource("scenarios/maxThroughput.yaml").replace("window: 5s", "");
+        try {
+            BenchmarkParser.instance().buildBenchmark(source);
+            fail("The search cannot fail without windowed SLA");
+        } catch (ParserException | BenchmarkDefinitionException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testRateProfileYaml() throws URISyntaxException {
+        // the profile is read from filesystem, resolve its path independent of working directory
+        String profile = Paths.get(getClass().getClassLoader().getResource("scenarios/profile.csv").toURI()).toString();
+        String source = readResource("scenarios/rateProfile.yaml").replace("file: profile.csv", "file: " + profile);
+        Benchmark benchmark = buildBenchmarkFromSource(source);
+        Phase.RateProfile phase = (Phase.RateProfile) benchmark.simulation().phases().iterator().next();
+        // duration and sessions estimate are derived from the profile
+        Assert.assertEquals(60_000, phase.duration());
+        Assert.assertEquals(100, phase.maxSessionsEstimate);
+        Assert.assertEquals(0.5, phase.usersPerSecScale, 0.001);
+    }
+
+    @Test
+    public void testHistogramYaml() {
+        Benchmark benchmark = buildBenchmark("scenarios/histogram.yaml");
+        Phase phase = benchmark.simulation().phases().iterator().next();
+        for (Sequence sequence : phase.scenario().sequences()) {
+            HistogramSettings settings = sequence.histogramSettings();
+            Assert.assertEquals(TimeUnit.SECONDS.toNanos(10), settings.highestTrackableValue);
+            Assert.assertEquals(3, settings.significantDigits);
+            if (sequence.name().equals("compact")) {
+                Assert.assertEquals(HistogramSettings.CountsType.INT, settings.countsType);
+                Assert.assertFalse(settings.autoResize);
+                Assert.assertTrue(settings.newHistogram() instanceof IntCountsHistogram);
+            } else {
+                Assert.assertEquals(HistogramSettings.CountsType.LONG, settings.countsType);
+                Assert.assertTrue(settings.autoResize);
+            }
+        }
+    }
+
+    @Test
+    public void testTransportYaml() {
+        Benchmark benchmark = buildBenchmark("scenarios/transport.yaml");
+        Assert.assertEquals(Transport.EPOLL, benchmark.simulation().tags().get("transport"));
+    }
+
+    @Test
+    public void testEndpointsYaml() {
+        Benchmark benchmark = buildBenchmark("scenarios/endpoints.yaml");
+        List<HttpEndpoint> endpoints = benchmark.simulation().endpoints();
+        Assert.assertEquals(3, endpoints.size());
+        Assert.assertEquals("ingress", endpoints.get(0).name());
+        Assert.assertEquals(2, endpoints.get(0).replicas().size());
+        Assert.assertEquals("leastInflight", endpoints.get(0).balancer().toString());
+        Assert.assertEquals("auth", endpoints.get(1).name());
+        Assert.assertEquals(1, endpoints.get(1).replicas().size());
+        Assert.assertEquals("hash(userId)", endpoints.get(2).balancer().toString());
+    }
+
+    @Test
+    public void testUndefinedEndpoint() {
+        String source = readResource("scenarios/endpoints.yaml").replace("endpoint: auth", "endpoint: authz");
+        try {
+            BenchmarkParser.instance().buildBenchmark(source);
+            fail("Endpoint authz is not defined");
+        } catch (ParserException | BenchmarkDefinitionException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testHttp2Yaml() {
+        Benchmark benchmark = buildBenchmark("scenarios/http2.yaml");
+        Assert.assertEquals("HTTP_2_0", benchmark.simulation().tags().get("protocol"));
+        Assert.assertEquals(2, benchmark.simulation().endpoints().size());
     }
 
     private Benchmark buildBenchmark(String s) {
-        return buildBenchmark(this.getClass().getClassLoader().getResourceAsStream(s));
+        return buildBenchmarkFromSource(readResource(s));
     }
 
-    private Benchmark buildBenchmark(InputStream inputStream){
+    private String readResource(String s) {
+        InputStream inputStream = this.getClass().getClassLoader().getResourceAsStream(s);
         if (inputStream == null)
             fail("Could not find benchmark configuration");
 
@@ -65,13 +203,22 @@ public class YamlParserTest {
             while ((length = inputStream.read(buffer)) != -1) {
                 result.write(buffer, 0, length);
             }
-            String source = result.toString(StandardCharsets.UTF_8.name());
+            return result.toString(StandardCharsets.UTF_8.name());
+        } catch (IOException e) {
+            e.printStackTrace();
+            fail("Error occurred reading " + s);
+        }
+        return null;
+    }
+
+    private Benchmark buildBenchmarkFromSource(String source) {
+        try {
             Benchmark benchmark = BenchmarkParser.instance().buildBenchmark(source);
 
             Assert.assertNotNull(benchmark);
 
             return benchmark;
-        } catch (ParserException | IOException e) {
+        } catch (ParserException e) {
             e.printStackTrace();
             fail("Error occurred during parsing");
         }
@@ -0,0 +1,179 @@
+package io.sailrocket.core.client;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.sailrocket.api.connection.HttpClientPool;
+import io.sailrocket.api.http.HttpMethod;
+import io.sailrocket.api.http.HttpRequest;
+import io.vertx.core.Vertx;
+import io.vertx.core.buffer.Buffer;
+import io.vertx.core.http.HttpVersion;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Checks the bytes of HTTP/1.1 requests as they arrive on the wire, using a plain TCP server.
+ */
+@RunWith(VertxUnitRunner.class)
+public class Http1xRequestTest {
+    private static final int PORT = 8089;
+    private static final String RESPONSE = "HTTP/1.1 200 OK\r\ncontent-length: 0\r\n\r\n";
+
+    private Vertx vertx = Vertx.vertx();
+    private volatile int expectedLength;
+    private volatile CompletableFuture<String> received;
+    private volatile String response = RESPONSE;
+    private HttpClientPool client;
+
+    @Before
+    public void before(TestContext ctx) throws Exception {
+        vertx.createNetServer().connectHandler(socket -> {
+            Buffer[] data = { Buffer.buffer() };
+            socket.handler(buffer -> {
+                data[0].appendBuffer(buffer);
+                if (data[0].length() >= expectedLength) {
+                    received.complete(data[0].toString(StandardCharsets.UTF_8));
+                    data[0] = Buffer.buffer();
+                    socket.write(response);
+                }
+            });
+        }).listen(PORT, "localhost", ctx.asyncAssertSuccess());
+
+        client = HttpClientProvider.netty.builder()
+                .host("localhost")
+                .concurrency(1)
+                .port(PORT)
+                .protocol(HttpVersion.HTTP_1_1)
+                .threads(1)
+                .ssl(false)
+                .size(1)
+                .build();
+        CountDownLatch startLatch = new CountDownLatch(1);
+        client.start(nil -> startLatch.countDown());
+        assertThat(startLatch.await(10, TimeUnit.SECONDS)).isTrue();
+    }
+
+    @After
+    public void after(TestContext ctx) {
+        client.shutdown();
+        vertx.close(ctx.asyncAssertSuccess());
+    }
+
+    @Test
+    public void testRequestWithHeadersAndBody() throws Exception {
+        ByteBuf body = Unpooled.copiedBuffer("{\"hello\":\"world\"}", StandardCharsets.UTF_8);
+        String expected = "POST /foo/bar?x=1 HTTP/1.1\r\n" +
+                "Host: localhost:" + PORT + "\r\n" +
+                "content-type: application/json\r\n" +
+                "x-custom: value\r\n" +
+                "content-length: 17\r\n" +
+                "\r\n" +
+                "{\"hello\":\"world\"}";
+        assertThat(send(HttpMethod.POST, "/foo/bar?x=1", body, expected.length(),
+                "content-type", "application/json", "x-custom", "value")).isEqualTo(expected);
+    }
+
+    @Test
+    public void testRequestWithExplicitContentLength() throws Exception {
+        ByteBuf body = Unpooled.copiedBuffer("abc", StandardCharsets.UTF_8);
+        String expected = "PUT / HTTP/1.1\r\n" +
+                "Host: localhost:" + PORT + "\r\n" +
+                "Content-Length: 3\r\n" +
+                "\r\n" +
+                "abc";
+        assertThat(send(HttpMethod.PUT, "/", body, expected.length(), "Content-Length", "3")).isEqualTo(expected);
+    }
+
+    @Test
+    public void testRequestWithoutBody() throws Exception {
+        String expected = "GET /index.html HTTP/1.1\r\n" +
+                "Host: localhost:" + PORT + "\r\n" +
+                "accept: text/html\r\n" +
+                "\r\n";
+        assertThat(send(HttpMethod.GET, "/index.html", null, expected.length(), "accept", "text/html")).isEqualTo(expected);
+    }
+
+    @Test
+    public void testRequestWithoutHeaders() throws Exception {
+        String expected = "DELETE /item/1 HTTP/1.1\r\n" +
+                "Host: localhost:" + PORT + "\r\n" +
+                "\r\n";
+        assertThat(send(HttpMethod.DELETE, "/item/1", null, expected.length())).isEqualTo(expected);
+    }
+
+    @Test
+    public void testPreEncodedPath() throws Exception {
+        String path = "/caf\u00e9?q=1";
+        String expected = "GET /caf\u00e9?q=1 HTTP/1.1\r\n" +
+                "Host: localhost:" + PORT + "\r\n" +
+                "\r\n";
+        byte[] encodedPath = path.getBytes(StandardCharsets.UTF_8);
+        assertThat(send(HttpMethod.GET, path, encodedPath, null, expected.getBytes(StandardCharsets.UTF_8).length)).isEqualTo(expected);
+    }
+
+    @Test
+    public void testLongBody() throws Exception {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < 10203; ++i) {
+            sb.append((char) ('a' + i % 26));
+        }
+        ByteBuf body = Unpooled.copiedBuffer(sb, StandardCharsets.UTF_8);
+        String expected = "POST /upload HTTP/1.1\r\n" +
+                "Host: localhost:" + PORT + "\r\n" +
+                "content-length: 10203\r\n" +
+                "\r\n" + sb;
+        assertThat(send(HttpMethod.POST, "/upload", body, expected.length())).isEqualTo(expected);
+    }
+
+    @Test
+    public void testHeadResponseWithContentLength() throws Exception {
+        // response to HEAD announces the length of the resource but has no body
+        response = "HTTP/1.1 200 OK\r\ncontent-length: 5\r\n\r\n";
+        String expected = "HEAD /resource HTTP/1.1\r\n" +
+                "Host: localhost:" + PORT + "\r\n" +
+                "\r\n";
+        assertThat(send(HttpMethod.HEAD, "/resource", null, expected.length())).isEqualTo(expected);
+
+        // the connection is still usable: the decoder does not expect the body and parses next response correctly
+        response = "HTTP/1.1 200 OK\r\ncontent-length: 5\r\n\r\nhello";
+        expected = "GET /resource HTTP/1.1\r\n" +
+                "Host: localhost:" + PORT + "\r\n" +
+                "\r\n";
+        assertThat(send(HttpMethod.GET, "/resource", null, expected.length())).isEqualTo(expected);
+    }
+
+    private String send(HttpMethod method, String path, ByteBuf body, int length, String... headers) throws Exception {
+        return send(method, path, null, body, length, headers);
+    }
+
+    private String send(HttpMethod method, String path, byte[] encodedPath, ByteBuf body, int length, String... headers) throws Exception {
+        expectedLength = length;
+        received = new CompletableFuture<>();
+
+        CountDownLatch latch = new CountDownLatch(2);
+        HttpRequest request = client.request(client.executors().next(), method, path, encodedPath, body);
+        for (int i = 0; i < headers.length; i += 2) {
+            request.putHeader(headers[i], headers[i + 1]);
+        }
+        request.statusHandler(code -> {
+            assertThat(code).isEqualTo(200);
+            latch.countDown();
+        }).endHandler(latch::countDown);
+        request.end();
+
+        String data = received.get(10, TimeUnit.SECONDS);
+        assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        return data;
+    }
+}
@@ -0,0 +1,92 @@
+package io.sailrocket.core.client.netty;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Scanner;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import io.netty.util.concurrent.EventExecutor;
+import io.sailrocket.api.connection.HttpEndpoint;
+import io.sailrocket.api.http.HttpMethod;
+import io.sailrocket.core.parser.BenchmarkParser;
+import io.vertx.core.Vertx;
+import io.vertx.ext.unit.TestContext;
+import io.vertx.ext.unit.junit.VertxUnitRunner;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+
+/**
+ * Runs requests from the <code>h2c</code> endpoint of <code>http2.yaml</code> against cleartext HTTP/2 server.
+ */
+@RunWith(VertxUnitRunner.class)
+public class Http2ClientPoolTest {
+    private static final int PORT = 8090;
+
+    private Vertx vertx = Vertx.vertx();
+    // version and path of each request received by the server
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private volatile long remoteInitialWindowSize;
+    private Http2ClientPool client;
+
+    @Before
+    public void before(TestContext ctx) throws Exception {
+        vertx.createHttpServer().requestHandler(request -> {
+            requests.add(request.version() + " " + request.path());
+            remoteInitialWindowSize = request.connection().remoteSettings().getInitialWindowSize();
+            request.response().end("hello");
+        }).listen(PORT, "localhost", ctx.asyncAssertSuccess());
+
+        String source;
+        try (InputStream stream = getClass().getClassLoader().getResourceAsStream("scenarios/http2.yaml")) {
+            source = new Scanner(stream, StandardCharsets.UTF_8.name()).useDelimiter("\\A").next();
+        }
+        source = source.replace("localhost:8080", "localhost:" + PORT);
+        HttpEndpoint api = BenchmarkParser.instance().buildBenchmark(source).simulation().endpoints().get(0);
+        client = (Http2ClientPool) api.replicas().get(0).build();
+        client.start(ctx.asyncAssertSuccess());
+    }
+
+    @After
+    public void after(TestContext ctx) {
+        client.shutdown();
+        vertx.close(ctx.asyncAssertSuccess());
+    }
+
+    @Test
+    public void testSettings() {
+        assertThat(client.priorKnowledge).isTrue();
+        assertThat(client.maxConcurrentStream).isEqualTo(100);
+        assertThat(client.settings.initialWindowSize()).isEqualTo(1048576);
+        assertThat(client.connectionWindowSize).isEqualTo(16777216);
+    }
+
+    @Test
+    public void testRoundTrip() throws Exception {
+        CompletableFuture<Integer> status = new CompletableFuture<>();
+        StringBuilder body = new StringBuilder();
+        CountDownLatch latch = new CountDownLatch(1);
+        EventExecutor executor = client.executors().next();
+        executor.execute(() -> {
+            assertThat(client.isConnectionAvailable(executor)).isTrue();
+            client.request(executor, HttpMethod.GET, "/foo", null)
+                  .statusHandler(status::complete)
+                  .bodyPartHandler(data -> body.append(data.toString(StandardCharsets.UTF_8)))
+                  .endHandler(latch::countDown)
+                  .end();
+        });
+        assertThat(status.get(10, TimeUnit.SECONDS)).isEqualTo(200);
+        assertThat(latch.await(10, TimeUnit.SECONDS)).isTrue();
+        assertThat(body.toString()).isEqualTo("hello");
+        // with prior knowledge there is no HTTP/1.1 upgrade request
+        assertThat(requests).containsExactly("HTTP_2 /foo");
+        assertThat(remoteInitialWindowSize).isEqualTo(1048576);
+    }
+}
@@ -0,0 +1,156 @@
+package io.sailrocket.core.session;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.netty.channel.DefaultEventLoop;
+import io.sailrocket.api.config.Scenario;
+import io.sailrocket.api.config.Sequence;
+
+public class TimerWheelTest {
+   // the periodic task never fires during the test; the wheel is run manually with simulated time
+   private static final long TICK = 3_600_000_000_000L;
+   private static final Scenario SCENARIO = new Scenario(new Sequence[0], new Sequence[0], new String[0], new String[0]);
+
+   private DefaultEventLoop executor;
+   private long now;
+   private TimerWheel wheel;
+   private final List<TimedSession> fired = new ArrayList<>();
+
+   @Before
+   public void setup() {
+      executor = new DefaultEventLoop();
+      now = 0;
+      wheel = new TimerWheel(executor, TICK, () -> now);
+      fired.clear();
+   }
+
+   @After
+   public void teardown() {
+      executor.shutdownGracefully();
+   }
+
+   @Test
+   public void testBucketWraparound() {
+      advanceTo(TimerWheel.WHEEL_SIZE - 2);
+      TimedSession session = new TimedSession(1);
+      wheel.schedule(session, 5 * TICK);
+      // deadline falls into bucket index lower than the current one
+      assertThat(session.timerTick).isEqualTo(TimerWheel.WHEEL_SIZE + 4);
+      assertThat(session.timerTick % TimerWheel.WHEEL_SIZE).isLessThan((TimerWheel.WHEEL_SIZE - 2) % TimerWheel.WHEEL_SIZE);
+      advanceTo(TimerWheel.WHEEL_SIZE);
+      advanceTo(TimerWheel.WHEEL_SIZE + 3);
+      assertThat(fired).isEmpty();
+      advanceTo(TimerWheel.WHEEL_SIZE + 4);
+      assertThat(fired).containsExactly(session);
+      assertThat(session.timerTick).isEqualTo(-1);
+   }
+
+   @Test
+   public void testDelayLongerThanRotation() {
+      TimedSession session = new TimedSession(1);
+      wheel.schedule(session, (TimerWheel.WHEEL_SIZE + 10) * TICK);
+      long deadline = TimerWheel.WHEEL_SIZE + 11;
+      // visits the bucket of the session one rotation before the deadline
+      advanceTo(11);
+      assertThat(fired).isEmpty();
+      advanceTo(deadline - 1);
+      assertThat(fired).isEmpty();
+      advanceTo(deadline);
+      assertThat(fired).containsExactly(session);
+   }
+
+   @Test
+   public void testLateByMoreThanRotation() {
+      TimedSession first = new TimedSession(1);
+      TimedSession second = new TimedSession(2);
+      wheel.schedule(first, 10 * TICK);
+      wheel.schedule(second, (TimerWheel.WHEEL_SIZE + 20) * TICK);
+      advanceTo(3 * TimerWheel.WHEEL_SIZE);
+      assertThat(fired).containsExactlyInAnyOrder(first, second);
+   }
+
+   @Test
+   public void testRearmEarlier() {
+      // AwaitDelayStep schedules the session again on each prepare(); the earliest deadline wins
+      TimedSession session = new TimedSession(1);
+      wheel.schedule(session, 10 * TICK);
+      wheel.schedule(session, 3 * TICK);
+      assertThat(session.timerTick).isEqualTo(4);
+      advanceTo(4);
+      assertThat(fired).containsExactly(session);
+      advanceTo(11);
+      assertThat(fired).containsExactly(session);
+   }
+
+   @Test
+   public void testRearmLater() {
+      TimedSession session = new TimedSession(1);
+      wheel.schedule(session, 3 * TICK);
+      wheel.schedule(session, 10 * TICK);
+      assertThat(session.timerTick).isEqualTo(4);
+      advanceTo(4);
+      assertThat(fired).containsExactly(session);
+      // after waking up the session blocks again on the later deadline
+      wheel.schedule(session, 6 * TICK);
+      advanceTo(11);
+      assertThat(fired).containsExactly(session, session);
+   }
+
+   @Test
+   public void testCancel() {
+      TimedSession session = new TimedSession(1);
+      wheel.schedule(session, 3 * TICK);
+      wheel.cancel(session);
+      assertThat(session.timerTick).isEqualTo(-1);
+      // cancelling unscheduled session is a no-op
+      wheel.cancel(session);
+      advanceTo(10);
+      assertThat(fired).isEmpty();
+   }
+
+   @Test
+   public void testUnlinkFromMiddleOfBucket() {
+      TimedSession first = new TimedSession(1);
+      TimedSession middle = new TimedSession(2);
+      TimedSession last = new TimedSession(3);
+      // sessions are pushed to the head of the bucket
+      wheel.schedule(last, 5 * TICK);
+      wheel.schedule(middle, 5 * TICK);
+      wheel.schedule(first, 5 * TICK);
+      assertThat(first.timerNext).isSameAs(middle);
+      assertThat(middle.timerNext).isSameAs(last);
+
+      wheel.cancel(middle);
+      assertThat(middle.timerPrev).isNull();
+      assertThat(middle.timerNext).isNull();
+      assertThat(first.timerNext).isSameAs(last);
+      assertThat(last.timerPrev).isSameAs(first);
+
+      advanceTo(6);
+      assertThat(fired).containsExactlyInAnyOrder(first, last);
+   }
+
+   private void advanceTo(long tick) {
+      now = tick * TICK;
+      wheel.run();
+   }
+
+   private class TimedSession extends SessionImpl {
+      TimedSession(int uniqueId) {
+         super(Collections.emptyMap(), SCENARIO, uniqueId, TICK);
+      }
+
+      @Override
+      void onTimer() {
+         fired.add(this);
+      }
+   }
+}
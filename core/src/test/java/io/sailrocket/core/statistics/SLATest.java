@@ -0,0 +1,48 @@
+package io.sailrocket.core.statistics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Collections;
+
+import org.junit.Test;
+
+import io.sailrocket.api.config.SLA;
+import io.sailrocket.api.statistics.StatisticsSnapshot;
+import io.sailrocket.api.statistics.StatisticsSummary;
+
+public class SLATest {
+   private static final long MS = 1_000_000;
+
+   @Test
+   public void testResponseTimeLimits() {
+      // the server responded quickly but requests were started late
+      StatisticsSnapshot statistics = new StatisticsSnapshot();
+      for (int i = 0; i < 100; ++i) {
+         statistics.requestCount++;
+         statistics.histogram.recordValue(MS);
+         statistics.responseTime.recordValue(50 * MS);
+      }
+      SLA.PercentileLimit limit = new SLA.PercentileLimit(0.99, 10 * MS);
+
+      SLA serviceTime = new SLA(null, -1, 1.01, 10 * MS, Collections.singletonList(limit), SLA.Latency.SERVICE_TIME);
+      assertThat(serviceTime.validate(statistics)).isNull();
+
+      SLA responseTime = new SLA(null, -1, 1.01, Long.MAX_VALUE, Collections.singletonList(limit), SLA.Latency.RESPONSE_TIME);
+      assertThat(responseTime.validate(statistics)).isNotNull();
+      SLA responseTimeMean = new SLA(null, -1, 1.01, 10 * MS, Collections.emptyList(), SLA.Latency.RESPONSE_TIME);
+      assertThat(responseTimeMean.validate(statistics)).isNotNull();
+   }
+
+   @Test
+   public void testSummaryIncludesResponseTime() {
+      StatisticsSnapshot statistics = new StatisticsSnapshot();
+      statistics.histogram.recordValue(MS);
+      statistics.responseTime.recordValue(50 * MS);
+      StatisticsSummary summary = statistics.summary(new double[] { 0.5, 0.99 });
+      assertThat(summary.maxResponseTime).isBetween(MS - MS / 100, MS + MS / 100);
+      assertThat(summary.maxCorrectedResponseTime).isBetween(50 * MS - MS / 2, 50 * MS + MS / 2);
+      assertThat(summary.meanCorrectedResponseTime).isBetween(50 * MS - MS / 2, 50 * MS + MS / 2);
+      assertThat(summary.percentileCorrectedResponseTime).hasSize(2);
+      assertThat(summary.percentileCorrectedResponseTime[1]).isBetween(50 * MS - MS / 2, 50 * MS + MS / 2);
+   }
+}
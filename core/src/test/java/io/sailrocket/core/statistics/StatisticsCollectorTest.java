@@ -0,0 +1,102 @@
+package io.sailrocket.core.statistics;
+
+import static io.sailrocket.core.builders.HttpBuilder.httpBuilder;
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Test;
+
+import io.sailrocket.api.config.Phase;
+import io.sailrocket.api.config.Simulation;
+import io.sailrocket.api.http.HttpMethod;
+import io.sailrocket.api.statistics.Statistics;
+import io.sailrocket.api.statistics.StatisticsSnapshot;
+import io.sailrocket.core.builders.BenchmarkBuilder;
+import io.sailrocket.core.impl.statistics.StatisticsCollector;
+
+public class StatisticsCollectorTest {
+   @Test
+   public void testSumExecutorsWithReset() {
+      Simulation simulation = simulation();
+      Phase phase = simulation.phases().iterator().next();
+      StatisticsCollector collector = new StatisticsCollector(simulation, true);
+      // one recorder for each executor
+      Statistics[] first = { new Statistics() };
+      Statistics[] second = { new Statistics() };
+
+      record(first[0], 1_000, 2_000);
+      record(second[0], 3_000);
+      collector.accept(phase, first);
+      collector.accept(phase, second);
+      List<StatisticsSnapshot> snapshots = visit(collector);
+      assertThat(snapshots).hasSize(1);
+      assertThat(snapshots.get(0).requestCount).isEqualTo(3);
+      assertThat(snapshots.get(0).histogram.getTotalCount()).isEqualTo(3);
+      assertThat(snapshots.get(0).histogram.getMaxValue()).isBetween(2_990L, 3_010L);
+
+      // next period reports only values recorded since the last collection
+      record(second[0], 4_000);
+      collector.accept(phase, first);
+      collector.accept(phase, second);
+      snapshots = visit(collector);
+      assertThat(snapshots.get(0).requestCount).isEqualTo(1);
+      assertThat(snapshots.get(0).histogram.getTotalCount()).isEqualTo(1);
+      assertThat(snapshots.get(0).histogram.getMinValue()).isBetween(3_990L, 4_010L);
+   }
+
+   @Test
+   public void testSumExecutorsWithoutReset() {
+      Simulation simulation = simulation();
+      Phase phase = simulation.phases().iterator().next();
+      StatisticsCollector collector = new StatisticsCollector(simulation, false);
+      Statistics[] first = { new Statistics() };
+      Statistics[] second = { new Statistics() };
+
+      record(first[0], 1_000);
+      record(second[0], 2_000);
+      collector.accept(phase, first);
+      collector.accept(phase, second);
+      assertThat(visit(collector).get(0).requestCount).isEqualTo(2);
+
+      record(first[0], 3_000);
+      collector.accept(phase, first);
+      collector.accept(phase, second);
+      assertThat(visit(collector).get(0).requestCount).isEqualTo(3);
+   }
+
+   private static void record(Statistics statistics, long... values) {
+      for (long value : values) {
+         statistics.incrementRequests();
+         statistics.recordValue(value);
+      }
+   }
+
+   private static List<StatisticsSnapshot> visit(StatisticsCollector collector) {
+      List<StatisticsSnapshot> snapshots = new ArrayList<>();
+      collector.visitStatistics((phase, sequence, snapshot) -> {
+         snapshots.add(snapshot.clone());
+         return false;
+      });
+      return snapshots;
+   }
+
+   private static Simulation simulation() {
+      return BenchmarkBuilder.builder()
+            .name("collector")
+            .simulation()
+               .http(httpBuilder().baseUrl("http://localhost:8080"))
+               .addPhase("foo").always(1)
+                  .duration("1s")
+                  .scenario()
+                     .initialSequence("foo")
+                        .step().httpRequest(HttpMethod.GET).path("/").endStep()
+                        .step().awaitAllResponses()
+                     .endSequence()
+                  .endScenario()
+               .endPhase()
+            .endSimulation()
+            .build().simulation();
+   }
+}
@@ -0,0 +1,40 @@
+package io.sailrocket.core.statistics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.Test;
+
+import io.sailrocket.api.statistics.HistogramSettings;
+import io.sailrocket.api.statistics.Statistics;
+import io.sailrocket.api.statistics.StatisticsSnapshot;
+
+public class StatisticsTest {
+   @Test
+   public void testClampWithoutAutoResize() {
+      HistogramSettings settings = new HistogramSettings(1_000_000, 2, false, HistogramSettings.CountsType.INT);
+      Statistics statistics = new Statistics(settings);
+      statistics.recordValue(10_000_000);
+      statistics.recordResponseTime(Long.MAX_VALUE);
+      statistics.recordConnectionWait(-1);
+      StatisticsSnapshot snapshot = new StatisticsSnapshot(settings);
+      statistics.addIntervalTo(snapshot);
+
+      assertThat(snapshot.histogram.getTotalCount()).isEqualTo(1);
+      assertThat(snapshot.histogram.getMaxValue()).isBetween(990_000L, 1_010_000L);
+      assertThat(snapshot.responseTime.getTotalCount()).isEqualTo(1);
+      assertThat(snapshot.responseTime.getMaxValue()).isBetween(990_000L, 1_010_000L);
+      assertThat(snapshot.connectionWait.getTotalCount()).isEqualTo(1);
+      assertThat(snapshot.connectionWait.getMaxValue()).isEqualTo(0);
+   }
+
+   @Test
+   public void testAutoResize() {
+      HistogramSettings settings = new HistogramSettings(1_000_000, 2, true, HistogramSettings.CountsType.LONG);
+      Statistics statistics = new Statistics(settings);
+      statistics.recordValue(10_000_000_000L);
+      StatisticsSnapshot snapshot = new StatisticsSnapshot(settings);
+      statistics.addIntervalTo(snapshot);
+
+      assertThat(snapshot.histogram.getMaxValue()).isBetween(9_900_000_000L, 10_100_000_000L);
+   }
+}
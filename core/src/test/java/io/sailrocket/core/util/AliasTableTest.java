@@ -0,0 +1,38 @@
+package io.sailrocket.core.util;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.data.Offset.offset;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+public class AliasTableTest {
+   @Test
+   public void testDistribution() {
+      double[] weights = { 0.1, 0.0, 0.6, 0.3 };
+      AliasTable table = new AliasTable(weights);
+      Random random = new Random(42);
+      int[] counts = new int[weights.length];
+      int samples = 1_000_000;
+      for (int i = 0; i < samples; ++i) {
+         counts[table.next(random)]++;
+      }
+      for (int i = 0; i < weights.length; ++i) {
+         assertThat((double) counts[i] / samples).isCloseTo(weights[i], offset(0.005));
+      }
+   }
+
+   @Test
+   public void testUnnormalizedWeights() {
+      AliasTable table = new AliasTable(new double[] { 2, 2 });
+      Random random = new Random(42);
+      int first = 0;
+      for (int i = 0; i < 10000; ++i) {
+         if (table.next(random) == 0) {
+            ++first;
+         }
+      }
+      assertThat(first).isBetween(4700, 5300);
+   }
+}
@@ -8,6 +8,7 @@ import org.junit.Test;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.Unpooled;
+import io.sailrocket.api.collection.RequestQueue;
 import io.sailrocket.api.session.Session;
 import io.sailrocket.core.session.SessionFactory;
 
@@ -61,6 +62,38 @@ public class SearchValidatorTest {
       assertThat(validator.validate(session)).isTrue();
    }
 
+   @Test
+   public void testConcurrentResponses() {
+      SearchValidator validator = new SearchValidator("bar", m -> m == 1);
+      Session session = SessionFactory.forTesting();
+      validator.reserve(session);
+      RequestQueue.Request first = new RequestQueue.Request(0);
+      RequestQueue.Request second = new RequestQueue.Request(1);
+      // parts of two responses arrive interleaved
+      validate(session, first, validator, null);
+      validate(session, second, validator, null);
+      validate(session, first, validator, "foob");
+      validate(session, second, validator, "fooba");
+      validate(session, first, validator, "arfoo");
+      validate(session, second, validator, "zbar");
+      session.currentRequest(first);
+      assertThat(validator.validate(session)).isTrue();
+      session.currentRequest(null);
+      session.currentRequest(second);
+      assertThat(validator.validate(session)).isTrue();
+      session.currentRequest(null);
+   }
+
+   private void validate(Session session, RequestQueue.Request request, SearchValidator validator, String text) {
+      session.currentRequest(request);
+      if (text == null) {
+         validator.beforeData(session);
+      } else {
+         validator.validateData(session, Unpooled.wrappedBuffer(text.getBytes(StandardCharsets.UTF_8)));
+      }
+      session.currentRequest(null);
+   }
+
    private Session runValidator(SearchValidator validator, String... text) {
       Session session = SessionFactory.forTesting();
       validator.reserve(session);